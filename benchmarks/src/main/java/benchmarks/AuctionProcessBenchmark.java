@@ -0,0 +1,73 @@
+package benchmarks;
+
+import auction.institution.Auction;
+import auction.institution.AuctionHouse;
+import auction.institution.clients.Client;
+import auction.storage.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole bidding process of an auction with passive clients: every step asks each bidder for a bid
+ * ({@code auctionStep}), picks the winner and disqualifies the clients who cannot follow
+ * ({@code disqualifyClientsFromAuction}), until one client is left or the steps run out.
+ * The auction is created and populated before each invocation, the bidding runs on the benchmark thread.
+ * The step by step process is measured unless {@link #passiveFastPath} is set, in which case the auction
+ * computes the bids of every step itself ({@code passiveProcess}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dauction.headless=true", "-Dauction.autostart=false",
+        "-Dauction.passive.fastpath=false"})
+@State(Scope.Thread)
+public class AuctionProcessBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int nrParticipants;
+
+    @Param({"10"})
+    int nrMaxSteps;
+
+    @Param({"false", "true"})
+    boolean passiveFastPath;
+
+    Client[] clients;
+
+    Product product;
+
+    Auction auction;
+
+    AuctionHouse auctionHouse;
+
+    @Setup(Level.Trial)
+    public void setUpClients() {
+        auctionHouse = Catalog.auctionHouse();
+        Random random = new Random(42);
+        clients = new Client[nrParticipants];
+        for (int i = 0; i < nrParticipants; i++)
+            clients[i] = Catalog.client(Catalog.FIRST_ID + i, 1000 + random.nextInt(100_000));
+        product = Catalog.painting(Catalog.FIRST_ID);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpAuction() throws Exception {
+        auctionHouse.getActiveAuctions().clear();
+        if (auctionHouse.getProductById(product.getId()) == null)
+            auctionHouse.addNewProduct(product);
+        auction = new Auction(product.getId(), nrParticipants, product.getId(), nrMaxSteps, product);
+        auction.setPassiveFastPath(passiveFastPath);
+        for (Client client : clients)
+            auction.subscribeClientToAuction(client, false);
+        auction.getState().start();
+    }
+
+    @Benchmark
+    public Auction passiveBidding() {
+        auction.run();
+        return auction;
+    }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import auction.institution.AuctionHouse;
+import auction.institution.clients.Client;
+import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.Administrator;
+import auction.institution.employee.broker.Broker;
+import auction.storage.Product;
+import auction.storage.painting.PaintingBuilder;
+
+/**
+ * Synthetic products, clients and brokers for the benchmarks
+ */
+final class Catalog {
+
+    /**
+     * Products and clients of the benchmarks get ids from this one on
+     */
+    static final int FIRST_ID = 1_000_000;
+
+    private Catalog() {}
+
+    static Product painting(int id) {
+        return new PaintingBuilder().withId(id).withName("Painting " + id).withMinimumPrice(100)
+                .withYear(1900 + id % 100).withPainterName("Painter").withColor("oil").build();
+    }
+
+    static Client client(int id, int maxBid) {
+        // physical persons are equal when they share their birthday, so every client gets its own
+        Client client = new PhysicalPerson(id, "Client " + id, "Address " + id, "born " + id);
+        client.setMaxBid(maxBid);
+        return client;
+    }
+
+    /**
+     * Give the auction house an administrator and a few brokers, once per JVM
+     */
+    static synchronized AuctionHouse auctionHouse() {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        if (auctionHouse.getAdministrator() == null) {
+            auctionHouse.setAdministrator(new Administrator("Benchmark"));
+            for (int i = 0; i < 5; i++)
+                auctionHouse.addNewBroker(new Broker("Broker " + i));
+        }
+        return auctionHouse;
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import auction.institution.AuctionHouse;
+import auction.institution.clients.Client;
+import auction.storage.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding products and clients by id in catalogs from a thousand to a million entries, all the ids looked up
+ * exist and are visited in a random order
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dauction.headless=true")
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+
+    private static final int NR_LOOKUPS = 1 << 16;
+
+    @Param({"1000", "100000", "1000000"})
+    int catalogSize;
+
+    int[] ids;
+
+    AuctionHouse auctionHouse;
+
+    @Setup
+    public void setUp() {
+        auctionHouse = Catalog.auctionHouse();
+        for (int i = 0; i < catalogSize; i++) {
+            auctionHouse.addNewProduct(Catalog.painting(Catalog.FIRST_ID + i));
+            auctionHouse.addNewClient(Catalog.client(Catalog.FIRST_ID + i, 1000));
+        }
+        Random random = new Random(42);
+        ids = new int[NR_LOOKUPS];
+        for (int i = 0; i < NR_LOOKUPS; i++)
+            ids[i] = Catalog.FIRST_ID + random.nextInt(catalogSize);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public Product productById(Cursor cursor) {
+        return auctionHouse.getProductById(ids[cursor.next++ & (NR_LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    public Client clientById(Cursor cursor) {
+        return auctionHouse.getClientById(ids[cursor.next++ & (NR_LOOKUPS - 1)]);
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import auction.storage.Product;
+import database.products.ParseProducts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing generated deposit files, collecting the products in a list or streaming them one at a time
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dauction.headless=true")
+@State(Scope.Benchmark)
+public class ParseProductsBenchmark {
+
+    @Param({"1000", "100000"})
+    int nrProducts;
+
+    File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("product_deposit", ".json");
+        file.deleteOnExit();
+        String[] sections = {"painting", "jewelery", "furniture"};
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file),
+                StandardCharsets.UTF_8))) {
+            writer.write("[");
+            for (int s = 0; s < sections.length; s++) {
+                writer.write(s == 0 ? "{\"" : ",{\"");
+                writer.write(sections[s]);
+                writer.write("\": [");
+                for (int i = s; i < nrProducts; i += sections.length) {
+                    writer.write(i < sections.length ? "" : ",");
+                    writer.write("{\"id\": \"" + i + "\", \"name\": \"Product " + i + "\", \"minimum_price\": \""
+                            + (100 + i % 1000) + "\", \"year\": \"" + (1800 + i % 200) + "\", \"material\": \"gold\","
+                            + " \"valuable_gem\": \"true\", \"type\": \"table\", \"painter_name\": \"Painter\"}");
+                }
+                writer.write("]}");
+            }
+            writer.write("]");
+        }
+    }
+
+    @Benchmark
+    public List<Product> readProducts() {
+        return new ParseProducts(file.getPath()).readProducts();
+    }
+
+    @Benchmark
+    public int streamProducts(Blackhole blackhole) {
+        return new ParseProducts(file.getPath()).streamProducts(blackhole::consume);
+    }
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import auction.institution.AuctionHouse;
+import auction.institution.employee.broker.Broker;
+import auction.storage.Product;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brokers removing sold products from the deposit while the administrator adds new ones, from several threads
+ * at once. Every thread works on its own products, so the threads only contend on the inventory itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dauction.headless=true")
+@Threads(8)
+public class RemoveProductBenchmark {
+
+    private static final int PRODUCTS_PER_THREAD = 1024;
+
+    @State(Scope.Benchmark)
+    public static class Deposit {
+
+        /**
+         * Products that stay in the deposit during the whole benchmark
+         */
+        @Param({"100000"})
+        int nrResidentProducts;
+
+        AuctionHouse auctionHouse;
+
+        @Setup
+        public void setUp() {
+            auctionHouse = Catalog.auctionHouse();
+            for (int i = 0; i < nrResidentProducts; i++)
+                auctionHouse.addNewProduct(Catalog.painting(Catalog.FIRST_ID + i));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BrokerThread {
+
+        Product[] products;
+
+        Broker broker;
+
+        int next;
+
+        @Setup
+        public void setUp(Deposit deposit, ThreadParams threadParams) {
+            int firstId = 2 * Catalog.FIRST_ID + threadParams.getThreadIndex() * PRODUCTS_PER_THREAD;
+            products = new Product[PRODUCTS_PER_THREAD];
+            for (int i = 0; i < PRODUCTS_PER_THREAD; i++)
+                products[i] = Catalog.painting(firstId + i);
+            broker = deposit.auctionHouse.getBrokerList().get(
+                    threadParams.getThreadIndex() % deposit.auctionHouse.getBrokerList().size());
+        }
+    }
+
+    @Benchmark
+    public void addThenRemove(Deposit deposit, BrokerThread thread) {
+        Product product = thread.products[thread.next++ & (PRODUCTS_PER_THREAD - 1)];
+        deposit.auctionHouse.addNewProduct(product);
+        thread.broker.removeProduct(product);
+    }
+}
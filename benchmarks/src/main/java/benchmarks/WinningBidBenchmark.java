@@ -0,0 +1,59 @@
+package benchmarks;
+
+import auction.institution.AuctionHouse;
+import auction.institution.clients.Client;
+import org.javatuples.Pair;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picking the winner of a bidding step, from the bid arrays of the auctions and from the list of pairs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dauction.headless=true")
+@State(Scope.Benchmark)
+public class WinningBidBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int nrParticipants;
+
+    int[] bids;
+
+    Client[] clients;
+
+    List<Pair<Integer, Client>> pairs;
+
+    AuctionHouse auctionHouse;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        bids = new int[nrParticipants];
+        clients = new Client[nrParticipants];
+        pairs = new ArrayList<>(nrParticipants);
+        for (int i = 0; i < nrParticipants; i++) {
+            clients[i] = Catalog.client(Catalog.FIRST_ID + i, Integer.MAX_VALUE);
+            clients[i].setNrOfWonAuctions(random.nextInt(10));
+            bids[i] = random.nextInt(1000); // plenty of ties
+            pairs.add(new Pair<>(bids[i], clients[i]));
+        }
+        auctionHouse = Catalog.auctionHouse();
+    }
+
+    @Benchmark
+    public Pair<Integer, Client> fromArrays() {
+        return auctionHouse.getWinningBid(bids, clients, nrParticipants);
+    }
+
+    @Benchmark
+    public Pair<Integer, Client> fromPairs() {
+        return auctionHouse.getWinningBid(pairs);
+    }
+}
@@ -1,35 +1,50 @@
 package auction.institution;
 
 import auction.institution.clients.BidOverClientsMaxAmountException;
+import auction.institution.bidding_algorithm.BidAlgorithm;
+import auction.institution.bidding_algorithm.algorithms.ConcreteBidFromCommand;
+import auction.institution.bidding_algorithm.algorithms.SimpleRandomFromMinMax;
 import auction.institution.clients.Client;
 import auction.institution.employee.broker.Broker;
 import auction.institution.employee.broker.BrokerProxy;
+import auction.institution.engine.AuctionClock;
+import auction.institution.engine.AuctionExecutor;
+import auction.institution.engine.EngineConfig;
 import auction.storage.Product;
+import database.journal.AuctionJournal;
 import gui.StartWindow;
 import gui.auction.AuctionFrame;
+import gui.auction.AuctionView;
+import gui.auction.HeadlessAuctionView;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
 import org.javatuples.Pair;
 
 import java.util.*;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
- * Each auction will run on a separate thread, letting any clients join them, and letting multiple
- * auctions auctions run at the same time.
- * The thread will wait until enough clients join it and after that it will simulate the actual
- * bidding process, and also make the auction GUI frame visible
+ * Each auction will run its bidding process on a thread of the auction engine, letting any clients join them,
+ * and letting multiple auctions auctions run at the same time.
+ * The lifecycle of the auction is the {@link AuctionState} machine, driven by events: the enrollment of the last
+ * required client makes the auction ready and its GUI frame visible, the start event hands the auction to the
+ * {@link AuctionExecutor} which will simulate the actual bidding process, and {@link #placeBid(int)} queues the
+ * bids of the active clients in the {@link BidInbox} of the auction. No thread waits on the auction's monitor,
+ * and no engine thread waits for a bid: a bidding process missing the bid of an active client gives its thread
+ * back and the bid hands the auction to the engine again.
  */
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @Getter
 public class Auction implements Runnable {
 
-    @Setter
-    @NonFinal
-    int nrCurrentParticipants;
+    /**
+     * Returned by {@link #pollValidBid(Client)} when there is no valid bid, any valid bid is at least the minimum
+     * bid and never negative
+     */
+    private static final int NO_VALID_BID = -1;
 
     Integer id;
 
@@ -39,30 +54,153 @@ public class Auction implements Runnable {
 
     int nrMaxSteps;
 
+    AuctionType type;
+
     List<Client> registeredClients;
 
     Product productToSale;
 
-    Lock startBiddingLock;
+    /**
+     * Phase, current bidding step and number of participants of the auction
+     */
+    AuctionState state;
+
+    /**
+     * Sums to bid for clients who bid an exact amount, in the order they were placed
+     */
+    BidInbox bidInbox;
 
     /**
-     * Sum to bid for clients who bid an exact amount
+     * Set while the bidding process has given its engine thread back to wait for a bid, the first one to clear it
+     * ({@link #placeBid(int, int)}, or the {@link AuctionClock} at the idle deadline of a continuous auction) hands
+     * the auction back to the engine
      */
+    @Getter(AccessLevel.NONE)
+    AtomicBoolean waitingForBid;
+
     @Setter
     @NonFinal
-    Integer sumToBid;
+    int minBid;
 
+    /**
+     * Bidding algorithms shared by all the active, respectively passive, clients of this auction
+     */
+    BidAlgorithm activeAlgorithm;
+    BidAlgorithm passiveAlgorithm;
+
+    /**
+     * Source of the passive bids, seeded from {@link EngineConfig#RANDOM_SEED} and the auction id when a seed
+     * is configured, so the outcome of an auction can be reproduced
+     */
+    Random random;
+
+    /**
+     * Run the bidding process with {@link #passiveProcess()} when every bidder is passive
+     */
     @Setter
     @NonFinal
-    int minBid;
+    boolean passiveFastPath;
+
+    /**
+     * Minimum raise over the high bid in a {@link AuctionType#CONTINUOUS} auction
+     */
+    @Setter
+    @NonFinal
+    int bidIncrement;
+
+    /**
+     * A {@link AuctionType#CONTINUOUS} auction closes after this many milliseconds without an accepted bid
+     */
+    @Setter
+    @NonFinal
+    long idleMillis;
 
     /**
-     * When another thread will instantiate this flag, the bidding process will begin
+     * Set by the {@link AuctionClock} once the asking price of a {@link AuctionType#DUTCH} auction has been covered
+     * or has reached the minimum price, the auction is then handed back to the engine to settle
      */
+    @Getter(AccessLevel.NONE)
     @NonFinal
-    Object startFlag;
+    volatile boolean clockStopped;
 
-    AuctionFrame auctionFrame;
+    /**
+     * Index of the bidder who covered the asking price of a {@link AuctionType#DUTCH} auction, -1 if nobody did
+     */
+    @Getter(AccessLevel.NONE)
+    @NonFinal
+    int clockWinner;
+
+    /*
+     * Where the bidding process stands, so that it goes on from there when the auction is handed back to the
+     * engine after waiting for a bid. Only written by the engine thread running the process, the hand over
+     * through waitingForBid and the executor publishes them to the next one
+     */
+    @Getter(AccessLevel.NONE)
+    @NonFinal
+    boolean processStarted;
+    @Getter(AccessLevel.NONE)
+    @NonFinal
+    int nrActiveBidders;
+    @Getter(AccessLevel.NONE)
+    @NonFinal
+    boolean stepOpen;
+    @Getter(AccessLevel.NONE)
+    @NonFinal
+    long stepStartNanos;
+    /**
+     * Index of the bidder whose bid is taken next in the current step
+     */
+    @Getter(AccessLevel.NONE)
+    @NonFinal
+    int nextBidder;
+    /**
+     * Index of the bidder holding the high bid of a {@link AuctionType#CONTINUOUS} auction, -1 if there is none yet
+     */
+    @Getter(AccessLevel.NONE)
+    @NonFinal
+    int highBidder;
+    /**
+     * {@link System#nanoTime()} when a {@link AuctionType#CONTINUOUS} auction closes if no bid is accepted before,
+     * read by the {@link AuctionClock}
+     */
+    @Getter(AccessLevel.NONE)
+    @NonFinal
+    volatile long idleDeadline;
+
+    /*
+     * The bidding process works on the arrays below instead of the list of registered clients, a bidder keeps
+     * its index in every array (bidder index -> client, broker proxy, state, bid in the current step).
+     * They are filled when the bidding process starts, compacted after each step and written
+     * only by the bidding thread, so a bidding step allocates nothing.
+     */
+    @Getter(AccessLevel.NONE)
+    Client[] bidders;
+    @Getter(AccessLevel.NONE)
+    BrokerProxy[] bidderProxies;
+    @Getter(AccessLevel.NONE)
+    boolean[] activeBidders;
+    @Getter(AccessLevel.NONE)
+    int[] stepBids;
+    @Getter(AccessLevel.NONE)
+    @NonFinal
+    int nrBidders;
+
+    /**
+     * Reused constraints passed to the bidding algorithms
+     */
+    @Getter(AccessLevel.NONE)
+    int[] bidConstraints;
+
+    /**
+     * Swing frame of the auction, or a view showing nothing in headless mode
+     */
+    AuctionView auctionView;
+
+    /**
+     * {@link System#nanoTime()} when the auction was created, to measure how long it takes to fill
+     */
+    @Getter(AccessLevel.NONE)
+    long createdNanos;
 
     /**
      * All args constructor
@@ -74,24 +212,86 @@ public class Auction implements Runnable {
      * @param productToSale          the product the auction will sell
      */
     public Auction(Integer id, int nrRequiredParticipants, int idProduct, int nrMaxSteps, Product productToSale) {
-        this.nrCurrentParticipants = 0; // default no registered clients
+        this(id, nrRequiredParticipants, idProduct, nrMaxSteps, productToSale, AuctionType.ROUNDS);
+    }
+
+    /**
+     * All args constructor
+     *
+     * @param id                     unique identifier for auction
+     * @param nrRequiredParticipants number of maximum participants in the auction
+     * @param idProduct              product for which the auction is started
+     * @param nrMaxSteps             number of maximum auction steps, at most {@link AuctionState#MAX_STEP}
+     * @param productToSale          the product the auction will sell
+     * @param type                   rules of the auction
+     */
+    public Auction(Integer id, int nrRequiredParticipants, int idProduct, int nrMaxSteps, Product productToSale,
+                   AuctionType type) {
         this.id = id;
         this.nrRequiredParticipants = nrRequiredParticipants;
         this.idProduct = idProduct;
-        this.nrMaxSteps = nrMaxSteps;
+        this.nrMaxSteps = Math.min(nrMaxSteps, AuctionState.MAX_STEP);
+        this.type = type;
         this.registeredClients = new ArrayList<>();
         this.productToSale = productToSale;
+        this.state = new AuctionState(nrRequiredParticipants); // default no registered clients
+        this.bidInbox = new BidInbox(EngineConfig.BID_INBOX_CAPACITY, EngineConfig.BID_COALESCE_POLICY);
         this.minBid = 0; // minimum sum initially is 0, updated in the future with a new value
-        this.startBiddingLock = new ReentrantLock(); // lock while we wait for users to
-        this.sumToBid = null;
-        this.auctionFrame = new AuctionFrame(this);
+        this.activeAlgorithm = new BidAlgorithm(new ConcreteBidFromCommand());
+        this.random = EngineConfig.RANDOM_SEED == null ? new Random() : new Random(EngineConfig.RANDOM_SEED * 31 + id);
+        this.passiveAlgorithm = new BidAlgorithm(new SimpleRandomFromMinMax(random));
+        this.passiveFastPath = EngineConfig.PASSIVE_FAST_PATH;
+        this.bidIncrement = EngineConfig.CONTINUOUS_BID_INCREMENT;
+        this.idleMillis = EngineConfig.CONTINUOUS_IDLE_MILLIS;
+        this.clockWinner = -1;
+        this.waitingForBid = new AtomicBoolean();
+        this.highBidder = -1;
+        int capacity = Math.max(nrRequiredParticipants, 0);
+        this.bidders = new Client[capacity];
+        this.bidderProxies = new BrokerProxy[capacity];
+        this.activeBidders = new boolean[capacity];
+        this.stepBids = new int[capacity];
+        this.nrBidders = 0;
+        this.bidConstraints = new int[2];
+        this.auctionView = EngineConfig.HEADLESS ? HeadlessAuctionView.getInstance() : new AuctionFrame(this);
+        this.createdNanos = System.nanoTime();
+    }
+
+    public int getNrCurrentParticipants() {
+        return state.getParticipants();
+    }
+
+    /**
+     * Event: the start of the bidding process is requested. Only the first request made once the auction
+     * is ready hands the auction to the auction engine, the others are ignored
+     */
+    public void requestStart() {
+        if (state.start())
+            AuctionHouse.getInstance().getAuctionExecutor().dispatch(this);
+    }
+
+    /**
+     * Event: an active client places a bid, it is queued for the next active client whose turn it is
+     * to bid. Can be called from any thread without taking a lock
+     * @param amount sum to bid
+     * @return false if the bid has been dropped because too many bids are waiting
+     */
+    public boolean placeBid(int amount) {
+        return placeBid(BidInbox.ANY_CLIENT, amount);
     }
 
     /**
-     * Before calling {@code notifyAll()} this method needs to be called
+     * Event: an active client places a bid, see {@link #placeBid(int)}. The client id is only used by the
+     * {@link AuctionType#CONTINUOUS} auctions, the other ones give the bid to the client whose turn it is
+     * @param clientId id of the bidding client, {@link BidInbox#ANY_CLIENT} if unknown
+     * @param amount sum to bid
+     * @return false if the bid has been dropped because too many bids are waiting
      */
-    public void initializeStartFlag() {
-        startFlag = new Object();
+    public boolean placeBid(int clientId, int amount) {
+        boolean accepted = bidInbox.offer(BidInbox.pack(clientId, amount));
+        if (waitingForBid.compareAndSet(true, false)) // the bidding process gave its thread back to wait for it
+            AuctionHouse.getInstance().getAuctionExecutor().resume(this);
+        return accepted;
     }
 
     /**
@@ -100,83 +300,562 @@ public class Auction implements Runnable {
      * <p>
      * <strong>auction will not start until the required number of people participate</strong>
      * </p>
+     * The monitor only keeps the enrollments of this auction from interleaving, the enrollment itself is
+     * published by a single transition of the {@link AuctionState}
      *
      * @param client   client to subscribe to auction
      * @param isActive client is active or not in the auction
      * @throws ClientAlreadyInAuction if the client is already in this auction
+     * @throws AuctionIsFullException if the auction does not accept participants anymore
      */
-    public synchronized void subscribeClientToAuction(Client client, boolean isActive) throws ClientAlreadyInAuction {
+    public synchronized void subscribeClientToAuction(Client client, boolean isActive) throws ClientAlreadyInAuction,
+            AuctionIsFullException {
+        long enrollStart = System.nanoTime();
         if (registeredClients.contains(client))
             throw new ClientAlreadyInAuction("Client " + client.getId() + " has already been enrolled in " + id);
-        nrCurrentParticipants++;
+        if (state.getPhase() != AuctionPhase.WAITING_FOR_PARTICIPANTS)
+            throw new AuctionIsFullException("Cannot register client " + client.getId() + " in auction with id "
+                    + id + " because the auction is full");
         registeredClients.add(client);
-        // get random broker index
-        List<Broker> brokerList = AuctionHouse.getInstance().getBrokerList();
-        int randomBrokerIndex = (new Random()).nextInt(brokerList.size());
-        // set client broker as one found above
-        client.involveClientInAuction(this, brokerList.get(randomBrokerIndex), isActive);
-        // append client to broker's list of clients
-        brokerList.get(randomBrokerIndex).getClientList().add(client);
+        // the assignment policy picks the broker and counts the client in its load
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        Broker broker = auctionHouse.getBrokerAssignment().assign(auctionHouse.getBrokerList(), client);
+        client.involveClientInAuction(this, broker, isActive);
+        auctionHouse.getJournal().enrolled(id, client.getId(), client.getMaxBid(), isActive);
+
+        int nrParticipants = state.enroll();
+        AuctionObservers observers = auctionHouse.getObservers();
+        observers.clientEnrolled(this, client, isActive, System.nanoTime() - enrollStart);
+        if (nrParticipants == nrRequiredParticipants) { // the auction is populated
+            observers.auctionFull(this, System.nanoTime() - createdNanos);
+            openAuction();
+            if (EngineConfig.AUTO_START) // in headless mode nobody can press the start button
+                requestStart();
+        }
     }
 
     /**
-     * Wait until the auction is populated then start bidding process
+     * We want each auction to create its frame independently, it becomes visible once the auction is populated.
+     * In headless mode the auction starts bidding right away
+     */
+    private void openAuction() {
+        auctionView.makeFrameVisible();
+        registeredClients.forEach(client -> auctionView.logClientAndBroker(client, client.getBrokerForAuction(this)));
+    }
+
+    /**
+     * Run the bidding process, called by the {@link AuctionExecutor} once the auction has been started, and again
+     * every time the process is resumed after giving its thread back (waiting for a bid or for the clock)
      */
-    @SneakyThrows
     @Override
-    public synchronized void run() {
-        while (nrCurrentParticipants < nrRequiredParticipants) {
-            wait();
+    public void run() {
+        if (state.getPhase() != AuctionPhase.BIDDING_STEP)
+            throw new IllegalStateException("Auction " + id + " cannot bid while " + state);
+        if (!processStarted) {
+            processStarted = true;
+            nrActiveBidders = prepareBidders();
+            if (type != AuctionType.ROUNDS || nrActiveBidders > 0 || !passiveFastPath)
+                prepareBrokerProxies();
+        }
+        switch (type) {
+            case SEALED_BID -> sealedBidProcess();
+            case CONTINUOUS -> continuousProcess();
+            case DUTCH -> {
+                if (clockStopped) // back from the clock
+                    settleDutchAuction();
+                else
+                    startDutchClock();
+            }
+            default -> {
+                if (nrActiveBidders == 0 && passiveFastPath)
+                    passiveProcess();
+                else
+                    auctionProcess();
+            }
         }
-        auctionFrame.makeFrameVisible();
-        startAuction();
     }
 
     /**
-     * We want each auction to create its frame independently
+     * Create the broker proxy of every bidder, only the processes asking the brokers for the bids need them
      */
-    @SneakyThrows
-    public synchronized void startAuction() {
-        registeredClients.forEach(client -> auctionFrame.logClientAndBroker(client, client.getBrokerForAuction(this)));
+    private void prepareBrokerProxies() {
+        for (int i = 0; i < nrBidders; i++)
+            bidderProxies[i] = new BrokerProxy(bidders[i].getBrokerForAuction(this), this);
+    }
 
-        while (startFlag == null) {
-            this.wait();
+    /**
+     * Fill the bidder arrays with the registered clients and their state
+     * @return number of active bidders
+     */
+    private int prepareBidders() {
+        nrBidders = 0;
+        int nrActive = 0;
+        for (Client client : registeredClients) {
+            bidders[nrBidders] = client;
+            activeBidders[nrBidders] = client.getStateOfClientInAuction(this);
+            if (activeBidders[nrBidders])
+                nrActive++;
+            nrBidders++;
         }
-
-        auctionProcess();
+        return nrActive;
     }
 
     /**
      * Unleashes the whole bidding process, ended whether there are no clients left in the auction
-     * or if someone won it
+     * or if someone won it. Returns early, in the middle of a step, when an active client has not bid yet,
+     * and goes on from the same bidder once the auction is handed back to the engine
      */
     private void auctionProcess() {
-        Pair<Integer, Client> winner = null;
-        for (int k = 0; k < nrMaxSteps; k++) {
-            auctionFrame.logAuctionInfo("\nSTARTING STEP " + (k + 1) + " OF BIDDING PROCESS\n");
+        AuctionObservers observers = AuctionHouse.getInstance().getObservers();
+        while (true) {
+            if (!stepOpen) {
+                stepOpen = true;
+                stepStartNanos = System.nanoTime();
+                if (auctionView.isLogging())
+                    auctionView.logAuctionInfo("\nSTARTING STEP " + state.getStep() + " OF BIDDING PROCESS\n");
+            }
+            if (!auctionStep())
+                return; // waiting for a bid
 
-            List<Pair<Integer, Client>> stepOfBidding = auctionStep();
-            winner = AuctionHouse.getInstance().getWinningBid(stepOfBidding);
+            Pair<Integer, Client> winner = AuctionHouse.getInstance().getWinningBid(stepBids, bidders, nrBidders);
+            AuctionHouse.getInstance().getJournal().stepResult(id, winner.getValue1().getId(), winner.getValue0(),
+                    state.getStep());
             this.minBid = winner.getValue0(); // update new min bid value
             disqualifyClientsFromAuction();
+            stepOpen = false;
+            observers.stepFinished(this, state.getStep(), System.nanoTime() - stepStartNanos);
             // check if the auction is ended prematurely
             if (registeredClients.isEmpty()) // no
                 throw new IllegalStateException("Auction cannot be ended yet, this state should not be reached");
-            else if (registeredClients.size() == 1) // there is a winner for our auction
+            else if (registeredClients.size() == 1 || state.getStep() >= nrMaxSteps) { // there is a winner
+                settle(winner);
+                return;
+            }
+            state.nextStep();
+        }
+    }
+
+    /**
+     * Bidding process of an auction whose bidders are all passive. The bids only depend on the minimum bid,
+     * the max bids of the clients and the draws of {@link #random}, so they are computed right here, in the same
+     * order and with the same draws as {@link #auctionProcess()}: with the same seed both give the same steps,
+     * the same winner and the same price. A step is a pass over the bidder arrays that draws every bid and
+     * keeps the best one, followed by the usual disqualification, without asking the brokers for the bids,
+     * building log messages or a winner pair per step.
+     */
+    private void passiveProcess() {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        AuctionJournal journal = auctionHouse.getJournal();
+        AuctionObservers observers = auctionHouse.getObservers();
+        Client winner = null;
+        for (int k = 0; k < nrMaxSteps; k++) {
+            long stepStart = System.nanoTime();
+            if (k > 0)
+                state.nextStep();
+            int step = state.getStep();
+            for (int i = 0; i < nrBidders; i++) {
+                Client client = bidders[i];
+                bidConstraints[0] = minBid;
+                bidConstraints[1] = client.getMaxBid();
+                stepBids[i] = passiveAlgorithm.calculateBid(bidConstraints);
+                journal.bid(id, client.getId(), stepBids[i], step);
+                observers.bidPlaced(this, client, stepBids[i], false);
+            }
+            int winnerIndex = WinningBidReducer.winnerIndex(stepBids, bidders, nrBidders);
+            winner = bidders[winnerIndex];
+            minBid = stepBids[winnerIndex];
+            journal.stepResult(id, winner.getId(), minBid, step);
+            if (auctionView.isLogging())
+                auctionView.logAuctionInfo("Step " + step + " won by " + winner.getName() + " with a bid of " +
+                        minBid + " dollars");
+            disqualifyClientsFromAuction();
+            observers.stepFinished(this, step, System.nanoTime() - stepStart);
+            if (registeredClients.isEmpty())
+                throw new IllegalStateException("Auction cannot be ended yet, this state should not be reached");
+            else if (registeredClients.size() == 1)
                 break;
         }
-        // check if the product can be sold or not (minimum price has been reached)
-        if (Objects.requireNonNull(winner).getValue0() > productToSale.getMinimumPrice()) {
+        settle(new Pair<>(minBid, Objects.requireNonNull(winner)));
+    }
+
+    /**
+     * Sealed bid process, a single step: every client hands one bid to its broker, an active client through
+     * {@code place_bid} and a passive one bidding its max bid (bidding the true value is the best strategy when
+     * the price is the second best bid). The best bid wins, ties going to the client with the most auctions won
+     * like in a step, and the price is the second best bid, raised to the lowest price above the minimum price of
+     * the product. The product is sold only if the best bid exceeds the minimum price. Returns early while an
+     * active client has not bid yet, like a step of {@link #auctionProcess()}
+     */
+    private void sealedBidProcess() {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        AuctionJournal journal = auctionHouse.getJournal();
+        AuctionObservers observers = auctionHouse.getObservers();
+        if (!stepOpen) {
+            stepOpen = true;
+            stepStartNanos = System.nanoTime();
+        }
+        int step = state.getStep();
+        for (; nextBidder < nrBidders; nextBidder++) {
+            int i = nextBidder;
+            Client client = bidders[i];
+            if (activeBidders[i]) {
+                int sumToBid;
+                while ((sumToBid = pollValidBid(client)) == NO_VALID_BID) {
+                    if (auctionView.isLogging())
+                        auctionView.logAuctionInfo("Waiting for the sealed bid of client " + client.getName());
+                    if (suspendUntilBid())
+                        return;
+                }
+                bidConstraints[0] = sumToBid;
+            } else {
+                bidConstraints[0] = client.getMaxBid();
+                bidConstraints[1] = client.getMaxBid();
+            }
+            int bid = bidderProxies[i].requestClientForBid(this, client, activeBidders[i], minBid, bidConstraints);
+            stepBids[i] = bid;
+            journal.bid(id, client.getId(), bid, step);
+            observers.bidPlaced(this, client, bid, activeBidders[i]);
+        }
+        stepOpen = false;
+
+        int highest = Integer.MIN_VALUE;
+        int secondHighest = Integer.MIN_VALUE;
+        for (int i = 0; i < nrBidders; i++) {
+            if (stepBids[i] > highest) {
+                secondHighest = highest;
+                highest = stepBids[i];
+            } else if (stepBids[i] > secondHighest)
+                secondHighest = stepBids[i];
+        }
+
+        Client winner = bidders[WinningBidReducer.winnerIndex(stepBids, bidders, nrBidders)];
+        int reservePrice = (int) Math.floor(productToSale.getMinimumPrice()) + 1; // lowest price that sells
+        int price = Math.max(secondHighest, reservePrice);
+        minBid = price;
+        journal.stepResult(id, winner.getId(), price, step);
+        observers.stepFinished(this, step, System.nanoTime() - stepStartNanos);
+        if (auctionView.isLogging())
+            auctionView.logAuctionInfo("Best sealed bid of " + highest + " dollars by " + winner.getName() +
+                    ", second price " + price + " dollars");
+        boolean sold = highest > productToSale.getMinimumPrice();
+        settle(new Pair<>(sold ? price : highest, winner), sold); // unsold, the best bid is the one reported
+    }
+
+    /**
+     * Continuous (English) process, a single open step: the bids placed by the active clients are taken from the
+     * inbox as soon as they arrive and matched right away, a bid becomes the high bid if it beats it by at least
+     * {@link #bidIncrement}. After every new high bid the passive clients outbid the leader on their own, see
+     * {@link #outbidByPassiveClients(int)}. The auction closes when no bid has been accepted for
+     * {@link #idleMillis}, or as soon as no active client can outbid the leader anymore, and the leader wins
+     * at the price of the high bid. While the inbox is empty the engine thread is given back, the next bid or the
+     * {@link AuctionClock} at the idle deadline hands the auction back to the engine
+     */
+    private void continuousProcess() {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        AuctionObservers observers = auctionHouse.getObservers();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        if (!stepOpen) {
+            stepOpen = true;
+            stepStartNanos = System.nanoTime();
+            highBidder = outbidByPassiveClients(-1);
+            idleDeadline = System.nanoTime() + idleNanos;
+            if (nrActiveBidders > 0)
+                AuctionClock.getInstance().register(this::idleTick);
+        }
+        int leader = highBidder;
+        while (nrActiveBidders > 0 && canBeOutbid(leader)) {
+            long bid = bidInbox.poll();
+            if (bid == BidInbox.NO_BID) {
+                if (System.nanoTime() - idleDeadline >= 0)
+                    break;
+                if (suspendUntilBid())
+                    return;
+                continue;
+            }
+
+            int bidder = matchBidder(BidInbox.clientOf(bid), leader);
+            int amount = BidInbox.amountOf(bid);
+            boolean accepted = bidder >= 0 && amount >= minBid + bidIncrement
+                    && bidders[bidder].getMaxBid() >= minBid + bidIncrement;
+            observers.bidMatched(this, accepted, System.nanoTime() - bidInbox.getLastOfferNanos());
+            if (!accepted) {
+                if (auctionView.isLogging())
+                    auctionView.logAuctionInfo("Bid of " + amount + " dollars rejected, the high bid is " + minBid +
+                            " dollars and the increment " + bidIncrement + " dollars");
+                continue;
+            }
+            acceptBid(bidder, Math.min(amount, bidders[bidder].getMaxBid()));
+            leader = outbidByPassiveClients(bidder);
+            highBidder = leader;
+            idleDeadline = System.nanoTime() + idleNanos;
+        }
+
+        stepOpen = false;
+        if (leader < 0) { // nobody has bid, there is no step result
+            observers.stepFinished(this, state.getStep(), System.nanoTime() - stepStartNanos);
+            settle(new Pair<>(minBid, null), false);
+            return;
+        }
+        auctionHouse.getJournal().stepResult(id, bidders[leader].getId(), minBid, state.getStep());
+        observers.stepFinished(this, state.getStep(), System.nanoTime() - stepStartNanos);
+        settle(new Pair<>(minBid, bidders[leader]));
+    }
+
+    /**
+     * A tick of the {@link AuctionClock} for a continuous auction, runs on the clock thread: once the idle deadline
+     * has passed, an auction waiting for a bid is handed back to the engine to close
+     * @return false once the auction has ended
+     */
+    private boolean idleTick() {
+        if (state.getPhase().isFinal())
+            return false;
+        if (System.nanoTime() - idleDeadline >= 0 && waitingForBid.compareAndSet(true, false))
+            AuctionHouse.getInstance().getAuctionExecutor().resume(this);
+        return true;
+    }
+
+    /**
+     * @param clientId id of the client who placed the bid, {@link BidInbox#ANY_CLIENT} if unknown
+     * @param leader index of the bidder holding the high bid, -1 if there is none yet
+     * @return index of the active bidder the bid is for, -1 if the bid is not for an active bidder of this
+     *          auction or comes from the leader. A bid for any client goes to the first active bidder who can
+     *          still outbid the leader
+     */
+    private int matchBidder(int clientId, int leader) {
+        for (int i = 0; i < nrBidders; i++) {
+            if (!activeBidders[i] || i == leader)
+                continue;
+            if (clientId == BidInbox.ANY_CLIENT ? bidders[i].getMaxBid() >= minBid + bidIncrement
+                    : bidders[i].getId() == clientId)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @param leader index of the bidder holding the high bid, -1 if there is none yet
+     * @return true if an active bidder other than the leader can afford to beat the high bid
+     */
+    private boolean canBeOutbid(int leader) {
+        for (int i = 0; i < nrBidders; i++)
+            if (activeBidders[i] && i != leader && bidders[i].getMaxBid() >= minBid + bidIncrement)
+                return true;
+        return false;
+    }
+
+    /**
+     * Proxy bidding of the passive clients: the passive client with the highest max bid (the first enrolled one
+     * on a tie) outbids the leader, bidding just enough to beat the other passive clients and to reach the minimum
+     * price of the product, within its max bid. Repeated until no passive client can beat the high bid, which
+     * takes a couple of bids whatever the increment since a passive bid jumps straight to the price the others
+     * cannot follow
+     * @param leader index of the bidder holding the high bid, -1 if there is none yet
+     * @return index of the leader once the passive clients are done
+     */
+    private int outbidByPassiveClients(int leader) {
+        long reservePrice = (long) Math.floor(productToSale.getMinimumPrice()) + 1; // lowest price that sells
+        while (true) {
+            int challenger = -1;
+            int challengerMax = Integer.MIN_VALUE;
+            int rivalMax = Integer.MIN_VALUE;
+            for (int i = 0; i < nrBidders; i++) {
+                if (activeBidders[i])
+                    continue;
+                int maxBid = bidders[i].getMaxBid();
+                if (i != leader && maxBid > challengerMax) {
+                    rivalMax = Math.max(rivalMax, challengerMax);
+                    challenger = i;
+                    challengerMax = maxBid;
+                } else
+                    rivalMax = Math.max(rivalMax, maxBid);
+            }
+            if (challenger < 0 || challengerMax < minBid + bidIncrement)
+                return leader;
+
+            long target = Math.max((long) rivalMax + bidIncrement, reservePrice);
+            acceptBid(challenger, (int) Math.max(minBid + bidIncrement, Math.min(challengerMax, target)));
+            leader = challenger;
+        }
+    }
+
+    /**
+     * The bid becomes the high bid, it goes through the broker of the bidder like in the other processes
+     * @param bidder index of the bidder
+     * @param amount the new high bid, checked by the caller
+     */
+    private void acceptBid(int bidder, int amount) {
+        AuctionObservers observers = AuctionHouse.getInstance().getObservers();
+        Client client = bidders[bidder];
+        bidConstraints[0] = amount;
+        bidConstraints[1] = amount; // the passive algorithm draws between the two, so it bids exactly the amount
+        int bid = bidderProxies[bidder].requestClientForBid(this, client, activeBidders[bidder], minBid,
+                bidConstraints);
+        AuctionHouse.getInstance().getJournal().bid(id, client.getId(), bid, state.getStep());
+        observers.bidPlaced(this, client, bid, activeBidders[bidder]);
+        minBid = bid;
+        if (auctionView.isLogging())
+            auctionView.logAuctionInfo("High bid of " + bid + " dollars by " + client.getName());
+    }
+
+    /**
+     * Dutch process, first part: the limits of the bidders are written in {@link #stepBids} (the max bid of a
+     * passive bidder, nothing yet for an active one), the asking price is set to the start price and the auction
+     * is registered with the shared {@link AuctionClock}. The engine thread is given back right away, every step
+     * of the auction is a tick of the clock, see {@link #dutchTick()}
+     */
+    private void startDutchClock() {
+        for (int i = 0; i < nrBidders; i++)
+            stepBids[i] = activeBidders[i] ? 0 : bidders[i].getMaxBid();
+        minBid = dutchPrice(state.getStep());
+        if (auctionView.isLogging())
+            auctionView.logAuctionInfo("Asking price starts at " + minBid + " dollars");
+        AuctionClock.getInstance().register(this::dutchTick);
+    }
+
+    /**
+     * A tick of the {@link AuctionClock}, runs on the clock thread: the limits placed by the active clients since
+     * the last tick are taken from the inbox, then the bidder with the highest limit wins if it covers the asking
+     * price (the highest limit is the one covered first, ties go to the client with the most auctions won).
+     * Otherwise the asking price goes down one step, or the clock stops unsold if it was already at the minimum
+     * price. A stopped auction is handed back to the engine to settle, the journal and the brokers are never
+     * waited for on the clock thread. A tick that throws stops the clock unsold, the clock would drop the
+     * auction without handing it back otherwise
+     * @return false once the clock of the auction has stopped
+     */
+    private boolean dutchTick() {
+        try {
+            return dutchStep();
+        } catch (RuntimeException e) {
+            if (!clockStopped) {
+                if (auctionView.isLogging())
+                    auctionView.logAuctionInfo("The clock of the auction stopped on " + e);
+                stopDutchClock(-1);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Body of {@link #dutchTick()}
+     * @return false once the clock of the auction has stopped
+     */
+    private boolean dutchStep() {
+        long tickStart = System.nanoTime();
+        long bid;
+        while ((bid = bidInbox.poll()) != BidInbox.NO_BID) {
+            int bidder = limitBidder(BidInbox.clientOf(bid));
+            if (bidder >= 0)
+                stepBids[bidder] = Math.min(BidInbox.amountOf(bid), bidders[bidder].getMaxBid());
+        }
+
+        int winner = WinningBidReducer.winnerIndex(stepBids, bidders, nrBidders);
+        boolean covered = stepBids[winner] >= minBid;
+        boolean lastStep = state.getStep() >= nrMaxSteps;
+        AuctionHouse.getInstance().getObservers().stepFinished(this, state.getStep(), System.nanoTime() - tickStart);
+        if (covered || lastStep) {
+            stopDutchClock(covered ? winner : -1);
+            return false;
+        }
+        state.nextStep();
+        minBid = dutchPrice(state.getStep());
+        return true;
+    }
+
+    /**
+     * Hand the auction back to the engine to settle, see {@link #settleDutchAuction()}
+     * @param winner index of the bidder taking the product at the asking price, -1 if it stays unsold
+     */
+    private void stopDutchClock(int winner) {
+        clockWinner = winner;
+        clockStopped = true;
+        AuctionHouse.getInstance().getAuctionExecutor().resume(this);
+    }
+
+    /**
+     * @param clientId id of the client who placed the limit, {@link BidInbox#ANY_CLIENT} if unknown
+     * @return index of the active bidder the limit is for, -1 if the bid is not for an active bidder of this
+     *          auction. A limit for any client goes to the first active bidder without a limit yet
+     */
+    private int limitBidder(int clientId) {
+        int anyBidder = -1;
+        for (int i = 0; i < nrBidders; i++) {
+            if (!activeBidders[i])
+                continue;
+            if (clientId == BidInbox.ANY_CLIENT ? stepBids[i] == 0 : bidders[i].getId() == clientId)
+                return i;
+            if (anyBidder < 0)
+                anyBidder = i;
+        }
+        return clientId == BidInbox.ANY_CLIENT ? anyBidder : -1;
+    }
+
+    /**
+     * The asking price falls linearly from the start price ({@link EngineConfig#DUTCH_START_FACTOR} times the
+     * minimum price) at the first step to the lowest price that sells the product at step {@link #nrMaxSteps}
+     * @param step the step, from 1
+     * @return the asking price at this step
+     */
+    private int dutchPrice(int step) {
+        double minimumPrice = productToSale.getMinimumPrice();
+        long reservePrice = (long) Math.floor(minimumPrice) + 1; // lowest price that sells
+        long startPrice = Math.max(reservePrice, (long) Math.ceil(minimumPrice * EngineConfig.DUTCH_START_FACTOR));
+        if (nrMaxSteps <= 1)
+            return (int) reservePrice;
+        return (int) (startPrice - (startPrice - reservePrice) * (Math.min(step, nrMaxSteps) - 1) / (nrMaxSteps - 1));
+    }
+
+    /**
+     * Dutch process, last part, back on the engine: the winner takes the product at the asking price through
+     * its broker and the usual settlement, or the product stays unsold
+     */
+    private void settleDutchAuction() {
+        if (clockWinner < 0) {
+            settle(new Pair<>(0, null), false);
+            return;
+        }
+        acceptBid(clockWinner, minBid);
+        AuctionHouse.getInstance().getJournal().stepResult(id, bidders[clockWinner].getId(), minBid,
+                state.getStep());
+        settle(new Pair<>(minBid, bidders[clockWinner]), true);
+    }
+
+    /**
+     * Sell the product to the winner of the last step if the minimum price has been reached, end the auction
+     * @param winner winner of the last step along with his bid
+     */
+    private void settle(Pair<Integer, Client> winner) {
+        settle(winner, winner.getValue0() > productToSale.getMinimumPrice());
+    }
+
+    /**
+     * Sell the product to the winner or end the auction unsold
+     * @param winner winner of the auction along with the price he pays, the client is <strong>null</strong>
+     *               when nobody has bid in an unsold auction
+     * @param sold true if the product is sold
+     */
+    private void settle(Pair<Integer, Client> winner, boolean sold) {
+        AuctionObservers observers = AuctionHouse.getInstance().getObservers();
+        long settleStart = System.nanoTime();
+        if (sold) {
             sellTheProduct(winner);
             sellProductFromGui(winner);
-            auctionFrame.makeCloseButtonVisible();
+            state.finish(true);
+            observers.auctionFinished(this, true, System.nanoTime() - settleStart);
+            auctionView.makeCloseButtonVisible();
             return;
         }
 
-        auctionFrame.logAuctionInfo("Product has not been sold because the winning bid of " +
+        Client bestBidder = winner.getValue1();
+        AuctionHouse.getInstance().getJournal().unsold(id, bestBidder == null ? -1 : bestBidder.getId(),
+                winner.getValue0());
+        registeredClients.forEach(this::releaseClient);
+        AuctionHouse.getInstance().releaseProduct(productToSale);
+        state.finish(false);
+        observers.auctionFinished(this, false, System.nanoTime() - settleStart);
+        auctionView.logAuctionInfo("Product has not been sold because the winning bid of " +
                 winner.getValue0() + " did not exceed the minimum required price of " +
                 productToSale.getMinimumPrice());
-        auctionFrame.makeCloseButtonVisible();
+        auctionView.makeCloseButtonVisible();
     }
 
     /**
@@ -186,28 +865,45 @@ public class Auction implements Runnable {
      */
     private void sellProductFromGui(Pair<Integer, Client> winner) {
         // log winner
-        auctionFrame.logAuctionInfo("Client " + winner.getValue1().getName() + " has won this auction " +
+        auctionView.logAuctionInfo("Client " + winner.getValue1().getName() + " has won this auction " +
                 "with a bid of " + winner.getValue0() + " dollars!");
         // remove the product from the gui
-        StartWindow.getInstance().getProductDeposit().removeProduct(productToSale);
+        if (!EngineConfig.HEADLESS)
+            StartWindow.getInstance().getProductDeposit().removeProduct(productToSale);
     }
 
     /**
-     * Sale the product from the perspective of the {@link AuctionHouse}
+     * Sale the product from the perspective of the {@link AuctionHouse}, the sale is journaled (and durable)
+     * before anything changes
      *
      * @param winner winner of auction (pair of winning client and his winning bid)
      */
     public void sellTheProduct(Pair<Integer, Client> winner) {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        Broker broker = Objects.requireNonNull(winner).getValue1().getBrokerForAuction(this);
+        auctionHouse.getJournal().settled(id, winner.getValue1().getId(), winner.getValue0(),
+                broker.getIndex());
         // actually sell the product
-        Objects.requireNonNull(winner).getValue1().winAuction();
+        winner.getValue1().winAuction();
         // log the broker's commission
-        (new BrokerProxy(winner.getValue1().getBrokerForAuction(this), this))
-                .keepCommission(winner.getValue0(), winner.getValue1());
+        (new BrokerProxy(broker, this))
+                .keepCommission(winner.getValue0(), winner.getValue1(), productToSale);
         productToSale.setSalePrice((double) winner.getValue0()); // set the sales price
         // product has been sold
-        winner.getValue1().getBrokerForAuction(this).removeProduct(productToSale);
+        broker.removeProduct(productToSale);
+        auctionHouse.recordSale(productToSale);
+
+        registeredClients.forEach(this::releaseClient);
+    }
 
-        registeredClients.forEach(client -> client.disqualifyClientFromAuction(this));
+    /**
+     * The client takes no part in this auction anymore, its broker stops representing it here
+     * @param client a client still registered in the auction
+     */
+    private void releaseClient(Client client) {
+        Broker broker = client.getBrokerForAuction(this);
+        client.disqualifyClientFromAuction(this);
+        AuctionHouse.getInstance().getBrokerAssignment().release(broker, client);
     }
 
     /**
@@ -215,64 +911,98 @@ public class Auction implements Runnable {
      * maximum bid they can afford is smaller than the current maximum bid of the auction
      */
     public void disqualifyClientsFromAuction() {
+        int nrDisqualified = 0;
         Iterator<Client> iter = registeredClients.iterator();
         while (iter.hasNext()) {
             Client iterClient = iter.next();
             if (iterClient.getMaxBid() < minBid) {
-                iterClient.disqualifyClientFromAuction(this);
+                releaseClient(iterClient);
                 iter.remove();
+                nrDisqualified++;
             }
         }
+        if (nrDisqualified > 0)
+            AuctionHouse.getInstance().getObservers().clientsDisqualified(this, nrDisqualified);
+        // compact the bidder arrays, keeping the order of the remaining bidders
+        int kept = 0;
+        for (int i = 0; i < nrBidders; i++) {
+            if (bidders[i].getMaxBid() < minBid)
+                continue;
+            bidders[kept] = bidders[i];
+            bidderProxies[kept] = bidderProxies[i];
+            activeBidders[kept] = activeBidders[i];
+            kept++;
+        }
+        Arrays.fill(bidders, kept, nrBidders, null);
+        Arrays.fill(bidderProxies, kept, nrBidders, null);
+        nrBidders = kept;
     }
 
     /**
-     * Actions to be performed in an auction step (a bid for every client)
-     *
-     * @return list of pair from clients and theirs bids (from this auction step)
+     * Actions to be performed in an auction step (a bid for every client), the bid of each bidder is
+     * written in {@link #stepBids} at the bidder's index. Nothing is allocated here unless the view logs
+     * or the journal is enabled
+     * @return false if the step stopped at an active client who has not bid yet, the engine thread has then been
+     *          given back and the step goes on from {@link #nextBidder} once the bid is placed
      */
-    @SneakyThrows
-    private List<Pair<Integer, Client>> auctionStep() {
-        List<Pair<Integer, Client>> bids = new ArrayList<>();
-        for (Client client : registeredClients) {
-            Broker broker = client.getBrokerForAuction(this);
-            int clientBid;
-            if (client.getStateOfClientInAuction(this)) { // is an active bidder
-                while (sumToBid == null) {
-                    auctionFrame.logAuctionInfo("Waiting for client " + client.getName() +
-                            " to place a bid above " + minBid + " dollars");
-                    synchronized (this) {
-                        this.wait();
-                    }
+    private boolean auctionStep() {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        AuctionJournal journal = auctionHouse.getJournal();
+        AuctionObservers observers = auctionHouse.getObservers();
+        for (; nextBidder < nrBidders; nextBidder++) {
+            int i = nextBidder;
+            Client client = bidders[i];
+            if (activeBidders[i]) { // is an active bidder
+                int sumToBid;
+                while ((sumToBid = pollValidBid(client)) == NO_VALID_BID) {
+                    if (auctionView.isLogging())
+                        auctionView.logAuctionInfo("Waiting for client " + client.getName() +
+                                " to place a bid above " + minBid + " dollars");
+                    if (suspendUntilBid())
+                        return false;
                 }
-                checkValidBid(client);
-
-                clientBid = (new BrokerProxy(broker, this))
-                        .requestClientForBid(this, client, minBid, sumToBid);
-                sumToBid = null; // reset the sum
-            } else
-                clientBid = (new BrokerProxy(broker, this))
-                        .requestClientForBid(this, client, minBid);
-
-            bids.add(new Pair<>(clientBid, client));
+                bidConstraints[0] = sumToBid;
+            } else {
+                bidConstraints[0] = minBid;
+                bidConstraints[1] = client.getMaxBid();
+            }
+            stepBids[i] = bidderProxies[i].requestClientForBid(this, client, activeBidders[i], minBid,
+                    bidConstraints);
+            journal.bid(id, client.getId(), stepBids[i], state.getStep());
+            observers.bidPlaced(this, client, stepBids[i], activeBidders[i]);
         }
-        return bids;
+        nextBidder = 0;
+        return true;
     }
 
-    private void checkValidBid(Client client) throws InterruptedException {
-        while (true) { // loop until the bid is correct
-            if (sumToBid > client.getMaxBid()) {
-                sumToBid = client.getMaxBid(); // set the sum to max
-            } else if (sumToBid < minBid) {
-                sumToBid = null; // reset the sum
-                auctionFrame.logAuctionInfo("Try again!" + client.getName() +
+    /**
+     * Take the next bid of the active client out of the inbox that is at least the current minimum bid, a bid
+     * above the client's maximum sum is lowered to that sum and a bid too low is dropped
+     * @param client the client whose turn it is
+     * @return the bid, {@link #NO_VALID_BID} if the inbox holds no valid bid
+     */
+    private int pollValidBid(Client client) {
+        long bid;
+        while ((bid = bidInbox.poll()) != BidInbox.NO_BID) {
+            int sumToBid = Math.min(BidInbox.amountOf(bid), client.getMaxBid());
+            if (sumToBid >= minBid)
+                return sumToBid;
+            if (auctionView.isLogging())
+                auctionView.logAuctionInfo("Try again!" + client.getName() +
                         " needs to place a bid above " + minBid + " dollars");
-                while (sumToBid == null) {
-                    synchronized (this) {
-                        this.wait();
-                    }
-                }
-            } else
-                break;
         }
+        return NO_VALID_BID;
+    }
+
+    /**
+     * Give the engine thread back until a bid is placed. The bidding process must not change anything after this
+     * returns true: the auction may already be running again on another engine thread
+     * @return true if the process has to return, it will be handed back to the engine by the next bid;
+     *          false if a bid came in meanwhile and the process goes on right away
+     */
+    private boolean suspendUntilBid() {
+        waitingForBid.set(true);
+        // a bid placed before the flag was set has not resumed the auction, take it back from here
+        return bidInbox.depth() == 0 || !waitingForBid.compareAndSet(true, false);
     }
 }
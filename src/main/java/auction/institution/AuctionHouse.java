@@ -3,9 +3,20 @@ package auction.institution;
 import auction.institution.clients.Client;
 import auction.institution.employee.Administrator;
 import auction.institution.employee.broker.Broker;
+import auction.institution.employee.broker.assignment.BrokerAssignmentPolicy;
+import auction.institution.engine.AuctionExecutor;
+import auction.institution.engine.EngineConfig;
+import auction.institution.metrics.AuctionMetrics;
+import auction.institution.order_book.LotMarket;
+import auction.institution.registry.IntRegistry;
 import auction.storage.NoSuchProductException;
 import auction.storage.Product;
+import auction.storage.ProductInventory;
 import auction.storage.furniture.Furniture;
+import database.journal.AuctionJournal;
+import database.journal.DisabledJournal;
+import database.journal.FileAuctionJournal;
+import gui.StartWindow;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,11 +24,10 @@ import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
 import org.javatuples.Pair;
 
+import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.*;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * The auction house is a <strong>singleton</strong>, only one instance of this class will ever exist,
@@ -33,22 +43,84 @@ public class AuctionHouse {
     @NonFinal
     Administrator administrator;
 
-    List<Product> productList;
+    /**
+     * Products available in the deposit, see {@link #getProductList()} for a list view
+     */
+    ProductInventory inventory;
+
+    /**
+     * Products sold so far, with their sale price, in the order they were sold, see {@link #getSoldProducts()}
+     */
+    @Getter(AccessLevel.NONE)
+    Queue<Product> soldProducts;
+
     List<Client> clientList;
     List<Auction> activeAuctions;
     List<Broker> brokerList;
 
-    Lock productListLock;
+    /**
+     * Id indexes kept next to the lists above, the lists stay the views used by the list commands
+     * and the indexes answer the lookups made by every auction command
+     */
+    @Getter(AccessLevel.NONE)
+    IntRegistry<Client> clientsById;
+    @Getter(AccessLevel.NONE)
+    IntRegistry<Auction> auctionsById;
+
+    /**
+     * Runs the bidding process of the auctions, chosen with {@link EngineConfig#ENGINE_MODE}
+     */
+    AuctionExecutor auctionExecutor;
+
+    /**
+     * Journal of the auction events, written to {@link EngineConfig#JOURNAL_FILE} if there is one
+     */
+    AuctionJournal journal;
+
+    /**
+     * Picks the broker of every enrolled client, chosen with {@link EngineConfig#BROKER_ASSIGNMENT}
+     */
+    BrokerAssignmentPolicy brokerAssignment;
+
+    /**
+     * Notified of the transitions of every auction
+     */
+    AuctionObservers observers;
+
+    /**
+     * Order books of the lots of identical products, sold without an auction each
+     */
+    LotMarket lotMarket;
 
     /**
      * private constructor for class
      */
     private AuctionHouse() {
-        productList = new ArrayList<>();
+        inventory = new ProductInventory();
+        soldProducts = new ConcurrentLinkedQueue<>();
         clientList = new ArrayList<>();
         activeAuctions = new ArrayList<>();
         brokerList = new ArrayList<>();
-        this.productListLock = new ReentrantLock();
+        clientsById = new IntRegistry<>();
+        auctionsById = new IntRegistry<>();
+        this.auctionExecutor = EngineConfig.ENGINE_MODE.createExecutor();
+        this.journal = openJournal();
+        this.brokerAssignment = EngineConfig.BROKER_ASSIGNMENT.createPolicy();
+        this.observers = new AuctionObservers();
+        observers.add(AuctionMetrics.getInstance());
+        this.lotMarket = new LotMarket();
+    }
+
+    private static AuctionJournal openJournal() {
+        if (EngineConfig.JOURNAL_FILE == null)
+            return DisabledJournal.getInstance();
+        try {
+            return new FileAuctionJournal(EngineConfig.JOURNAL_FILE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("Cannot open journal " + EngineConfig.JOURNAL_FILE + ", auctions are not journaled");
+            return DisabledJournal.getInstance();
+        }
     }
 
     /**
@@ -67,28 +139,87 @@ public class AuctionHouse {
         return ReferenceHolder.INSTANCE;
     }
 
-    public void lockProductList() {
-        productListLock.lock();
+    public void addNewClient(Client client) {
+        clientList.add(client);
+        clientsById.putIfAbsent(client.getId(), client); // the first client with an id is the one found
     }
 
-    public void unlockProductList() {
-        productListLock.unlock();
+    /**
+     * Hire a broker, its index is its position in the broker list
+     * @param broker the broker
+     */
+    public synchronized void addNewBroker(Broker broker) {
+        broker.setIndex(brokerList.size());
+        brokerList.add(broker);
     }
 
-    public void addNewClient(Client client) {
-        clientList.add(client);
+    /**
+     * Publish everything a bulk load has parsed in one step, the products skip the GUI handshake of the
+     * {@link Administrator} and are shown in the product deposit all at once. A product with a sale price
+     * (restored from a snapshot) goes back to the sold products instead of the deposit
+     * @param products products to add to the deposit
+     * @param clients clients to add
+     * @param brokers brokers to add
+     */
+    public synchronized void publishBulk(List<Product> products, List<Client> clients, List<Broker> brokers) {
+        List<Product> available = new ArrayList<>(products.size());
+        for (Product product : products) {
+            if (product.getSalePrice() != null)
+                soldProducts.add(product);
+            else if (addNewProduct(product))
+                available.add(product);
+        }
+        clients.forEach(this::addNewClient);
+        brokers.forEach(this::addNewBroker);
+        if (!EngineConfig.HEADLESS)
+            StartWindow.getInstance().getProductDeposit().addProducts(available);
     }
 
-    public void addNewBroker(Broker broker) {
-        brokerList.add(broker);
+    /**
+     * @return the products available right now, in the order they were added
+     */
+    public List<Product> getProductList() {
+        return inventory.snapshot();
+    }
+
+    /**
+     * @return the products sold so far, with their sale price, in the order they were sold
+     */
+    public List<Product> getSoldProducts() {
+        return new ArrayList<>(soldProducts);
+    }
+
+    /**
+     * Keep a product that has just been sold, once its sale price is set and it has left the deposit
+     * @param product the sold product
+     */
+    public void recordSale(Product product) {
+        soldProducts.add(product);
+    }
+
+    /**
+     * Add a product to the deposit, unless there already is a product with the same id there
+     * @param product the product to add
+     * @return false if the product has not been added, the duplicate is reported on stderr
+     */
+    public boolean addNewProduct(Product product) {
+        if (inventory.add(product)) // the first product with an id is the one kept
+            return true;
+        System.err.println("Product " + product.getName() + " is not added, there already is a product with id " +
+                product.getId() + " in the deposit");
+        return false;
     }
 
-    public void addNewProduct(Product product) {
-        productList.add(product);
+    /**
+     * Make the product of an auction ended unsold available again, for another auction or a lot
+     * @param product the product reserved by the auction
+     */
+    public void releaseProduct(Product product) {
+        inventory.release(product);
     }
 
     public void removeProduct(Product product) {
-        boolean result = productList.removeIf(prodIter -> prodIter.getId().equals(product.getId()));
+        boolean result = inventory.remove(product.getId()) != null;
         if (!result) {
             throw new InvalidParameterException(product.getName() + "is not a valid product or is not for sale");
         }
@@ -101,8 +232,7 @@ public class AuctionHouse {
      *          <strong>null</strong> else
      */
     public Auction getAuctionById(int id) {
-        return activeAuctions.stream().filter(auction ->
-                auction.getId().equals(id)).findFirst().orElse(null);
+        return auctionsById.get(id);
     }
 
     /**
@@ -112,8 +242,7 @@ public class AuctionHouse {
      *          <strong>null</strong> otherwise
      */
     public Product getProductById(int id) {
-        return productList.stream().filter(product ->
-                product.getId().equals(id)).findFirst().orElse(null);
+        return inventory.get(id);
     }
 
     /**
@@ -123,24 +252,37 @@ public class AuctionHouse {
      * @throws NullPointerException if there is no such product in the database
      */
     public Client getClientById(int id) {
-        Client client = clientList.stream().filter(client1 ->
-                client1.getId().equals(id)).findFirst().orElse(null);
-        return Objects.requireNonNull(client);
+        return Objects.requireNonNull(clientsById.get(id));
     }
 
     public Auction createAuctionForProduct(int id, int nrParticipants, int nrMaxSteps)
             throws NoSuchProductException {
+        return createAuctionForProduct(id, nrParticipants, nrMaxSteps, AuctionType.ROUNDS);
+    }
+
+    /**
+     * Create an auction for a product of the deposit, the product is reserved for the auction until it is sold
+     * or the auction ends unsold, so it is never auctioned twice at the same time nor offered in a lot meanwhile
+     * @throws NoSuchProductException if there is no such product, or it is already reserved or offered in a lot
+     */
+    public Auction createAuctionForProduct(int id, int nrParticipants, int nrMaxSteps, AuctionType type)
+            throws NoSuchProductException {
 
-        Product product = getProductById(id);
-        // there is no such product
-        if (product == null)
-            throw new NoSuchProductException("No product with id: " + id);
+        Product product = inventory.reserve(id);
+        if (product == null) {
+            if (getProductById(id) == null) // there is no such product
+                throw new NoSuchProductException("No product with id: " + id);
+            throw new NoSuchProductException("Product with id: " + id + " is already being auctioned");
+        }
 
-        // create new auction and start it on a new thread
-        Auction auction = new Auction(id, nrParticipants, id, nrMaxSteps, product);
-        (new Thread(auction)).start();
+        // create new auction, the engine will run it once it is ready to bid
+        Auction auction = new Auction(id, nrParticipants, id, nrMaxSteps, product, type);
+        journal.created(id, nrParticipants, nrMaxSteps);
+        auctionExecutor.register(auction);
 
         activeAuctions.add(auction);
+        auctionsById.put(id, auction); // the product is reserved, an auction found before has ended
+        observers.auctionCreated(auction);
 
         return auction;
     }
@@ -153,14 +295,27 @@ public class AuctionHouse {
      * @return the winner of the bid along with the sum he bidded
      */
     public Pair<Integer, Client> getWinningBid(List<Pair<Integer, Client>> biddingResult) {
-        Integer winnerBid = biddingResult.stream().map(Pair::getValue0)
-                .max(Comparator.naturalOrder()).orElse(null);
-        List<Pair<Integer, Client>> bidWinners = biddingResult.stream().filter(result ->
-                result.getValue0().equals(winnerBid)).collect(Collectors.toList());
-        Integer winnerWithMaxWon = bidWinners.stream().map(winner -> winner.getValue1().getNrOfWonAuctions())
-                .max(Comparator.naturalOrder()).orElse(null);
-        return bidWinners.stream().filter(winner ->
-                winner.getValue1().getNrOfWonAuctions() == winnerWithMaxWon).findFirst().orElse(null);
+        Pair<Integer, Client> winner = null;
+        for (Pair<Integer, Client> result : biddingResult) { // same rules as WinningBidReducer, in one pass
+            if (winner == null || result.getValue0() > winner.getValue0()
+                    || (result.getValue0().equals(winner.getValue0())
+                    && result.getValue1().getNrOfWonAuctions() > winner.getValue1().getNrOfWonAuctions()))
+                winner = result;
+        }
+        return winner;
+    }
+
+    /**
+     * Calculate the winner of a bid step from the bid arrays of an {@link Auction}, with the same rules
+     * as {@link #getWinningBid(List)}, see {@link WinningBidReducer}
+     * @param bids bid of each bidder
+     * @param clients client of each bidder, same index as in {@code bids}
+     * @param count number of bidders
+     * @return the winner of the bid along with the sum he bidded, <strong>null</strong> if there are no bidders
+     */
+    public Pair<Integer, Client> getWinningBid(int[] bids, Client[] clients, int count) {
+        int winner = WinningBidReducer.winnerIndex(bids, clients, count);
+        return winner < 0 ? null : new Pair<>(bids[winner], clients[winner]);
     }
 
 }
@@ -0,0 +1,79 @@
+package auction.institution;
+
+import auction.institution.clients.Client;
+
+/**
+ * Gets notified of the transitions of the auctions, registered in the {@link AuctionObservers} of the
+ * {@link AuctionHouse}. The callbacks run on the thread making the transition (the command thread for the
+ * creation and the enrollments, the auction engine for the bidding), they have to be short and must not block.
+ * Every callback does nothing by default.
+ */
+public interface AuctionObserver {
+
+    /**
+     * A new auction waits for participants
+     */
+    default void auctionCreated(Auction auction) {
+
+    }
+
+    /**
+     * A client has enrolled in the auction, its creator included
+     * @param enrollNanos time taken by the enrollment
+     */
+    default void clientEnrolled(Auction auction, Client client, boolean isActive, long enrollNanos) {
+
+    }
+
+    /**
+     * The last required participant has enrolled
+     * @param fillNanos time since the auction was created
+     */
+    default void auctionFull(Auction auction, long fillNanos) {
+
+    }
+
+    /**
+     * A client has bid during a bidding step, called on the bidding hot path
+     * @param bid the bid, as received by the broker
+     * @param isActive true if the bid has been placed by an active client
+     */
+    default void bidPlaced(Auction auction, Client client, int bid, boolean isActive) {
+
+    }
+
+    /**
+     * A bid placed with {@code place_bid} has been matched against the high bid of a continuous auction
+     * @param accepted true if the bid became the high bid, false if it has been rejected
+     * @param acceptNanos time from the placement of the bid to the decision
+     */
+    default void bidMatched(Auction auction, boolean accepted, long acceptNanos) {
+
+    }
+
+    /**
+     * Clients who cannot afford the new minimum bid have left the auction after a bidding step
+     * @param count number of disqualified clients, at least one
+     */
+    default void clientsDisqualified(Auction auction, int count) {
+
+    }
+
+    /**
+     * A bidding step has ended, its winner picked and the clients who cannot follow disqualified
+     * @param step number of the step, from 1
+     * @param stepNanos duration of the step
+     */
+    default void stepFinished(Auction auction, int step, long stepNanos) {
+
+    }
+
+    /**
+     * The auction has ended
+     * @param sold true if the product has been sold
+     * @param settleNanos time spent settling the outcome once the bidding was over
+     */
+    default void auctionFinished(Auction auction, boolean sold, long settleNanos) {
+
+    }
+}
@@ -0,0 +1,66 @@
+package auction.institution;
+
+import auction.institution.clients.Client;
+
+import java.util.Arrays;
+
+/**
+ * The {@link AuctionObserver}s of the auction house. Observers are rarely added, so they are kept in an array
+ * replaced on every change and notifying them walks that array without locking or allocating.
+ */
+public class AuctionObservers {
+
+    private volatile AuctionObserver[] observers = new AuctionObserver[0];
+
+    public synchronized void add(AuctionObserver observer) {
+        AuctionObserver[] updated = Arrays.copyOf(observers, observers.length + 1);
+        updated[observers.length] = observer;
+        observers = updated;
+    }
+
+    public synchronized void remove(AuctionObserver observer) {
+        observers = Arrays.stream(observers)
+                .filter(registered -> registered != observer)
+                .toArray(AuctionObserver[]::new);
+    }
+
+    void auctionCreated(Auction auction) {
+        for (AuctionObserver observer : observers)
+            observer.auctionCreated(auction);
+    }
+
+    void clientEnrolled(Auction auction, Client client, boolean isActive, long enrollNanos) {
+        for (AuctionObserver observer : observers)
+            observer.clientEnrolled(auction, client, isActive, enrollNanos);
+    }
+
+    void bidPlaced(Auction auction, Client client, int bid, boolean isActive) {
+        for (AuctionObserver observer : observers)
+            observer.bidPlaced(auction, client, bid, isActive);
+    }
+
+    void bidMatched(Auction auction, boolean accepted, long acceptNanos) {
+        for (AuctionObserver observer : observers)
+            observer.bidMatched(auction, accepted, acceptNanos);
+    }
+
+    void clientsDisqualified(Auction auction, int count) {
+        for (AuctionObserver observer : observers)
+            observer.clientsDisqualified(auction, count);
+    }
+
+    void auctionFull(Auction auction, long fillNanos) {
+        for (AuctionObserver observer : observers)
+            observer.auctionFull(auction, fillNanos);
+    }
+
+    void stepFinished(Auction auction, int step, long stepNanos) {
+        for (AuctionObserver observer : observers)
+            observer.stepFinished(auction, step, stepNanos);
+    }
+
+    void auctionFinished(Auction auction, boolean sold, long settleNanos) {
+        for (AuctionObserver observer : observers)
+            observer.auctionFinished(auction, sold, settleNanos);
+    }
+}
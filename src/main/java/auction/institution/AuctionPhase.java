@@ -0,0 +1,39 @@
+package auction.institution;
+
+/**
+ * Phases of the lifecycle of an {@link Auction}, in the order they are reached
+ */
+public enum AuctionPhase {
+
+    /**
+     * Clients can still enroll in the auction
+     */
+    WAITING_FOR_PARTICIPANTS,
+
+    /**
+     * All participants have enrolled, the auction waits for its start
+     */
+    READY,
+
+    /**
+     * The bidding process is running, the state also holds the number of the current step
+     */
+    BIDDING_STEP,
+
+    /**
+     * The product has been sold to the winner
+     */
+    SETTLED,
+
+    /**
+     * The auction has ended without the product being sold
+     */
+    UNSOLD;
+
+    /**
+     * @return true if the auction has ended
+     */
+    public boolean isFinal() {
+        return this == SETTLED || this == UNSOLD;
+    }
+}
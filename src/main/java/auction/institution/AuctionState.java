@@ -0,0 +1,135 @@
+package auction.institution;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The lifecycle of an {@link Auction} as a state machine:
+ * {@code WAITING_FOR_PARTICIPANTS -> READY -> BIDDING_STEP(n) -> SETTLED / UNSOLD}.
+ * <p>
+ *     The phase, the current bidding step and the number of participants are packed in a single
+ *     atomic word, so every event (enrollment, start, next step, end) is one compare-and-set on that word
+ *     and no thread ever waits on a monitor for another thread to change the state.
+ *     An event that is not allowed in the current phase is rejected by returning false.
+ * </p>
+ */
+public class AuctionState {
+
+    private static final long PARTICIPANTS_MASK = 0xFFFF_FFFFL;
+
+    private static final int STEP_SHIFT = 32;
+
+    private static final long STEP_MASK = 0xFF_FFFFL;
+
+    private static final int PHASE_SHIFT = 56;
+
+    private static final AuctionPhase[] PHASES = AuctionPhase.values();
+
+    /**
+     * The last bidding step the packed word can hold, {@link #nextStep()} does not go past it
+     */
+    public static final int MAX_STEP = (int) STEP_MASK;
+
+    private final int nrRequiredParticipants;
+
+    private final AtomicLong word;
+
+    /**
+     * @param nrRequiredParticipants number of clients that have to enroll before the auction is ready
+     */
+    public AuctionState(int nrRequiredParticipants) {
+        this.nrRequiredParticipants = nrRequiredParticipants;
+        AuctionPhase initialPhase = nrRequiredParticipants > 0 ? AuctionPhase.WAITING_FOR_PARTICIPANTS
+                : AuctionPhase.READY;
+        this.word = new AtomicLong(pack(initialPhase, 0, 0));
+    }
+
+    /**
+     * Event: a client enrolls in the auction, the last required client makes the auction ready
+     * @return the number of participants after the enrollment, or -1 if the auction does not
+     *          accept participants anymore
+     */
+    public int enroll() {
+        while (true) {
+            long current = word.get();
+            if (phaseOf(current) != AuctionPhase.WAITING_FOR_PARTICIPANTS)
+                return -1;
+            int participants = participantsOf(current) + 1;
+            AuctionPhase next = participants >= nrRequiredParticipants ? AuctionPhase.READY
+                    : AuctionPhase.WAITING_FOR_PARTICIPANTS;
+            if (word.compareAndSet(current, pack(next, 0, participants)))
+                return participants;
+        }
+    }
+
+    /**
+     * Event: the start of the bidding process is requested, only accepted once, when the auction is ready
+     * @return true if the auction moved to the first bidding step
+     */
+    public boolean start() {
+        long current = word.get();
+        return phaseOf(current) == AuctionPhase.READY
+                && word.compareAndSet(current, pack(AuctionPhase.BIDDING_STEP, 1, participantsOf(current)));
+    }
+
+    /**
+     * Event: a bidding step has ended and the auction goes on with the next one
+     * @return true if the auction moved to the next bidding step, false after {@link #MAX_STEP}
+     */
+    public boolean nextStep() {
+        long current = word.get();
+        return phaseOf(current) == AuctionPhase.BIDDING_STEP && stepOf(current) < MAX_STEP
+                && word.compareAndSet(current, pack(AuctionPhase.BIDDING_STEP, stepOf(current) + 1,
+                participantsOf(current)));
+    }
+
+    /**
+     * Event: the bidding process has ended
+     * @param sold true if the product has been sold, the auction becomes settled, otherwise unsold
+     * @return true if the auction has ended because of this event
+     */
+    public boolean finish(boolean sold) {
+        long current = word.get();
+        return phaseOf(current) == AuctionPhase.BIDDING_STEP
+                && word.compareAndSet(current, pack(sold ? AuctionPhase.SETTLED : AuctionPhase.UNSOLD,
+                stepOf(current), participantsOf(current)));
+    }
+
+    public AuctionPhase getPhase() {
+        return phaseOf(word.get());
+    }
+
+    /**
+     * @return number of the current bidding step, starting from 1, or 0 before the bidding process started
+     */
+    public int getStep() {
+        return stepOf(word.get());
+    }
+
+    public int getParticipants() {
+        return participantsOf(word.get());
+    }
+
+    @Override
+    public String toString() {
+        long current = word.get();
+        AuctionPhase phase = phaseOf(current);
+        return phase == AuctionPhase.BIDDING_STEP ? phase + "(" + stepOf(current) + ")" : phase.toString();
+    }
+
+    private static long pack(AuctionPhase phase, int step, int participants) {
+        return ((long) phase.ordinal() << PHASE_SHIFT) | ((step & STEP_MASK) << STEP_SHIFT)
+                | (participants & PARTICIPANTS_MASK);
+    }
+
+    private static AuctionPhase phaseOf(long word) {
+        return PHASES[(int) (word >>> PHASE_SHIFT)];
+    }
+
+    private static int stepOf(long word) {
+        return (int) ((word >>> STEP_SHIFT) & STEP_MASK);
+    }
+
+    private static int participantsOf(long word) {
+        return (int) (word & PARTICIPANTS_MASK);
+    }
+}
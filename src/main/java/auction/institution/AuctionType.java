@@ -0,0 +1,44 @@
+package auction.institution;
+
+/**
+ * Rules of an {@link Auction}, chosen by the client starting it (the optional last argument of
+ * {@code start_auction}, the default being {@link #ROUNDS})
+ */
+public enum AuctionType {
+
+    /**
+     * Every client bids once per step, the clients who cannot afford the best bid of a step leave the auction
+     * and the last one standing (or the best bidder of the last step) wins at the price of its bid
+     */
+    ROUNDS,
+
+    /**
+     * Second price sealed bid (Vickrey) auction: every client bids once, the best bidder wins and pays the
+     * second best bid, never less than the minimum price of the product
+     */
+    SEALED_BID,
+
+    /**
+     * Continuous (English) auction: the active clients bid whenever they want, a bid is accepted if it beats the
+     * high bid by the increment, the passive clients outbid the leader on their own within their max bid. The
+     * auction closes when no bid has been accepted for a while and the leader wins at the price of its bid
+     */
+    CONTINUOUS,
+
+    /**
+     * Dutch (descending clock) auction: the asking price falls on every tick of the shared {@link
+     * auction.institution.engine.AuctionClock} from a start price down to the minimum price of the product, the
+     * first client whose limit covers the asking price wins at that price. The limit of a passive client is its
+     * max bid, an active client gives its limit with {@code place_bid}
+     */
+    DUTCH;
+
+    /**
+     * @param argument name of the type, case insensitive, <strong>null</strong> for the default type
+     * @return the matching type
+     * @throws IllegalArgumentException if there is no type with this name
+     */
+    public static AuctionType fromArgument(String argument) {
+        return argument == null ? ROUNDS : valueOf(argument.trim().toUpperCase());
+    }
+}
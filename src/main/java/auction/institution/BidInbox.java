@@ -0,0 +1,227 @@
+package auction.institution;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded multi-producer / single-consumer queue of the bids placed for an {@link Auction}.
+ * <p>
+ *     Any thread can offer a bid without taking a lock (a ring buffer where each slot carries a sequence
+ *     number, producers claim slots with a compare-and-set on the tail), only the thread running the bidding
+ *     process of the auction takes bids out. When the ring is full the new bid is dropped and counted.
+ *     Each bid is a {@code long} word packing the id of the bidding client (or {@link #ANY_CLIENT}) and the
+ *     amount, so nothing is boxed on the way. The time each bid was offered is kept next to it, so the consumer
+ *     can tell how long a bid waited before being handled.
+ * </p>
+ */
+public class BidInbox {
+
+    /**
+     * Returned by the poll methods when there is no bid in the inbox. It is the word of a bid of 0 by the client
+     * {@link Integer#MIN_VALUE}, which is why {@link #pack(int, int)} rejects the negative client ids other than
+     * {@link #ANY_CLIENT}
+     */
+    public static final long NO_BID = Long.MIN_VALUE;
+
+    /**
+     * Client id of a bid that is meant for whichever active client has to bid next
+     */
+    public static final int ANY_CLIENT = -1;
+
+    private final long[] bids;
+
+    /**
+     * {@link System#nanoTime()} when the bid of the same slot was offered
+     */
+    private final long[] offerNanos;
+
+    /**
+     * For each slot, the position of the tail that may write it next, or that position + 1
+     * once the bid in the slot can be read
+     */
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong tail;
+
+    /**
+     * Written only by the consumer, volatile so that {@link #depth()} can be read from any thread
+     */
+    private volatile long head;
+
+    /**
+     * Offer time of the last bid taken by the consumer, only read and written by the consumer
+     */
+    private long lastOfferNanos;
+
+    private final CoalescePolicy coalescePolicy;
+
+    private final LongAdder dropped;
+
+    private final LongAdder coalesced;
+
+    /**
+     * @param capacity maximum number of bids waiting, rounded up to a power of two
+     * @param coalescePolicy how the pending bids are merged when the consumer takes one
+     */
+    public BidInbox(int capacity, CoalescePolicy coalescePolicy) {
+        int size = 1;
+        while (size < capacity)
+            size <<= 1;
+        this.bids = new long[size];
+        this.offerNanos = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++)
+            sequences.set(i, i);
+        this.mask = size - 1;
+        this.tail = new AtomicLong();
+        this.head = 0;
+        this.coalescePolicy = coalescePolicy;
+        this.dropped = new LongAdder();
+        this.coalesced = new LongAdder();
+    }
+
+    /**
+     * Pack a bid in a single word
+     * @param clientId id of the bidding client, {@link #ANY_CLIENT} if unknown
+     * @param amount sum to bid
+     * @return the bid word, never {@link #NO_BID}
+     * @throws IllegalArgumentException if the client id is negative and not {@link #ANY_CLIENT}
+     */
+    public static long pack(int clientId, int amount) {
+        if (clientId < ANY_CLIENT)
+            throw new IllegalArgumentException("Invalid client id " + clientId);
+        return ((long) clientId << 32) | (amount & 0xFFFF_FFFFL);
+    }
+
+    public static int clientOf(long bid) {
+        return (int) (bid >> 32);
+    }
+
+    public static int amountOf(long bid) {
+        return (int) bid;
+    }
+
+    /**
+     * Add a bid to the inbox, can be called by any number of threads at the same time
+     * @param bid the bid word, see {@link #pack(int, int)}
+     * @return false if the inbox is full and the bid has been dropped
+     */
+    public boolean offer(long bid) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long distance = sequences.get(index) - position;
+            if (distance == 0) {
+                if (tail.compareAndSet(position, position + 1))
+                    break;
+            } else if (distance < 0) { // the consumer has not freed this slot yet, the ring is full
+                dropped.increment();
+                return false;
+            }
+            // otherwise another producer claimed the slot first, try the next one
+        }
+        bids[index] = bid;
+        offerNanos[index] = System.nanoTime();
+        sequences.set(index, position + 1); // publish the bid to the consumer
+        return true;
+    }
+
+    /**
+     * Take the next bid out of the inbox, merging the pending bids according to the {@link CoalescePolicy}.
+     * Must only be called by the consumer thread
+     * @return the bid word or {@link #NO_BID} if the inbox is empty
+     */
+    public long poll() {
+        long bid = pollOne();
+        if (bid == NO_BID || coalescePolicy == CoalescePolicy.NONE)
+            return bid;
+        long offered = lastOfferNanos;
+        long next;
+        while ((next = pollOne()) != NO_BID) {
+            coalesced.increment();
+            if (coalescePolicy == CoalescePolicy.LATEST || amountOf(next) > amountOf(bid)) {
+                bid = next;
+                offered = lastOfferNanos;
+            }
+        }
+        lastOfferNanos = offered;
+        return bid;
+    }
+
+    private long pollOne() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1)
+            return NO_BID;
+        long bid = bids[index];
+        lastOfferNanos = offerNanos[index];
+        sequences.set(index, position + bids.length); // free the slot for the next lap of the producers
+        head = position + 1;
+        return bid;
+    }
+
+    /**
+     * Must only be called by the consumer thread
+     * @return {@link System#nanoTime()} when the bid last returned by {@link #poll()} was offered
+     */
+    public long getLastOfferNanos() {
+        return lastOfferNanos;
+    }
+
+    /**
+     * @return number of bids waiting in the inbox
+     */
+    public int depth() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return bids.length;
+    }
+
+    /**
+     * @return number of bids dropped because the inbox was full
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return number of bids discarded by merging them with another pending bid
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "depth: " + depth() + "/" + capacity() + ", dropped: " + getDropped() +
+                ", coalesced: " + getCoalesced();
+    }
+
+    /**
+     * How the bids waiting in the inbox are merged when the auction takes one
+     */
+    public enum CoalescePolicy {
+
+        /**
+         * Every bid is taken in the order it was placed
+         */
+        NONE,
+
+        /**
+         * Only the last placed bid is taken, the older ones are discarded
+         */
+        LATEST,
+
+        /**
+         * Only the highest placed bid is taken, the other ones are discarded
+         */
+        HIGHEST
+    }
+}
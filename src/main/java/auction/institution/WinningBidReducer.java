@@ -0,0 +1,110 @@
+package auction.institution;
+
+import auction.institution.clients.Client;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the winner of a bidding step in a single pass over the primitive bid arrays of an {@link Auction}.
+ * The winner has the highest bid, a tie is won by the {@link Client} with the most auctions won, and if that
+ * is a tie too, by the client seen first. Large steps are split between the threads of the common
+ * {@link ForkJoinPool}, which gives the same winner since the left half always wins equal candidates.
+ * This class is never meant to be instantiated.
+ */
+public final class WinningBidReducer {
+
+    /**
+     * Steps with fewer bids than this are reduced on the calling thread
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Explicit private constructor
+     */
+    private WinningBidReducer() {}
+
+    /**
+     * @param bids bid of each bidder
+     * @param clients client of each bidder, same index as in {@code bids}
+     * @param count number of bidders, the first {@code count} entries of the arrays are used
+     * @return index of the winning bidder, -1 if there are no bidders
+     */
+    public static int winnerIndex(int[] bids, Client[] clients, int count) {
+        if (count >= PARALLEL_THRESHOLD)
+            return parallelWinnerIndex(bids, clients, count);
+        return winnerIndex(bids, clients, 0, count);
+    }
+
+    /**
+     * Same as {@link #winnerIndex(int[], Client[], int)} but always split between the fork-join threads
+     */
+    public static int parallelWinnerIndex(int[] bids, Client[] clients, int count) {
+        if (count <= 0)
+            return -1;
+        return ForkJoinPool.commonPool().invoke(new ReduceTask(bids, clients, 0, count));
+    }
+
+    /**
+     * Sequential reduction of the bidders in {@code [from, to)}
+     */
+    static int winnerIndex(int[] bids, Client[] clients, int from, int to) {
+        int winner = -1;
+        int winnerBid = 0;
+        int winnerWon = 0;
+        for (int i = from; i < to; i++) {
+            int bid = bids[i];
+            if (winner >= 0 && bid < winnerBid)
+                continue;
+            int won = clients[i].getNrOfWonAuctions();
+            if (winner < 0 || bid > winnerBid || won > winnerWon) { // strictly better, the first seen stays
+                winner = i;
+                winnerBid = bid;
+                winnerWon = won;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * @return the better of two candidates, {@code left} on a full tie
+     */
+    static int better(int[] bids, Client[] clients, int left, int right) {
+        if (left < 0)
+            return right;
+        if (right < 0)
+            return left;
+        if (bids[right] != bids[left])
+            return bids[right] > bids[left] ? right : left;
+        return clients[right].getNrOfWonAuctions() > clients[left].getNrOfWonAuctions() ? right : left;
+    }
+
+    private static final class ReduceTask extends RecursiveTask<Integer> {
+
+        private final int[] bids;
+
+        private final Client[] clients;
+
+        private final int from;
+
+        private final int to;
+
+        ReduceTask(int[] bids, Client[] clients, int from, int to) {
+            this.bids = bids;
+            this.clients = clients;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= PARALLEL_THRESHOLD / 4)
+                return winnerIndex(bids, clients, from, to);
+            int middle = (from + to) >>> 1;
+            ReduceTask left = new ReduceTask(bids, clients, from, middle);
+            left.fork();
+            int rightWinner = new ReduceTask(bids, clients, middle, to).compute();
+            return better(bids, clients, left.join(), rightWinner);
+        }
+    }
+}
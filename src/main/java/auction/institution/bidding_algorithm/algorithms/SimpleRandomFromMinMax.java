@@ -10,6 +10,22 @@ import java.util.Random;
  */
 public class SimpleRandomFromMinMax implements Strategy {
 
+    /**
+     * Source of the random numbers, the same generator is used for every bid
+     */
+    private final Random random;
+
+    public SimpleRandomFromMinMax() {
+        this(new Random());
+    }
+
+    /**
+     * @param random generator used for every bid, not shared between threads
+     */
+    public SimpleRandomFromMinMax(Random random) {
+        this.random = random;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -17,6 +33,6 @@ public class SimpleRandomFromMinMax implements Strategy {
     public int applyAlgorithm(int... constrains) {
         int min = constrains[0];
         int max = constrains[1];
-        return min + (max - min) / ((new Random()).nextInt(10) + 1);
+        return min + (max - min) / (random.nextInt(10) + 1);
     }
 }
@@ -1,18 +1,11 @@
 package auction.institution.clients;
 
 import auction.institution.*;
-import auction.institution.bidding_algorithm.BidAlgorithm;
-import auction.institution.bidding_algorithm.algorithms.ConcreteBidFromCommand;
-import auction.institution.bidding_algorithm.algorithms.SimpleRandomFromMinMax;
 import auction.institution.employee.broker.Broker;
 import auction.storage.NoSuchProductException;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
-import org.javatuples.Pair;
-
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A client is a user of the {@link AuctionHouse}, it has options to make the client
@@ -54,9 +47,13 @@ public abstract class Client {
     /**
      * Each auction that the client is involved in with have it's own particular broker and a
      * boolean value denoting if the client is active in that auction (active: will choose
-     * how much he bids, inactive : a random algorithm will calculate how much he bids)
+     * how much he bids, inactive : a random algorithm will calculate how much he bids).
+     * Allocated on the first auction and dropped after the last one, guarded by the client's monitor
      */
-    Map<Auction, Pair<Broker, Boolean>> stateInAuction;
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    ParticipationTable stateInAuction;
 
     /**
      * Constructor for all arguments
@@ -70,7 +67,6 @@ public abstract class Client {
         this.address = address;
         this.nrOfAuctionsInvolved = 0; // default 0 auction participated in
         this.nrOfWonAuctions = 0; // default 0 auction won
-        this.stateInAuction = new ConcurrentHashMap<>();
     }
 
     /**
@@ -79,17 +75,22 @@ public abstract class Client {
      * @param broker broker to involve the client in
      * @param isActive state of the client in the auction
      */
-    public void involveClientInAuction(Auction auction, Broker broker, boolean isActive) {
+    public synchronized void involveClientInAuction(Auction auction, Broker broker, boolean isActive) {
+        if (broker.getIndex() < 0)
+            throw new IllegalArgumentException("Broker " + broker.getName() + " does not work for the auction house");
         nrOfAuctionsInvolved++;
-        stateInAuction.put(auction, new Pair<>(broker, isActive)); // for the moment there is no broker for this auction
+        if (stateInAuction == null)
+            stateInAuction = new ParticipationTable();
+        stateInAuction.put(auction.getId(), broker.getIndex(), isActive);
     }
 
     /**
      * make the client not take part of an auction anymore
      * @param auction auction to remove the client from
      */
-    public void disqualifyClientFromAuction(Auction auction) {
-        stateInAuction.remove(auction);
+    public synchronized void disqualifyClientFromAuction(Auction auction) {
+        if (stateInAuction != null && stateInAuction.remove(auction.getId()) && stateInAuction.isEmpty())
+            stateInAuction = null; // most clients are in no auction most of the time
     }
 
     /**
@@ -97,8 +98,11 @@ public abstract class Client {
      * @param auction auction to get the broker for
      * @return the broker for this auction
      */
-    public Broker getBrokerForAuction(Auction auction) {
-        return stateInAuction.get(auction).getValue0();
+    public synchronized Broker getBrokerForAuction(Auction auction) {
+        int brokerIndex = stateInAuction == null ? -1 : stateInAuction.brokerIndexOf(auction.getId());
+        if (brokerIndex < 0)
+            throw new IllegalStateException("Client " + id + " takes no part in auction " + auction.getId());
+        return AuctionHouse.getInstance().getBrokerList().get(brokerIndex);
     }
 
     /**
@@ -106,8 +110,18 @@ public abstract class Client {
      * @param auction auction to get the state of the client for
      * @return boolean value with the state of the client in this auction
      */
-    public boolean getStateOfClientInAuction(Auction auction) {
-        return stateInAuction.get(auction).getValue1();
+    public synchronized boolean getStateOfClientInAuction(Auction auction) {
+        if (stateInAuction == null || !stateInAuction.containsKey(auction.getId()))
+            throw new IllegalStateException("Client " + id + " takes no part in auction " + auction.getId());
+        return stateInAuction.isActive(auction.getId());
+    }
+
+    /**
+     * @return a copy of the auctions the client takes part in right now, the table of the client is only read
+     *          under its monitor
+     */
+    public synchronized ParticipationTable getStateInAuction() {
+        return stateInAuction == null ? ParticipationTable.EMPTY : stateInAuction.copy();
     }
 
     /**
@@ -131,13 +145,30 @@ public abstract class Client {
      */
     public Auction createAuctionForProduct(int id, int maxBid, int nrParticipants, int nrMaxSteps, boolean isActive)
             throws NoSuchProductException {
+        return createAuctionForProduct(id, maxBid, nrParticipants, nrMaxSteps, isActive, AuctionType.ROUNDS);
+    }
+
+    /**
+     * Create a new auction with the given rules and subscribe this client to it
+     * @param id id of product, which will also be the created auction's id
+     * @param maxBid max bid of the client
+     * @param nrParticipants nr of required participant for the auction
+     * @param nrMaxSteps nr of maximum steps for the auction
+     * @param isActive true if the client will be active in the auction, false otherwise
+     * @param type rules of the auction
+     * @return the auction just created
+     * @throws NoSuchProductException if the product we want to auction for does not exist, or has been
+     *                                removed before
+     */
+    public Auction createAuctionForProduct(int id, int maxBid, int nrParticipants, int nrMaxSteps, boolean isActive,
+                                           AuctionType type) throws NoSuchProductException {
         AuctionHouse auctionHouse=  AuctionHouse.getInstance();
-        Auction auction = auctionHouse.createAuctionForProduct(id, nrParticipants, nrMaxSteps);
+        Auction auction = auctionHouse.createAuctionForProduct(id, nrParticipants, nrMaxSteps, type);
         try {
             this.maxBid = maxBid; // update max bid for this auction in particular
             auction.subscribeClientToAuction(this, isActive);
-        } catch (ClientAlreadyInAuction clientAlreadyInAuction) {
-            throw new IllegalStateException(); // serious problem if this line in the code is reached
+        } catch (ClientAlreadyInAuction | AuctionIsFullException e) {
+            throw new IllegalStateException(e); // serious problem if this line in the code is reached
         }
         return auction;
     }
@@ -167,30 +198,28 @@ public abstract class Client {
 
         this.maxBid = maxBid; // update max bid for this auction in particular
         auction.subscribeClientToAuction(this, isActive);
-
-        synchronized (auction) {
-            auction.notifyAll();
-        }
         return auction;
     }
 
 
     /**
-     * Gets the bid the client will place
+     * Gets the bid the client will place, using the bidding algorithms of the auction
      * @param auction auction the client will place the bid in
+     * @param isActive true if the client is active in the auction, the auction keeps it next to its bidders
      * @param minimumBid minimum bid, cannot be lower than a certain value the {@link Auction} specifies
-     * @param constrains parameters the calculate the bid with
+     * @param constrains parameters the calculate the bid with: the exact sum for an active client, the minimum
+     *                   and maximum sum for a passive one (the minimum bid and the client's max bid when missing)
      * @return the bid value
      */
-    public int placeBid(Auction auction, int minimumBid, int... constrains) {
+    public int placeBid(Auction auction, boolean isActive, int minimumBid, int... constrains) {
         int sumToBid;
 
-        if (Boolean.TRUE.equals(stateInAuction.get(auction).getValue1())) // if it is active user
-            sumToBid = (new BidAlgorithm(new ConcreteBidFromCommand()))
-                    .calculateBid(constrains);
+        if (isActive) // if it is active user
+            sumToBid = auction.getActiveAlgorithm().calculateBid(constrains);
+        else if (constrains.length >= 2)
+            sumToBid = auction.getPassiveAlgorithm().calculateBid(constrains);
         else
-            sumToBid = (new BidAlgorithm(new SimpleRandomFromMinMax()))
-                    .calculateBid(minimumBid, maxBid);
+            sumToBid = auction.getPassiveAlgorithm().calculateBid(minimumBid, maxBid);
         return sumToBid;
     }
 
@@ -1,6 +1,7 @@
 package auction.institution.clients;
 
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.ToString;
 import lombok.experimental.FieldDefaults;
 import org.apache.commons.lang3.EnumUtils;
@@ -11,6 +12,7 @@ import org.apache.commons.lang3.EnumUtils;
  */
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @ToString
+@Getter
 public class JuridicalPerson extends Client {
 
     CompanyType companyType;
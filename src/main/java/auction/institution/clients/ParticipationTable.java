@@ -0,0 +1,145 @@
+package auction.institution.clients;
+
+import auction.institution.Auction;
+import auction.institution.AuctionHouse;
+
+import java.util.Arrays;
+
+/**
+ * The auctions a {@link Client} takes part in, keyed by the int id of the auction. For every auction the index of
+ * the client's broker in the {@link AuctionHouse} and the active flag are packed in a single {@code int}
+ * ({@code brokerIndex << 1 | active}), next to the auction id in two parallel arrays. A client rarely takes part in
+ * more than a handful of auctions at once, so a lookup is a scan of a few array slots and nothing is boxed.
+ * <p>
+ *     The table is not thread-safe, the {@link Client} owning it guards it with its monitor and only hands out
+ *     copies of it.
+ * </p>
+ */
+public final class ParticipationTable {
+
+    /**
+     * Shared by every client that takes part in no auction
+     */
+    static final ParticipationTable EMPTY = new ParticipationTable(0);
+
+    private static final int INITIAL_CAPACITY = 2;
+
+    private int[] auctionIds;
+
+    private int[] states;
+
+    private int size;
+
+    ParticipationTable() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private ParticipationTable(int capacity) {
+        this.auctionIds = new int[capacity];
+        this.states = new int[capacity];
+    }
+
+    /**
+     * @return a table with the same auctions, that does not change with this one
+     */
+    ParticipationTable copy() {
+        ParticipationTable copy = new ParticipationTable(Math.max(size, INITIAL_CAPACITY));
+        System.arraycopy(auctionIds, 0, copy.auctionIds, 0, size);
+        System.arraycopy(states, 0, copy.states, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Add the auction, or replace the broker and the active flag if the client is already in it
+     * @param auctionId id of the auction
+     * @param brokerIndex index of the broker in the broker list of the {@link AuctionHouse}
+     * @param isActive true if the client bids from the command line in this auction
+     */
+    void put(int auctionId, int brokerIndex, boolean isActive) {
+        int state = brokerIndex << 1 | (isActive ? 1 : 0);
+        int slot = slotOf(auctionId);
+        if (slot >= 0) {
+            states[slot] = state;
+            return;
+        }
+        if (size == auctionIds.length) {
+            auctionIds = Arrays.copyOf(auctionIds, size << 1);
+            states = Arrays.copyOf(states, size << 1);
+        }
+        auctionIds[size] = auctionId;
+        states[size] = state;
+        size++;
+    }
+
+    /**
+     * @param auctionId id of the auction
+     * @return true if the auction was in the table
+     */
+    boolean remove(int auctionId) {
+        int slot = slotOf(auctionId);
+        if (slot < 0)
+            return false;
+        // the order of the auctions does not matter, the last one fills the hole
+        size--;
+        auctionIds[slot] = auctionIds[size];
+        states[slot] = states[size];
+        return true;
+    }
+
+    /**
+     * @param auctionId id of the auction
+     * @return index of the client's broker in this auction, -1 if the client is not in it
+     */
+    int brokerIndexOf(int auctionId) {
+        int slot = slotOf(auctionId);
+        return slot < 0 ? -1 : states[slot] >>> 1;
+    }
+
+    /**
+     * @param auctionId id of the auction
+     * @return true if the client is active in this auction, false if passive or not in it
+     */
+    boolean isActive(int auctionId) {
+        int slot = slotOf(auctionId);
+        return slot >= 0 && (states[slot] & 1) != 0;
+    }
+
+    public boolean containsKey(int auctionId) {
+        return slotOf(auctionId) >= 0;
+    }
+
+    public boolean containsKey(Auction auction) {
+        return containsKey(auction.getId());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the auction ids with the client's broker and state, e.g. "{12 -> broker 3 (active)}"
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                builder.append(", ");
+            builder.append(auctionIds[i]).append(" -> broker ").append(states[i] >>> 1)
+                    .append((states[i] & 1) != 0 ? " (active)" : " (passive)");
+        }
+        return builder.append('}').toString();
+    }
+
+    private int slotOf(int auctionId) {
+        for (int i = 0; i < size; i++)
+            if (auctionIds[i] == auctionId)
+                return i;
+        return -1;
+    }
+}
@@ -1,6 +1,7 @@
 package auction.institution.employee;
 
 import auction.institution.AuctionHouse;
+import auction.institution.engine.EngineConfig;
 import auction.storage.Product;
 import gui.ProductDeposit;
 import gui.StartWindow;
@@ -17,7 +18,7 @@ import lombok.experimental.FieldDefaults;
  * every time a new one is added (this is even simulated with a {@code Thread.sleep()} call, making
  * the user think that the products are manually grabbed from the deposit to the actual store)
  * The addition of products is done with the producer-consumer design pattern, the administrator
- * being the producer.
+ * being the producer. In headless mode there is no GUI panel to wait for, products are added at full speed.
  */
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Administrator {
@@ -56,8 +57,14 @@ public class Administrator {
      */
     @SneakyThrows
     public synchronized void addProduct(Product product) {
+        if (EngineConfig.HEADLESS) {
+            addProductToDeposit(product);
+            return;
+        }
+
         ProductDeposit productDeposit = StartWindow.getInstance().getProductDeposit();
-        addProductToDeposit(product);
+        if (!addProductToDeposit(product)) // a duplicate id, not shown either
+            return;
 
         synchronized (productDeposit) {
             productDeposit.setProductToAdd(product);
@@ -77,14 +84,10 @@ public class Administrator {
     /**
      * Adds a product to the list of products from {@link AuctionHouse}
      * @param product the product to add
+     * @return false if there already is a product with the same id, see {@link AuctionHouse#addNewProduct}
      */
-    public void addProductToDeposit(Product product) {
-        AuctionHouse auctionHouse = AuctionHouse.getInstance();
-        auctionHouse.lockProductList();
-
-        auctionHouse.addNewProduct(product);
-
-        auctionHouse.unlockProductList();
+    public boolean addProductToDeposit(Product product) {
+        return AuctionHouse.getInstance().addNewProduct(product);
     }
 
 }
@@ -5,23 +5,27 @@ import auction.institution.AuctionHouse;
 import auction.institution.clients.Client;
 import auction.institution.clients.JuridicalPerson;
 import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.broker.assignment.BrokerAssignmentPolicy;
 import auction.storage.Product;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A broker is an employee of the {@link AuctionHouse}, it has options to request
  * the associated client of an auction for their bets, the broker also keeps commission
  * from the winner and increases his capital value.
- * The brokers can remove product from the product list in {@link AuctionHouse}, it will
- * use the consumer design pattern for removing products from that list, acquiring a lock from
- * the auction house, removing the product and releasing the lock
+ * The brokers can remove product from the product inventory in {@link AuctionHouse}, only the
+ * stripe of the inventory holding the product is locked while it is removed
  */
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @ToString
@@ -30,43 +34,127 @@ public class Broker implements IBroker {
     @Getter
     String name;
 
+    /**
+     * Position of the broker in the broker list of the {@link AuctionHouse}, -1 until the auction house hires it.
+     * The clients remember their broker in an auction by this index
+     */
     @Getter
-    List<Client> clientList;
+    @Setter
+    @NonFinal
+    @ToString.Exclude
+    int index;
+
+    /**
+     * Clients the broker represents right now, with the number of auctions it represents each of them in.
+     * Guarded by the broker's monitor, a client is counted once per auction and released by the auction
+     */
+    @ToString.Exclude
+    Map<Client, Integer> clients;
 
+    /**
+     * Number of (client, auction) pairs the broker represents right now, the load seen by the
+     * {@link BrokerAssignmentPolicy}
+     */
+    @ToString.Exclude
+    AtomicInteger nrActiveClients;
+
+    /**
+     * Commissions kept by the broker, at the start the broker has no money
+     */
     @Getter
-    @NonFinal
-    Double brokerMoney;
+    @ToString.Exclude
+    CommissionLedger commissionLedger;
 
     public Broker(String name) {
         this.name = name;
-        this.clientList = new ArrayList<>();
-        brokerMoney = 0d; // at the start the broker has no money
+        this.index = -1;
+        this.clients = new IdentityHashMap<>();
+        this.nrActiveClients = new AtomicInteger();
+        this.commissionLedger = new CommissionLedger();
+    }
+
+    /**
+     * Start representing a client in one more auction, called by the {@link BrokerAssignmentPolicy}
+     * @param client the client
+     */
+    public synchronized void assignClient(Client client) {
+        clients.merge(client, 1, Integer::sum);
+        nrActiveClients.incrementAndGet();
+    }
+
+    /**
+     * Stop representing a client in one of its auctions, called by the {@link BrokerAssignmentPolicy}
+     * @param client the client
+     */
+    public synchronized void releaseClient(Client client) {
+        Integer count = clients.get(client);
+        if (count == null) // not represented, nothing to release
+            return;
+        if (count == 1)
+            clients.remove(client);
+        else
+            clients.put(client, count - 1);
+        nrActiveClients.decrementAndGet();
+    }
+
+    /**
+     * @return the clients the broker represents right now, each of them once
+     */
+    @ToString.Include(name = "clientList")
+    public synchronized List<Client> getClientList() {
+        return new ArrayList<>(clients.keySet());
+    }
+
+    /**
+     * @return the number of auctions the broker represents a client in right now, summed over its clients
+     */
+    public int getNrActiveClients() {
+        return nrActiveClients.get();
+    }
+
+    /**
+     * @return the money gained from commissions so far, in dollars
+     */
+    @ToString.Include(name = "brokerMoney")
+    public double getBrokerMoney() {
+        return commissionLedger.snapshot().getBalance();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public int requestClientForBid(Auction auction, Client client, int minimumBid, int... constrains) {
-        return client.placeBid(auction, minimumBid, constrains);
+    public int requestClientForBid(Auction auction, Client client, boolean isActive, int minimumBid,
+                                   int... constrains) {
+        return client.placeBid(auction, isActive, minimumBid, constrains);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized int keepCommission(int bid, Client client) {
+    public int keepCommission(int bid, Client client, Product product) {
+        long commissionCents = commissionLedger.record(product == null ? -1 : product.getId(), client.getId(),
+                bid, commissionRate(client));
+        return (int) ((bid * 100L - commissionCents) / 100);
+    }
+
+    /**
+     * @param client the winner client
+     * @return the commission rate for this client, in basis points
+     */
+    private int commissionRate(Client client) {
         if (client instanceof JuridicalPerson) {
             if (client.getNrOfAuctionsInvolved() > 25)
-                return keepCommissionCalculate(bid, 0.1);
+                return 1000;
             else
-                return keepCommissionCalculate(bid, 0.25);
+                return 2500;
         }
         else if (client instanceof PhysicalPerson) {
             if (client.getNrOfAuctionsInvolved() > 5)
-                return keepCommissionCalculate(bid, 0.15);
+                return 1500;
             else
-                return keepCommissionCalculate(bid, 0.2);
+                return 2000;
         }
         throw new IllegalStateException("Client is neither a juridical or physical person, check for bugs!");
     }
@@ -76,16 +164,6 @@ public class Broker implements IBroker {
      */
     @Override
     public void removeProduct(Product product) {
-        AuctionHouse auctionHouse = AuctionHouse.getInstance();
-        auctionHouse.lockProductList();
-
-        auctionHouse.removeProduct(product);
-
-        auctionHouse.unlockProductList();
-    }
-
-    private int keepCommissionCalculate(int bid, double commission) {
-        brokerMoney += commission * bid;
-        return (int) ((1 - commission) * bid);
+        AuctionHouse.getInstance().removeProduct(product);
     }
 }
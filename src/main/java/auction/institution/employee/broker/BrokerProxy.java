@@ -28,10 +28,12 @@ public class BrokerProxy implements IBroker {
      * {@inheritDoc}
      */
     @Override
-    public int requestClientForBid(Auction auction, Client client, int minimumBid, int... constrains) {
-        int rawBid = broker.requestClientForBid(auction, client, minimumBid, constrains);
-        auction.getAuctionFrame().logAuctionInfo("Broker " + broker.getName() + " has received a bid of " +
-                rawBid + " dollars from " + client.getName());
+    public int requestClientForBid(Auction auction, Client client, boolean isActive, int minimumBid,
+                                   int... constrains) {
+        int rawBid = broker.requestClientForBid(auction, client, isActive, minimumBid, constrains);
+        if (auction.getAuctionView().isLogging()) // called for every bid, only build the message for a reader
+            auction.getAuctionView().logAuctionInfo("Broker " + broker.getName() + " has received a bid of " +
+                    rawBid + " dollars from " + client.getName());
         return rawBid;
     }
 
@@ -39,9 +41,9 @@ public class BrokerProxy implements IBroker {
      * {@inheritDoc}
      */
     @Override
-    public int keepCommission(int bid, Client client) {
-        int commissionedBid = broker.keepCommission(bid, client);
-        auction.getAuctionFrame().logAuctionInfo("Broker " + broker.getName() + " has kept " +
+    public int keepCommission(int bid, Client client, Product product) {
+        int commissionedBid = broker.keepCommission(bid, client, product);
+        auction.getAuctionView().logAuctionInfo("Broker " + broker.getName() + " has kept " +
                 (bid - commissionedBid) + " dollars from " + client.getName() + "'s bid");
         return commissionedBid;
     }
@@ -0,0 +1,28 @@
+package auction.institution.employee.broker;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The commission a {@link Broker} has kept from one sale, amounts are in cents
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Getter
+@ToString
+public class CommissionEntry {
+
+    /**
+     * Id of the sold product, -1 if unknown
+     */
+    int productId;
+
+    int clientId;
+
+    long bidCents;
+
+    long commissionCents;
+}
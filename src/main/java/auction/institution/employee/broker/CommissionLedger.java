@@ -0,0 +1,181 @@
+package auction.institution.employee.broker;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The commissions kept by a {@link Broker}, as fixed-point amounts in cents.
+ * <p>
+ *     The balance and the number of sales are striped accumulators ({@link LongAdder}), so brokers settling many
+ *     auctions at once don't fight over a single lock or field, and every sale is also kept as a
+ *     {@link CommissionEntry} so the balance can be reconciled. Recording a sale takes no lock at all, the
+ *     snapshots are made consistent the way a sequence lock is: a sale counts itself as started before it changes
+ *     anything and as finished once it is done, both on striped counters, and a snapshot is retried until no sale
+ *     has been in progress while it was read. Its balance, number of sales and entries then cover exactly the
+ *     same sales. Recording never waits for a snapshot, a snapshot waits for the sales being recorded.
+ *     The opening balance is kept apart from the sales, so the ledger can be saved along with its entries.
+ * </p>
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class CommissionLedger {
+
+    /**
+     * Commission rates are given in basis points, 1/100 of a percent
+     */
+    public static final int BASIS_POINTS = 10_000;
+
+    LongAdder balanceCents = new LongAdder();
+
+    LongAdder nrSales = new LongAdder();
+
+    ConcurrentLinkedQueue<CommissionEntry> entries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Changes started, counted before the change
+     */
+    LongAdder nrStarted = new LongAdder();
+
+    /**
+     * Changes finished, counted after the change
+     */
+    LongAdder nrFinished = new LongAdder();
+
+    /**
+     * Balance kept before the entries of this ledger, in cents
+     */
+    AtomicLong openingBalanceCents = new AtomicLong();
+
+    /**
+     * Keep the commission from a sale
+     * @param productId id of the sold product
+     * @param clientId id of the winner
+     * @param bid winning bid, in dollars
+     * @param rateBasisPoints commission rate, e.g. 1500 for 15%
+     * @return the commission, in cents
+     */
+    public long record(int productId, int clientId, int bid, int rateBasisPoints) {
+        long bidCents = bid * 100L;
+        long commissionCents = bidCents * rateBasisPoints / BASIS_POINTS;
+        add(new CommissionEntry(productId, clientId, bidCents, commissionCents));
+        return commissionCents;
+    }
+
+    /**
+     * Start the ledger from a known balance, when the state of the auction house is restored
+     * @param openingBalanceCents balance kept before the entries of this ledger
+     */
+    public void restoreOpeningBalance(long openingBalanceCents) {
+        nrStarted.increment();
+        this.openingBalanceCents.addAndGet(openingBalanceCents);
+        balanceCents.add(openingBalanceCents);
+        nrFinished.increment();
+    }
+
+    /**
+     * @return balance kept before the entries of this ledger, in cents, 0 unless one was restored
+     */
+    public long getOpeningBalanceCents() {
+        return openingBalanceCents.get();
+    }
+
+    /**
+     * Put back a sale recorded before the state of the auction house was saved
+     * @param entry the restored sale
+     */
+    public void restoreEntry(CommissionEntry entry) {
+        add(entry);
+    }
+
+    private void add(CommissionEntry entry) {
+        nrStarted.increment();
+        balanceCents.add(entry.getCommissionCents());
+        nrSales.increment();
+        entries.add(entry);
+        nrFinished.increment();
+    }
+
+    /**
+     * @return balance and number of sales of the sales recorded so far, without the sales being recorded at the
+     *          same time (see above), the entries are not copied
+     */
+    public Snapshot snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * @return balance, number of sales and entries of the same sales, the ones recorded so far
+     */
+    public Snapshot snapshotWithEntries() {
+        return snapshot(true);
+    }
+
+    private Snapshot snapshot(boolean withEntries) {
+        while (true) {
+            long finished = nrFinished.sum();
+            long balance = balanceCents.sum();
+            long sales = nrSales.sum();
+            List<CommissionEntry> copied = withEntries ? new ArrayList<>(entries) : null;
+            // every change seen above started before this sum, so it has finished unless the sums differ
+            if (nrStarted.sum() == finished)
+                return new Snapshot(balance, sales, copied);
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * @return the commission of every sale, in the order they were recorded
+     */
+    public List<CommissionEntry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * @return difference between the balance and the sum of the recorded entries, in cents, it is the opening
+     *          balance if one was restored and 0 otherwise
+     */
+    public long reconcile() {
+        Snapshot snapshot = snapshotWithEntries();
+        long sum = 0;
+        for (CommissionEntry entry : snapshot.getEntries())
+            sum += entry.getCommissionCents();
+        return snapshot.getBalanceCents() - sum;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(snapshot().getBalance());
+    }
+
+    /**
+     * Balance of a ledger at a given moment
+     */
+    @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+    @AllArgsConstructor
+    @Getter
+    public static class Snapshot {
+
+        long balanceCents;
+
+        long nrSales;
+
+        /**
+         * Commission of every sale counted, <strong>null</strong> unless taken by {@link #snapshotWithEntries()}
+         */
+        List<CommissionEntry> entries;
+
+        /**
+         * @return the balance in dollars
+         */
+        public double getBalance() {
+            return balanceCents / 100d;
+        }
+    }
+}
@@ -11,23 +11,24 @@ public interface IBroker {
      * Request a client for his bid
      * @param auction auction the client will bid in
      * @param client the client that will bid
+     * @param isActive true if the client is active in the auction
      * @param minimumBid the minimum bid required
      * @param constrains the additional bounds set to the bid
      * @return the bid
      */
-    int requestClientForBid(Auction auction, Client client, int minimumBid, int... constrains);
+    int requestClientForBid(Auction auction, Client client, boolean isActive, int minimumBid, int... constrains);
 
     /**
      * The broker will keep a commission from the the winner client's bid
      * @param bid the winner's bid
      * @param client the winner client
+     * @param product the sold product
      * @return the actual value of the bid, after the broker takes the cut
      */
-    int keepCommission(int bid, Client client);
+    int keepCommission(int bid, Client client, Product product);
 
     /**
-     * Using the consumer problem, it will erase a product form the product list in
-     * {@link AuctionHouse}, locking and unlocking a {@link java.util.concurrent.locks.ReentrantLock}
+     * It will erase a product form the product inventory in {@link AuctionHouse}
      * @param product the product to be removed
      */
     void removeProduct(Product product);
@@ -0,0 +1,43 @@
+package auction.institution.employee.broker.assignment;
+
+/**
+ * Possible ways of assigning brokers to the clients of an auction, selected with the
+ * {@code auction.brokers.assignment} system property
+ */
+public enum BrokerAssignmentMode {
+
+    /**
+     * Any broker, picked uniformly at random whatever its load
+     */
+    RANDOM,
+
+    /**
+     * The broker representing the fewest clients, kept at the top of a heap
+     */
+    LEAST_LOADED,
+
+    /**
+     * The less loaded of two brokers picked at random
+     */
+    POWER_OF_TWO_CHOICES;
+
+    /**
+     * @param property value of the system property, case insensitive
+     * @return the matching mode
+     * @throws IllegalArgumentException if there is no mode with this name
+     */
+    public static BrokerAssignmentMode fromProperty(String property) {
+        return valueOf(property.trim().toUpperCase());
+    }
+
+    /**
+     * @return a new policy assigning brokers in this mode
+     */
+    public BrokerAssignmentPolicy createPolicy() {
+        return switch (this) {
+            case RANDOM -> new RandomAssignment();
+            case LEAST_LOADED -> new LeastLoadedAssignment();
+            case POWER_OF_TWO_CHOICES -> new PowerOfTwoChoicesAssignment();
+        };
+    }
+}
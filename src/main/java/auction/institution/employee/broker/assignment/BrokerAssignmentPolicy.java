@@ -0,0 +1,32 @@
+package auction.institution.employee.broker.assignment;
+
+import auction.institution.Auction;
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+
+import java.util.List;
+
+/**
+ * Picks the {@link Broker} representing a client in an {@link Auction}. The policy counts the client in the load
+ * of the broker it picks, the auction hands the client back with {@link #release(Broker, Client)} once the client
+ * is disqualified or the auction has ended, so the load of a broker is the number of clients it represents right now.
+ * Implementations are thread-safe, see {@link BrokerAssignmentMode} for the available ones.
+ */
+public interface BrokerAssignmentPolicy {
+
+    /**
+     * Pick a broker for the client and count the client in its load
+     * @param brokers brokers of the auction house, only ever appended to
+     * @param client client enrolling in an auction
+     * @return the broker now representing the client
+     * @throws IllegalStateException if there is no broker
+     */
+    Broker assign(List<Broker> brokers, Client client);
+
+    /**
+     * The broker does not represent the client in one of its auctions anymore
+     * @param broker broker picked by {@link #assign(List, Client)}
+     * @param client the client it represented
+     */
+    void release(Broker broker, Client client);
+}
@@ -0,0 +1,99 @@
+package auction.institution.employee.broker.assignment;
+
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns the broker representing the fewest clients. The brokers are kept in a binary min-heap ordered by
+ * their load, with the position of every broker indexed so a released client moves its broker up the heap
+ * in {@code O(log n)} instead of rebuilding it. Brokers joining the auction house are added to the heap
+ * the next time a client is assigned.
+ */
+public class LeastLoadedAssignment implements BrokerAssignmentPolicy {
+
+    private Broker[] heap = new Broker[16];
+
+    private int size;
+
+    /**
+     * Index of every broker of the heap in {@link #heap}
+     */
+    private final Map<Broker, Integer> positions = new IdentityHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Broker assign(List<Broker> brokers, Client client) {
+        if (size < brokers.size())
+            track(brokers);
+        if (size == 0)
+            throw new IllegalStateException("There is no broker to represent client " + client.getId());
+        Broker broker = heap[0];
+        broker.assignClient(client);
+        siftDown(0);
+        return broker;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void release(Broker broker, Client client) {
+        broker.releaseClient(client);
+        Integer position = positions.get(broker);
+        if (position != null)
+            siftUp(position);
+    }
+
+    /**
+     * Add the brokers that are not in the heap yet
+     */
+    private void track(List<Broker> brokers) {
+        for (Broker broker : brokers) {
+            if (positions.containsKey(broker))
+                continue;
+            if (size == heap.length)
+                heap = Arrays.copyOf(heap, size << 1);
+            place(broker, size++);
+            siftUp(size - 1);
+        }
+    }
+
+    private void siftUp(int index) {
+        Broker broker = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].getNrActiveClients() <= broker.getNrActiveClients())
+                break;
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(broker, index);
+    }
+
+    private void siftDown(int index) {
+        Broker broker = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1].getNrActiveClients() < heap[child].getNrActiveClients())
+                child++;
+            if (broker.getNrActiveClients() <= heap[child].getNrActiveClients())
+                break;
+            place(heap[child], index);
+            index = child;
+        }
+        place(broker, index);
+    }
+
+    private void place(Broker broker, int index) {
+        heap[index] = broker;
+        positions.put(broker, index);
+    }
+}
@@ -0,0 +1,45 @@
+package auction.institution.employee.broker.assignment;
+
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Assigns the less loaded of two brokers picked at random. Without any lock or shared structure the
+ * maximum load stays within {@code O(log log n)} of the average, where picking a single random broker
+ * lets it drift to {@code O(log n / log log n)}
+ */
+public class PowerOfTwoChoicesAssignment implements BrokerAssignmentPolicy {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Broker assign(List<Broker> brokers, Client client) {
+        int nrBrokers = brokers.size();
+        if (nrBrokers == 0)
+            throw new IllegalStateException("There is no broker to represent client " + client.getId());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(nrBrokers);
+        Broker broker = brokers.get(first);
+        if (nrBrokers > 1) {
+            // the second choice is always another broker
+            int second = random.nextInt(nrBrokers - 1);
+            Broker challenger = brokers.get(second >= first ? second + 1 : second);
+            if (challenger.getNrActiveClients() < broker.getNrActiveClients())
+                broker = challenger;
+        }
+        broker.assignClient(client);
+        return broker;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void release(Broker broker, Client client) {
+        broker.releaseClient(client);
+    }
+}
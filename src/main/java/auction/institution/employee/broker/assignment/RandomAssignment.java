@@ -0,0 +1,33 @@
+package auction.institution.employee.broker.assignment;
+
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Assigns a broker picked uniformly at random, the historical behaviour of the auction house
+ */
+public class RandomAssignment implements BrokerAssignmentPolicy {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Broker assign(List<Broker> brokers, Client client) {
+        if (brokers.isEmpty())
+            throw new IllegalStateException("There is no broker to represent client " + client.getId());
+        Broker broker = brokers.get(ThreadLocalRandom.current().nextInt(brokers.size()));
+        broker.assignClient(client);
+        return broker;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void release(Broker broker, Client client) {
+        broker.releaseClient(client);
+    }
+}
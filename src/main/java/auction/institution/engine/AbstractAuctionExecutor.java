@@ -0,0 +1,69 @@
+package auction.institution.engine;
+
+import auction.institution.Auction;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the counters of the auctions in each stage, the concrete executors only decide on which
+ * thread the bidding process runs
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public abstract class AbstractAuctionExecutor implements AuctionExecutor {
+
+    AtomicInteger waiting = new AtomicInteger();
+
+    AtomicInteger queued = new AtomicInteger();
+
+    AtomicInteger running = new AtomicInteger();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void register(Auction auction) {
+        waiting.incrementAndGet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispatch(Auction auction) {
+        waiting.decrementAndGet();
+        resume(auction);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resume(Auction auction) {
+        queued.incrementAndGet();
+        execute(() -> {
+            queued.decrementAndGet();
+            running.incrementAndGet();
+            try {
+                auction.run();
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EngineStatistics getStatistics() {
+        return new EngineStatistics(getMode(), waiting.get(), queued.get(), running.get());
+    }
+
+    /**
+     * Run the bidding process of a ready auction
+     * @param biddingProcess the bidding process, already wrapped with the counters
+     */
+    protected abstract void execute(Runnable biddingProcess);
+}
@@ -0,0 +1,113 @@
+package auction.institution.engine;
+
+import auction.institution.AuctionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared clock of the {@link AuctionType#DUTCH} auctions. A single daemon thread ticks every
+ * {@link EngineConfig#CLOCK_TICK_MILLIS} and calls every registered {@link Listener} in turn, so the descending
+ * clocks of thousands of auctions cost one thread and one timer instead of a thread each. Every auction ticks
+ * with the same period, a single list of listeners is all the wheel needs. The {@link AuctionType#CONTINUOUS}
+ * auctions waiting for bids check their idle deadline on the same ticks.
+ * <p>
+ *     Listeners are registered from any thread through a lock-free queue and moved to the list of the clock
+ *     thread on the next tick. A listener runs on the clock thread, it has to be short and must not block.
+ * </p>
+ * This class is a <strong>singleton</strong>, its thread is only started by the first auction using it.
+ */
+public class AuctionClock {
+
+    /**
+     * Gets called on every tick of the clock until it returns false
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Must not throw: a listener throwing is dropped like one returning false, it never gets another tick
+         * to hand its auction back to the engine
+         * @return true to be called again on the next tick, false to be dropped
+         */
+        boolean tick();
+    }
+
+    private final Queue<Listener> registered = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Listeners ticking, only touched by the clock thread
+     */
+    private final List<Listener> listeners = new ArrayList<>();
+
+    private volatile int nrListeners;
+
+    private AuctionClock() {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auction-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(this::tick, EngineConfig.CLOCK_TICK_MILLIS, EngineConfig.CLOCK_TICK_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Inner static class that hols the only instance of the singleton,
+     * assures thread-safe singleton implementation
+     */
+    private static class ReferenceHolder {
+        public static final AuctionClock INSTANCE = new AuctionClock();
+    }
+
+    /**
+     * Retrieve the only instance of the thread-safe singleton
+     * @return the only {@link AuctionClock} instance
+     */
+    public static AuctionClock getInstance() {
+        return ReferenceHolder.INSTANCE;
+    }
+
+    /**
+     * Call the listener on every tick from the next one on, can be called from any thread
+     * @param listener the listener
+     */
+    public void register(Listener listener) {
+        registered.add(listener);
+    }
+
+    /**
+     * @return number of listeners ticking, the ones registered since the last tick excluded
+     */
+    public int getNrListeners() {
+        return nrListeners;
+    }
+
+    private void tick() {
+        Listener listener;
+        while ((listener = registered.poll()) != null)
+            listeners.add(listener);
+
+        // the listeners staying are compacted in place and the list truncated from its end, without a view
+        int kept = 0;
+        for (int i = 0; i < listeners.size(); i++) {
+            listener = listeners.get(i);
+            boolean keep;
+            try {
+                keep = listener.tick();
+            } catch (RuntimeException e) { // one broken listener must not stop the clock of the others
+                keep = false;
+            }
+            if (keep)
+                listeners.set(kept++, listener);
+        }
+        for (int last = listeners.size() - 1; last >= kept; last--)
+            listeners.remove(last);
+        nrListeners = kept;
+    }
+}
@@ -0,0 +1,36 @@
+package auction.institution.engine;
+
+/**
+ * Possible ways of running the bidding process of the auctions, selected with the
+ * {@code auction.engine} system property
+ */
+public enum AuctionEngineMode {
+
+    /**
+     * A new platform thread for every auction, started once the auction is ready to bid
+     */
+    THREAD,
+
+    /**
+     * A fixed pool of worker threads, ready auctions queue up until a worker is free
+     */
+    BOUNDED;
+
+    /**
+     * @param property value of the system property, case insensitive
+     * @return the matching mode
+     * @throws IllegalArgumentException if there is no mode with this name
+     */
+    public static AuctionEngineMode fromProperty(String property) {
+        return valueOf(property.trim().toUpperCase());
+    }
+
+    /**
+     * @return a new executor running auctions in this mode
+     */
+    public AuctionExecutor createExecutor() {
+        if (this == THREAD)
+            return new ThreadPerAuctionExecutor();
+        return new BoundedAuctionExecutor(EngineConfig.ENGINE_THREADS);
+    }
+}
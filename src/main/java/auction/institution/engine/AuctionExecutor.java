@@ -0,0 +1,40 @@
+package auction.institution.engine;
+
+import auction.institution.Auction;
+
+/**
+ * Runs the bidding process of the auctions. An auction is registered when it is created and handed
+ * to the executor only when it becomes ready to bid (all participants have joined and the start
+ * has been requested), so an auction that waits for clients does not hold any thread.
+ */
+public interface AuctionExecutor {
+
+    /**
+     * A new auction has been created and waits for its participants
+     * @param auction the created auction
+     */
+    void register(Auction auction);
+
+    /**
+     * The auction is ready to bid, run its bidding process as soon as possible
+     * @param auction the ready auction
+     */
+    void dispatch(Auction auction);
+
+    /**
+     * An auction that gave its thread back while waiting for an event (the {@link AuctionClock} of a Dutch
+     * auction, the bid of an active client) goes on with its bidding process as soon as possible
+     * @param auction the auction, already dispatched before
+     */
+    void resume(Auction auction);
+
+    /**
+     * @return how many auctions are waiting, queued or running right now
+     */
+    EngineStatistics getStatistics();
+
+    /**
+     * @return the mode this executor implements
+     */
+    AuctionEngineMode getMode();
+}
@@ -0,0 +1,49 @@
+package auction.institution.engine;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the ready auctions on a fixed number of worker threads, the other ready auctions
+ * wait in the queue of the pool without holding a thread
+ */
+public class BoundedAuctionExecutor extends AbstractAuctionExecutor {
+
+    /**
+     * Idle workers are released after this delay, so an idle auction house holds no thread
+     */
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * @param nrThreads maximum number of auctions bidding at the same time
+     */
+    public BoundedAuctionExecutor(int nrThreads) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable ->
+                new Thread(runnable, "auction-worker-" + threadCounter.incrementAndGet());
+        this.pool = new ThreadPoolExecutor(nrThreads, nrThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void execute(Runnable biddingProcess) {
+        pool.execute(biddingProcess);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AuctionEngineMode getMode() {
+        return AuctionEngineMode.BOUNDED;
+    }
+}
@@ -0,0 +1,120 @@
+package auction.institution.engine;
+
+import auction.institution.BidInbox;
+import auction.institution.employee.broker.assignment.BrokerAssignmentMode;
+
+import java.awt.*;
+
+/**
+ * Switches for the auction engine, read once from the JVM system properties
+ * (e.g. {@code -Dauction.engine=thread -Dauction.engine.threads=16}).
+ * This class is never meant to be instantiated.
+ */
+public final class EngineConfig {
+
+    /**
+     * How the bidding process of the auctions is executed, see {@link AuctionEngineMode}
+     */
+    public static final AuctionEngineMode ENGINE_MODE =
+            AuctionEngineMode.fromProperty(System.getProperty("auction.engine", "bounded"));
+
+    /**
+     * Number of worker threads running bidding processes in {@link AuctionEngineMode#BOUNDED} mode
+     */
+    public static final int ENGINE_THREADS = Integer.getInteger("auction.engine.threads",
+            Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * How the brokers are assigned to the clients of an auction, see {@link BrokerAssignmentMode}
+     */
+    public static final BrokerAssignmentMode BROKER_ASSIGNMENT =
+            BrokerAssignmentMode.fromProperty(System.getProperty("auction.brokers.assignment", "least_loaded"));
+
+    /**
+     * Seed of the passive bids of every auction (mixed with the auction id), random when
+     * {@code auction.random.seed} is not set
+     */
+    public static final Long RANDOM_SEED = Long.getLong("auction.random.seed");
+
+    /**
+     * Settle the auctions whose clients are all passive without going through the brokers for every bid,
+     * on unless {@code auction.passive.fastpath} is false
+     */
+    public static final boolean PASSIVE_FAST_PATH =
+            Boolean.parseBoolean(System.getProperty("auction.passive.fastpath", "true"));
+
+    /**
+     * Minimum raise over the high bid of a continuous auction for a bid to be accepted
+     */
+    public static final int CONTINUOUS_BID_INCREMENT = Integer.getInteger("auction.continuous.increment", 1);
+
+    /**
+     * Time without any accepted bid after which a continuous auction closes, in milliseconds
+     */
+    public static final long CONTINUOUS_IDLE_MILLIS = Long.getLong("auction.continuous.idle.ms", 2000);
+
+    /**
+     * Period of the {@link AuctionClock} lowering the price of the Dutch auctions, in milliseconds
+     */
+    public static final long CLOCK_TICK_MILLIS = Long.getLong("auction.dutch.tick.ms", 100);
+
+    /**
+     * The clock of a Dutch auction starts at the minimum price of the product times this factor
+     */
+    public static final double DUTCH_START_FACTOR =
+            Double.parseDouble(System.getProperty("auction.dutch.start.factor", "2"));
+
+    /**
+     * Maximum number of bids waiting in the {@link BidInbox} of an auction
+     */
+    public static final int BID_INBOX_CAPACITY = Integer.getInteger("auction.bids.capacity", 64);
+
+    /**
+     * How the pending bids of an auction are merged, see {@link BidInbox.CoalescePolicy}
+     */
+    public static final BidInbox.CoalescePolicy BID_COALESCE_POLICY =
+            BidInbox.CoalescePolicy.valueOf(System.getProperty("auction.bids.coalesce", "none").trim().toUpperCase());
+
+    /**
+     * Maximum number of GUI log events waiting to be drained, the next ones are dropped
+     */
+    public static final int LOG_CAPACITY = Integer.getInteger("auction.log.capacity", 1 << 14);
+
+    /**
+     * Delay between two drains of the GUI log events, in milliseconds
+     */
+    public static final long LOG_FLUSH_MILLIS = Long.getLong("auction.log.flush.ms", 50);
+
+    /**
+     * File the auction events are journaled to, see {@link database.journal.FileAuctionJournal},
+     * <strong>null</strong> when the journal is disabled
+     */
+    public static final String JOURNAL_FILE = System.getProperty("auction.journal");
+
+    /**
+     * Maximum number of parsed commands waiting to be executed, see {@link testing.CommandPipeline}
+     */
+    public static final int COMMAND_QUEUE_CAPACITY = Integer.getInteger("auction.commands.queue", 1024);
+
+    /**
+     * Run the auction house without any swing window: the auctions get a no-op view, products are added to the
+     * store without waiting for the GUI and full auctions start bidding on their own. Detected from the
+     * environment when {@code auction.headless} is not set
+     */
+    public static final boolean HEADLESS = System.getProperty("auction.headless") != null
+            ? Boolean.getBoolean("auction.headless")
+            : GraphicsEnvironment.isHeadless();
+
+    /**
+     * Start the bidding process of an auction as soon as it is full instead of waiting for the start button,
+     * always on in headless mode unless {@code auction.autostart} says otherwise
+     */
+    public static final boolean AUTO_START = System.getProperty("auction.autostart") != null
+            ? Boolean.getBoolean("auction.autostart")
+            : HEADLESS;
+
+    /**
+     * Explicit private constructor
+     */
+    private EngineConfig() {}
+}
@@ -0,0 +1,38 @@
+package auction.institution.engine;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Snapshot of the auctions known by an {@link AuctionExecutor}
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Getter
+public class EngineStatistics {
+
+    AuctionEngineMode mode;
+
+    /**
+     * Auctions created but not yet ready to bid, they hold no thread
+     */
+    int waiting;
+
+    /**
+     * Auctions ready to bid, waiting for a free worker
+     */
+    int queued;
+
+    /**
+     * Auctions in the middle of their bidding process
+     */
+    int running;
+
+    @Override
+    public String toString() {
+        return "Auction engine " + mode.name().toLowerCase() + ": " + waiting + " waiting, " + queued +
+                " queued, " + running + " running";
+    }
+}
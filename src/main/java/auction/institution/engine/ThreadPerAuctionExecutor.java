@@ -0,0 +1,28 @@
+package auction.institution.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts a new thread for every auction once it is ready to bid, the number of threads
+ * is only bounded by the number of auctions bidding at the same time
+ */
+public class ThreadPerAuctionExecutor extends AbstractAuctionExecutor {
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void execute(Runnable biddingProcess) {
+        new Thread(biddingProcess, "auction-" + threadCounter.incrementAndGet()).start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AuctionEngineMode getMode() {
+        return AuctionEngineMode.THREAD;
+    }
+}
@@ -0,0 +1,238 @@
+package auction.institution.metrics;
+
+import auction.institution.Auction;
+import auction.institution.AuctionObserver;
+import auction.institution.clients.Client;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of the auction engine, fed as an {@link AuctionObserver} of every auction.
+ * Recording is an increment of a {@link LongAdder} or of a histogram bucket, it never locks nor allocates, so
+ * the metrics stay on even on the bidding hot path. They are published to JMX under the
+ * {@value #DOMAIN} domain and printed by the {@code list_metrics} command.
+ * This class is a <strong>singleton</strong>.
+ */
+public class AuctionMetrics implements AuctionObserver, AuctionMetricsMXBean {
+
+    public static final String DOMAIN = "auction.institution";
+
+    private final LongAdder auctionsCreated = new LongAdder();
+    private final LongAdder auctionsSettled = new LongAdder();
+    private final LongAdder auctionsUnsold = new LongAdder();
+    private final LongAdder activeBids = new LongAdder();
+    private final LongAdder passiveBids = new LongAdder();
+    private final LongAdder rejectedBids = new LongAdder();
+    private final LongAdder disqualifications = new LongAdder();
+
+    private final LatencyHistogram enrollmentTimes = new LatencyHistogram();
+    private final LatencyHistogram fillTimes = new LatencyHistogram();
+    private final LatencyHistogram stepTimes = new LatencyHistogram();
+    private final LatencyHistogram settlementTimes = new LatencyHistogram();
+    private final LatencyHistogram acceptTimes = new LatencyHistogram();
+
+    /**
+     * {@link System#nanoTime()} when counting started, for the rates
+     */
+    private volatile long sinceNanos;
+
+    private AuctionMetrics() {
+        this.sinceNanos = System.nanoTime();
+        register(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Inner static class that hols the only instance of the singleton,
+     * assures thread-safe singleton implementation
+     */
+    private static class ReferenceHolder {
+        public static final AuctionMetrics INSTANCE = new AuctionMetrics();
+    }
+
+    /**
+     * Retrieve the only instance of the thread-safe singleton
+     * @return the only {@link AuctionMetrics} instance
+     */
+    public static AuctionMetrics getInstance() {
+        return ReferenceHolder.INSTANCE;
+    }
+
+    /**
+     * Publish the counters and the histograms to the MBean server, the metrics still work without JMX if that
+     * fails, for instance when the names are already taken
+     * @param server the platform MBean server, outside the tests
+     * @return true if the metrics are published
+     */
+    boolean register(MBeanServer server) {
+        try {
+            server.registerMBean(this, new ObjectName(DOMAIN + ":type=AuctionMetrics"));
+            server.registerMBean(enrollmentTimes, latencyName("enrollment"));
+            server.registerMBean(fillTimes, latencyName("fill"));
+            server.registerMBean(stepTimes, latencyName("step"));
+            server.registerMBean(settlementTimes, latencyName("settlement"));
+            server.registerMBean(acceptTimes, latencyName("accept"));
+            return true;
+        } catch (JMException | SecurityException e) {
+            System.err.println("Auction metrics are not published to JMX: " + e);
+            return false;
+        }
+    }
+
+    private static ObjectName latencyName(String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=AuctionMetrics,latency=" + name);
+    }
+
+    @Override
+    public void auctionCreated(Auction auction) {
+        auctionsCreated.increment();
+    }
+
+    @Override
+    public void clientEnrolled(Auction auction, Client client, boolean isActive, long enrollNanos) {
+        enrollmentTimes.record(enrollNanos);
+    }
+
+    @Override
+    public void auctionFull(Auction auction, long fillNanos) {
+        fillTimes.record(fillNanos);
+    }
+
+    @Override
+    public void bidPlaced(Auction auction, Client client, int bid, boolean isActive) {
+        (isActive ? activeBids : passiveBids).increment();
+    }
+
+    @Override
+    public void bidMatched(Auction auction, boolean accepted, long acceptNanos) {
+        acceptTimes.record(acceptNanos);
+        if (!accepted)
+            rejectedBids.increment();
+    }
+
+    @Override
+    public void clientsDisqualified(Auction auction, int count) {
+        disqualifications.add(count);
+    }
+
+    @Override
+    public void stepFinished(Auction auction, int step, long stepNanos) {
+        stepTimes.record(stepNanos);
+    }
+
+    @Override
+    public void auctionFinished(Auction auction, boolean sold, long settleNanos) {
+        settlementTimes.record(settleNanos);
+        (sold ? auctionsSettled : auctionsUnsold).increment();
+    }
+
+    @Override
+    public long getAuctionsCreated() {
+        return auctionsCreated.sum();
+    }
+
+    @Override
+    public long getAuctionsSettled() {
+        return auctionsSettled.sum();
+    }
+
+    @Override
+    public long getAuctionsUnsold() {
+        return auctionsUnsold.sum();
+    }
+
+    @Override
+    public long getEnrollments() {
+        return enrollmentTimes.getCount();
+    }
+
+    @Override
+    public long getBids() {
+        return activeBids.sum() + passiveBids.sum();
+    }
+
+    @Override
+    public long getActiveBids() {
+        return activeBids.sum();
+    }
+
+    @Override
+    public long getPassiveBids() {
+        return passiveBids.sum();
+    }
+
+    @Override
+    public long getRejectedBids() {
+        return rejectedBids.sum();
+    }
+
+    @Override
+    public double getBidsPerSecond() {
+        double seconds = (System.nanoTime() - sinceNanos) / 1e9;
+        return seconds <= 0 ? 0 : getBids() / seconds;
+    }
+
+    @Override
+    public long getDisqualifications() {
+        return disqualifications.sum();
+    }
+
+    public LatencyHistogram getEnrollmentTimes() {
+        return enrollmentTimes;
+    }
+
+    public LatencyHistogram getFillTimes() {
+        return fillTimes;
+    }
+
+    public LatencyHistogram getStepTimes() {
+        return stepTimes;
+    }
+
+    public LatencyHistogram getSettlementTimes() {
+        return settlementTimes;
+    }
+
+    public LatencyHistogram getAcceptTimes() {
+        return acceptTimes;
+    }
+
+    @Override
+    public void reset() {
+        auctionsCreated.reset();
+        auctionsSettled.reset();
+        auctionsUnsold.reset();
+        activeBids.reset();
+        passiveBids.reset();
+        rejectedBids.reset();
+        disqualifications.reset();
+        enrollmentTimes.reset();
+        fillTimes.reset();
+        stepTimes.reset();
+        settlementTimes.reset();
+        acceptTimes.reset();
+        sinceNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the counters, the bid rate and the latency percentiles, one metric per line. The accept latency
+     *          is the time a bid of a continuous auction waits for the matching loop
+     */
+    @Override
+    public String toString() {
+        return String.format("Auctions: %d created, %d settled, %d unsold%n" +
+                        "Bids: %d (%d active, %d passive), %.1f bids/s, %d rejected%n" +
+                        "Disqualifications: %d%n" +
+                        "Enrollment: %s%n" +
+                        "Fill:       %s%n" +
+                        "Step:       %s%n" +
+                        "Settlement: %s%n" +
+                        "Accept:     %s",
+                getAuctionsCreated(), getAuctionsSettled(), getAuctionsUnsold(), getBids(), getActiveBids(),
+                getPassiveBids(), getBidsPerSecond(), getRejectedBids(), getDisqualifications(), enrollmentTimes,
+                fillTimes, stepTimes, settlementTimes, acceptTimes);
+    }
+}
@@ -0,0 +1,39 @@
+package auction.institution.metrics;
+
+/**
+ * JMX view of the {@link AuctionMetrics} counters, the latencies are published as separate
+ * {@link LatencyHistogramMXBean}s
+ */
+public interface AuctionMetricsMXBean {
+
+    long getAuctionsCreated();
+
+    long getAuctionsSettled();
+
+    long getAuctionsUnsold();
+
+    long getEnrollments();
+
+    long getBids();
+
+    long getActiveBids();
+
+    long getPassiveBids();
+
+    /**
+     * @return number of bids placed in continuous auctions that did not beat the high bid
+     */
+    long getRejectedBids();
+
+    /**
+     * @return average number of bids per second since the metrics were created or last reset
+     */
+    double getBidsPerSecond();
+
+    long getDisqualifications();
+
+    /**
+     * Set every counter and histogram back to zero
+     */
+    void reset();
+}
@@ -0,0 +1,21 @@
+package auction.institution.metrics;
+
+/**
+ * JMX view of a {@link LatencyHistogram}, every duration is in nanoseconds
+ */
+public interface LatencyHistogramMXBean {
+
+    long getCount();
+
+    double getMean();
+
+    long getMax();
+
+    long getP50();
+
+    long getP99();
+
+    long getP999();
+
+    void reset();
+}
@@ -0,0 +1,39 @@
+package auction.institution.order_book;
+
+import auction.storage.Product;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Units of a lot matched between a buy and a sell {@link Order}, at the price of the order that was resting in
+ * the {@link OrderBook}
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Getter
+public class Fill {
+
+    Order buyOrder;
+
+    Order sellOrder;
+
+    int price;
+
+    /**
+     * The products sold, one per unit
+     */
+    List<Product> units;
+
+    /**
+     * True if this fill is the last one of the buy order, its client is not represented by the broker anymore
+     */
+    boolean buyOrderFilled;
+
+    public int getQuantity() {
+        return units.size();
+    }
+}
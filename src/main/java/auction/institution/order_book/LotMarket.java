@@ -0,0 +1,151 @@
+package auction.institution.order_book;
+
+import auction.institution.AuctionHouse;
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+import auction.institution.engine.EngineConfig;
+import auction.institution.registry.IntRegistry;
+import auction.storage.NoSuchProductException;
+import auction.storage.Product;
+import gui.StartWindow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link OrderBook}s of the fungible lots, one for each lot type ({@link Product#getLotType()}), created with
+ * the first order of the lot. Identical products are sold here without an auction each: the auction house offers
+ * the units of a lot from its deposit, the clients bid for a number of units, and every fill is settled like the
+ * sale of an auction (journaled, commission kept by the broker of the buyer, sale price set on the product), except
+ * that the buyer wins no auction.
+ * <p>
+ *     The orders resting in the books are only kept in memory. A snapshot counts the units offered by the resting
+ *     sell orders as products of the deposit, and after a crash they are back in the deposit; the resting buy
+ *     orders are lost, along with the clients their brokers were representing, and have to be submitted again.
+ * </p>
+ */
+public class LotMarket {
+
+    private final ConcurrentMap<String, OrderBook> orderBooks = new ConcurrentHashMap<>();
+
+    /**
+     * Lot type of every unit offered so far, the units have left the deposit but can still name their lot
+     */
+    private final IntRegistry<String> offeredLotTypes = new IntRegistry<>();
+
+    public OrderBook getOrderBook(String lotType) {
+        return orderBooks.computeIfAbsent(lotType, OrderBook::new);
+    }
+
+    public Collection<OrderBook> getOrderBooks() {
+        return orderBooks.values();
+    }
+
+    /**
+     * @return products offered by the sell orders resting in every book, out of the deposit but not sold
+     */
+    public List<Product> getOfferedUnits() {
+        List<Product> offered = new ArrayList<>();
+        for (OrderBook orderBook : orderBooks.values())
+            offered.addAll(orderBook.getOfferedUnits());
+        return offered;
+    }
+
+    /**
+     * Offer units of a lot from the deposit: the products of the same lot type whose minimum price is below the
+     * asking price leave the deposit for the order book, up to the given quantity. The products reserved by an
+     * auction of their own are left alone, see {@link auction.storage.ProductInventory#removeIfAvailable(int)}
+     * @param productId id of a product of the lot
+     * @param quantity maximum number of units to offer
+     * @param price minimum price of a unit
+     * @return the fills of the sell order, already settled
+     * @throws NoSuchProductException if there is no product with this id
+     * @throws IllegalArgumentException if the product is unique, or no unit can be sold at this price
+     */
+    public List<Fill> sell(int productId, int quantity, int price) throws NoSuchProductException {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        String lotType = lotTypeOf(productId);
+        List<Product> units = new ArrayList<>();
+        for (Product product : auctionHouse.getInventory()) {
+            if (units.size() >= quantity)
+                break;
+            if (!lotType.equals(product.getLotType()) || product.getMinimumPrice() >= price)
+                continue;
+            if (auctionHouse.getInventory().removeIfAvailable(product.getId()) != null) { // not auctioned, not taken
+                offeredLotTypes.put(product.getId(), lotType);
+                units.add(product);
+            }
+        }
+        if (units.isEmpty())
+            throw new IllegalArgumentException("No unit of lot " + lotType + " in the deposit can be sold at " + price);
+
+        List<Fill> fills = getOrderBook(lotType).submit(Order.sell(units, price));
+        settle(fills);
+        return fills;
+    }
+
+    /**
+     * Buy units of a lot, the part of the order that is not filled right away rests in the order book and the
+     * client stays represented by its broker until it is filled
+     * @param client the buying client
+     * @param productId id of a product of the lot, offered or still in the deposit
+     * @param quantity number of units to buy
+     * @param price maximum price of a unit
+     * @return the fills of the buy order, already settled
+     * @throws NoSuchProductException if there is no product with this id
+     * @throws IllegalArgumentException if the product is unique, or the quantity or the price is not positive
+     */
+    public List<Fill> buy(Client client, int productId, int quantity, int price) throws NoSuchProductException {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        OrderBook orderBook = getOrderBook(lotTypeOf(productId));
+        Broker broker = auctionHouse.getBrokerAssignment().assign(auctionHouse.getBrokerList(), client);
+        List<Fill> fills;
+        try {
+            fills = orderBook.submit(Order.buy(client, broker, quantity, price));
+        } catch (IllegalArgumentException e) {
+            auctionHouse.getBrokerAssignment().release(broker, client);
+            throw e;
+        }
+        settle(fills);
+        return fills;
+    }
+
+    private String lotTypeOf(int productId) throws NoSuchProductException {
+        Product product = AuctionHouse.getInstance().getProductById(productId);
+        String lotType = product != null ? product.getLotType() : offeredLotTypes.get(productId);
+        if (product == null && lotType == null)
+            throw new NoSuchProductException("No product with id: " + productId);
+        if (lotType == null)
+            throw new IllegalArgumentException("Product " + productId + " is unique, it is not sold by lot");
+        return lotType;
+    }
+
+    /**
+     * Sell the units of every fill to the buyer, a fill is journaled at once and waits for the disk only once
+     */
+    private void settle(List<Fill> fills) {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        for (Fill fill : fills) {
+            Client client = fill.getBuyOrder().getClient();
+            Broker broker = fill.getBuyOrder().getBroker();
+            List<Product> units = fill.getUnits();
+            int[] productIds = new int[units.size()];
+            for (int i = 0; i < productIds.length; i++)
+                productIds[i] = units.get(i).getId();
+            auctionHouse.getJournal().settledUnits(productIds, client.getId(), fill.getPrice(), broker.getIndex());
+
+            for (Product unit : units) {
+                broker.keepCommission(fill.getPrice(), client, unit);
+                unit.setSalePrice((double) fill.getPrice());
+                auctionHouse.recordSale(unit);
+                if (!EngineConfig.HEADLESS)
+                    StartWindow.getInstance().getProductDeposit().removeProduct(unit);
+            }
+            if (fill.isBuyOrderFilled())
+                auctionHouse.getBrokerAssignment().release(broker, client);
+        }
+    }
+}
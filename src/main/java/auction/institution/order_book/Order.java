@@ -0,0 +1,127 @@
+package auction.institution.order_book;
+
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+import auction.storage.Product;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Limit order of an {@link OrderBook}: a buy order takes up to {@link #quantity} units at {@link #price} each at
+ * most, a sell order gives its units at {@link #price} each at least. A sell order carries the products it sells,
+ * one product per unit, and a buy order the broker representing the buying client.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Getter
+public class Order {
+
+    Side side;
+
+    int price;
+
+    int quantity;
+
+    /**
+     * Buying client, <strong>null</strong> for a sell order of the auction house
+     */
+    Client client;
+
+    /**
+     * Broker representing the buying client, <strong>null</strong> for a sell order
+     */
+    Broker broker;
+
+    /**
+     * Products still for sale, empty for a buy order
+     */
+    @Getter(AccessLevel.NONE)
+    ArrayDeque<Product> units;
+
+    /**
+     * Time priority between orders of the same price, given by the book
+     */
+    @NonFinal
+    long sequence;
+
+    @NonFinal
+    int remaining;
+
+    private Order(Side side, int price, int quantity, Client client, Broker broker, ArrayDeque<Product> units) {
+        if (price <= 0 || quantity <= 0)
+            throw new IllegalArgumentException("An order needs a positive price and quantity, got " + quantity +
+                    " units at " + price);
+        this.side = side;
+        this.price = price;
+        this.quantity = quantity;
+        this.client = client;
+        this.broker = broker;
+        this.units = units;
+        this.remaining = quantity;
+    }
+
+    /**
+     * @param client the buying client
+     * @param broker broker representing the client for this order
+     * @param quantity number of units to buy
+     * @param price maximum price of a unit
+     * @return the buy order
+     */
+    public static Order buy(Client client, Broker broker, int quantity, int price) {
+        return new Order(Side.BUY, price, quantity, client, broker, new ArrayDeque<>(0));
+    }
+
+    /**
+     * @param units the products to sell, one per unit
+     * @param price minimum price of a unit
+     * @return the sell order
+     */
+    public static Order sell(Collection<Product> units, int price) {
+        return new Order(Side.SELL, price, units.size(), null, null, new ArrayDeque<>(units));
+    }
+
+    public boolean isFilled() {
+        return remaining == 0;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * @param quantity number of units just matched
+     */
+    void fill(int quantity) {
+        remaining -= quantity;
+    }
+
+    /**
+     * @param target collection getting the products still for sale, in the order they were offered
+     */
+    void copyUnitsTo(Collection<Product> target) {
+        target.addAll(units);
+    }
+
+    /**
+     * @param quantity number of units sold by a fill of this sell order
+     * @return the products sold, in the order they were offered
+     */
+    List<Product> takeUnits(int quantity) {
+        List<Product> taken = new ArrayList<>(quantity);
+        for (int i = 0; i < quantity; i++)
+            taken.add(units.pollFirst());
+        return taken;
+    }
+
+    @Override
+    public String toString() {
+        return side.name().toLowerCase() + " " + remaining + "/" + quantity + " at " + price +
+                (client == null ? "" : " for " + client.getName());
+    }
+}
@@ -0,0 +1,139 @@
+package auction.institution.order_book;
+
+import auction.storage.Product;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Order book of one lot type, a continuous double auction between the clients buying units and the auction house
+ * selling them. Orders are matched with price-time priority: an incoming order crosses the best price levels of
+ * the other side first, and in a level the oldest order first, at the price of the resting order. An order can be
+ * filled by several orders of the other side, the part that is not matched rests in the book.
+ * <p>
+ *     A price level is a FIFO queue of orders, so matching costs one step per order crossed whatever the number
+ *     of units: a sell order of 10,000 units is taken by a single buy order of 10,000 units in one fill. The book
+ *     is guarded by its monitor, the fills are settled by the caller once the book is released.
+ * </p>
+ */
+public class OrderBook {
+
+    @Getter
+    private final String lotType;
+
+    /**
+     * Buy orders by price, the highest price first
+     */
+    private final NavigableMap<Integer, ArrayDeque<Order>> bids = new TreeMap<>(Comparator.reverseOrder());
+
+    /**
+     * Sell orders by price, the lowest price first
+     */
+    private final NavigableMap<Integer, ArrayDeque<Order>> asks = new TreeMap<>();
+
+    private long nextSequence;
+
+    private int restingBuyUnits;
+
+    private int restingSellUnits;
+
+    public OrderBook(String lotType) {
+        this.lotType = lotType;
+    }
+
+    /**
+     * Match an order against the other side of the book, the part of the order that is not matched rests in the book
+     * @param order the incoming order
+     * @return the fills, in the order they were matched
+     */
+    public synchronized List<Fill> submit(Order order) {
+        order.setSequence(nextSequence++);
+        boolean buying = order.getSide() == Side.BUY;
+        NavigableMap<Integer, ArrayDeque<Order>> opposite = buying ? asks : bids;
+        List<Fill> fills = new ArrayList<>();
+        while (!order.isFilled() && !opposite.isEmpty()) {
+            Map.Entry<Integer, ArrayDeque<Order>> best = opposite.firstEntry();
+            int price = best.getKey();
+            if (buying ? price > order.getPrice() : price < order.getPrice())
+                break; // the best price of the other side does not cross
+            ArrayDeque<Order> level = best.getValue();
+            Order resting = level.peekFirst();
+            int quantity = Math.min(order.getRemaining(), resting.getRemaining());
+            order.fill(quantity);
+            resting.fill(quantity);
+            if (buying)
+                restingSellUnits -= quantity;
+            else
+                restingBuyUnits -= quantity;
+
+            Order buyOrder = buying ? order : resting;
+            Order sellOrder = buying ? resting : order;
+            fills.add(new Fill(buyOrder, sellOrder, price, sellOrder.takeUnits(quantity), buyOrder.isFilled()));
+            if (resting.isFilled()) {
+                level.pollFirst();
+                if (level.isEmpty())
+                    opposite.pollFirstEntry();
+            }
+        }
+
+        if (!order.isFilled()) {
+            (buying ? bids : asks).computeIfAbsent(order.getPrice(), price -> new ArrayDeque<>()).addLast(order);
+            if (buying)
+                restingBuyUnits += order.getRemaining();
+            else
+                restingSellUnits += order.getRemaining();
+        }
+        return fills;
+    }
+
+    /**
+     * @return highest price of the buy orders, -1 if there is none
+     */
+    public synchronized int getBestBid() {
+        return bids.isEmpty() ? -1 : bids.firstKey();
+    }
+
+    /**
+     * @return lowest price of the sell orders, -1 if there is none
+     */
+    public synchronized int getBestAsk() {
+        return asks.isEmpty() ? -1 : asks.firstKey();
+    }
+
+    /**
+     * @return units wanted by the buy orders resting in the book
+     */
+    public synchronized int getRestingBuyUnits() {
+        return restingBuyUnits;
+    }
+
+    /**
+     * @return units offered by the sell orders resting in the book
+     */
+    public synchronized int getRestingSellUnits() {
+        return restingSellUnits;
+    }
+
+    /**
+     * @return products offered by the sell orders resting in the book, the lowest price first
+     */
+    public synchronized List<Product> getOfferedUnits() {
+        List<Product> offered = new ArrayList<>(restingSellUnits);
+        for (ArrayDeque<Order> level : asks.values())
+            for (Order order : level)
+                order.copyUnitsTo(offered);
+        return offered;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return lotType + ": " + restingBuyUnits + " units bid at " + getBestBid() + " at most, " + restingSellUnits +
+                " units asked at " + getBestAsk() + " at least";
+    }
+}
@@ -0,0 +1,26 @@
+package auction.institution.order_book;
+
+/**
+ * Side of an {@link Order} in the {@link OrderBook}
+ */
+public enum Side {
+
+    /**
+     * A client buys units of the lot
+     */
+    BUY,
+
+    /**
+     * The auction house sells units of the lot from its deposit
+     */
+    SELL;
+
+    /**
+     * @param argument name of the side, case insensitive
+     * @return the matching side
+     * @throws IllegalArgumentException if there is no side with this name
+     */
+    public static Side fromArgument(String argument) {
+        return valueOf(argument.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,288 @@
+package auction.institution.registry;
+
+import auction.institution.AuctionHouse;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent map from primitive {@code int} identifiers to objects, used by the {@link AuctionHouse} to find
+ * products, clients and auctions by their id without scanning a list.
+ * <p>
+ *     The keys are spread over a fixed number of stripes, each stripe being an open addressing table
+ *     (linear probing, keys kept in an {@code int[]}, so no key is ever boxed) guarded by its own
+ *     {@link StampedLock}. Writers lock only the stripe they change, readers don't lock at all and only
+ *     fall back to a read lock if a writer changed the stripe while they were probing it.
+ * </p>
+ *
+ * @param <V> type of the registered objects
+ */
+public class IntRegistry<V> {
+
+    private static final int DEFAULT_STRIPES = 16;
+
+    private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+    private final Stripe<V>[] stripes;
+
+    /**
+     * Number of low bits of the spread hash that select the stripe
+     */
+    private final int stripeShift;
+
+    public IntRegistry() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param concurrencyLevel estimated number of threads writing at the same time, rounded up
+     *                         to a power of two to get the number of stripes
+     */
+    public IntRegistry(int concurrencyLevel) {
+        int nrStripes = 1;
+        while (nrStripes < concurrencyLevel)
+            nrStripes <<= 1;
+        @SuppressWarnings("unchecked")
+        Stripe<V>[] stripes = (Stripe<V>[]) new Stripe<?>[nrStripes];
+        for (int i = 0; i < nrStripes; i++)
+            stripes[i] = new Stripe<>();
+        this.stripes = stripes;
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(nrStripes);
+    }
+
+    /**
+     * Get the object registered with the given id
+     * @param key unique identifier
+     * @return the object or <strong>null</strong> if nothing is registered under this id
+     */
+    public V get(int key) {
+        int hash = spread(key);
+        return stripeFor(hash).get(key, hash);
+    }
+
+    /**
+     * Register an object, replacing the one registered before under the same id
+     * @param key unique identifier
+     * @param value object to register, must not be null
+     * @return the object previously registered under this id, <strong>null</strong> if there was none
+     */
+    public V put(int key, V value) {
+        int hash = spread(key);
+        return stripeFor(hash).put(key, hash, value, false);
+    }
+
+    /**
+     * Register an object only if there is nothing registered yet under the same id
+     * @param key unique identifier
+     * @param value object to register, must not be null
+     * @return the object already registered under this id, or <strong>null</strong> if {@code value}
+     *          has been registered
+     */
+    public V putIfAbsent(int key, V value) {
+        int hash = spread(key);
+        return stripeFor(hash).put(key, hash, value, true);
+    }
+
+    /**
+     * Unregister the object with the given id
+     * @param key unique identifier
+     * @return the removed object, <strong>null</strong> if nothing was registered under this id
+     */
+    public V remove(int key) {
+        int hash = spread(key);
+        return stripeFor(hash).remove(key, hash);
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return number of registered objects, only an estimate while other threads are writing
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe<V> stripe : stripes)
+            size += stripe.size;
+        return size;
+    }
+
+    public void clear() {
+        for (Stripe<V> stripe : stripes)
+            stripe.clear();
+    }
+
+    private Stripe<V> stripeFor(int hash) {
+        return stripes[stripeShift == 32 ? 0 : hash >>> stripeShift];
+    }
+
+    /**
+     * Murmur3 finalizer, consecutive ids end up far away from each other both in the stripe selection
+     * (high bits) and in the slot selection (low bits)
+     */
+    private static int spread(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Keys and values are swapped together on resize, so an optimistic reader always sees
+     * two arrays of the same length
+     */
+    private static final class Table {
+
+        final int[] keys;
+
+        /**
+         * A null value marks an empty slot
+         */
+        final Object[] values;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+        }
+    }
+
+    private static final class Stripe<V> {
+
+        final StampedLock lock = new StampedLock();
+
+        Table table = new Table(INITIAL_STRIPE_CAPACITY);
+
+        volatile int size;
+
+        @SuppressWarnings("unchecked")
+        V get(int key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                Object value = find(table, key, hash);
+                if (lock.validate(stamp))
+                    return (V) value;
+            }
+            stamp = lock.readLock();
+            try {
+                return (V) find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V put(int key, int hash, V value, boolean onlyIfAbsent) {
+            if (value == null)
+                throw new NullPointerException("Cannot register a null value for id " + key);
+            long stamp = lock.writeLock();
+            try {
+                if ((size + 1) * 4 > table.keys.length * 3) // keep the load factor under 0.75
+                    table = resize(table);
+                int[] keys = table.keys;
+                Object[] values = table.values;
+                int mask = keys.length - 1;
+                int index = hash & mask;
+                while (values[index] != null) {
+                    if (keys[index] == key) {
+                        Object previous = values[index];
+                        if (!onlyIfAbsent)
+                            values[index] = value;
+                        return (V) previous;
+                    }
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = value;
+                size++;
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V remove(int key, int hash) {
+            long stamp = lock.writeLock();
+            try {
+                int[] keys = table.keys;
+                Object[] values = table.values;
+                int mask = keys.length - 1;
+                int index = hash & mask;
+                while (values[index] != null && keys[index] != key)
+                    index = (index + 1) & mask;
+                if (values[index] == null)
+                    return null;
+
+                Object removed = values[index];
+                // backward shift deletion, no tombstones are left behind for the readers to skip
+                int next = index;
+                while (true) {
+                    next = (next + 1) & mask;
+                    if (values[next] == null)
+                        break;
+                    int ideal = spread(keys[next]) & mask;
+                    boolean idealInBetween = index <= next
+                            ? index < ideal && ideal <= next
+                            : index < ideal || ideal <= next;
+                    if (!idealInBetween) {
+                        keys[index] = keys[next];
+                        values[index] = values[next];
+                        index = next;
+                    }
+                }
+                values[index] = null;
+                size--;
+                return (V) removed;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(INITIAL_STRIPE_CAPACITY);
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Probe the table for a key, may run concurrently with a writer so it never trusts the
+         * table to have an empty slot
+         */
+        private static Object find(Table table, int key, int hash) {
+            int[] keys = table.keys;
+            Object[] values = table.values;
+            int mask = keys.length - 1;
+            int index = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object value = values[index];
+                if (value == null)
+                    return null;
+                if (keys[index] == key)
+                    return value;
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private static Table resize(Table old) {
+            Table resized = new Table(old.keys.length << 1);
+            int mask = resized.keys.length - 1;
+            for (int i = 0; i < old.keys.length; i++) {
+                if (old.values[i] == null)
+                    continue;
+                int index = spread(old.keys[i]) & mask;
+                while (resized.values[index] != null)
+                    index = (index + 1) & mask;
+                resized.keys[index] = old.keys[i];
+                resized.values[index] = old.values[i];
+            }
+            return resized;
+        }
+    }
+}
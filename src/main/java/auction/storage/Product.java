@@ -37,6 +37,14 @@ public abstract class Product {
         return salePrice.get();
     }
 
+    /**
+     * Products of the same lot type are identical units, they can be sold in batches by the order book
+     * @return the lot type, <strong>null</strong> if the product is unique
+     */
+    public String getLotType() {
+        return null;
+    }
+
     protected Product(Integer id, String name, double minimumPrice, int year) {
         this.id = id;
         this.name = name;
@@ -0,0 +1,242 @@
+package auction.storage;
+
+import auction.institution.registry.IntRegistry;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The products available in the store's deposit, at most one product for each id.
+ * <p>
+ *     Products are found and removed by id through a striped {@link IntRegistry}, and kept in the order they
+ *     were added in a lock-free queue used only for iteration. A removed product is just marked as removed in
+ *     that queue (the iteration skips it) and the queue is purged once the removed products outnumber the
+ *     available ones, so neither adding nor removing a product ever waits for a global lock.
+ *     The iteration is weakly consistent: it never fails because of concurrent changes, and it may or may not
+ *     see the changes made after it started.
+ * </p>
+ * <p>
+ *     A product is either available, reserved by the auction selling it, or removed, and it moves between these
+ *     states with a compare-and-set on its entry: a product is reserved by a single auction at a time, and a
+ *     reserved product cannot be taken by {@link #removeIfAvailable(int)}. A reserved product is still in the
+ *     deposit, it is found and iterated like an available one.
+ * </p>
+ */
+public class ProductInventory implements Iterable<Product> {
+
+    /**
+     * The queue is not purged while it holds less removed products than this
+     */
+    private static final int MIN_PURGE_SIZE = 64;
+
+    private final IntRegistry<Entry> byId;
+
+    private final ConcurrentLinkedQueue<Entry> inOrder;
+
+    /**
+     * Removed entries still in {@link #inOrder}
+     */
+    private final AtomicInteger removedEntries;
+
+    private final AtomicBoolean purging;
+
+    public ProductInventory() {
+        this.byId = new IntRegistry<>();
+        this.inOrder = new ConcurrentLinkedQueue<>();
+        this.removedEntries = new AtomicInteger();
+        this.purging = new AtomicBoolean();
+    }
+
+    /**
+     * Add a product to the inventory
+     * @param product the product to add
+     * @return false if there already is a product with the same id, the inventory does not change then
+     */
+    public boolean add(Product product) {
+        Entry entry = new Entry(product);
+        if (byId.putIfAbsent(product.getId(), entry) != null)
+            return false;
+        inOrder.add(entry);
+        return true;
+    }
+
+    /**
+     * Remove the product with the given id, whether it is reserved or not
+     * @param id product's unique identifier
+     * @return the removed product, <strong>null</strong> if there was no product with this id
+     */
+    public Product remove(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null || Entry.STATE.getAndSet(entry, Entry.REMOVED) == Entry.REMOVED)
+            return null;
+        return unlink(id, entry);
+    }
+
+    /**
+     * Remove the product with the given id unless it is reserved by an auction
+     * @param id product's unique identifier
+     * @return the removed product, <strong>null</strong> if there was no available product with this id
+     */
+    public Product removeIfAvailable(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null || !Entry.STATE.compareAndSet(entry, Entry.AVAILABLE, Entry.REMOVED))
+            return null;
+        return unlink(id, entry);
+    }
+
+    /**
+     * Reserve the product with the given id for an auction, until it is sold or {@link #release}d
+     * @param id product's unique identifier
+     * @return the reserved product, <strong>null</strong> if there was no available product with this id
+     */
+    public Product reserve(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null || !Entry.STATE.compareAndSet(entry, Entry.AVAILABLE, Entry.RESERVED))
+            return null;
+        return entry.product;
+    }
+
+    /**
+     * Make a reserved product available again, after its auction has ended unsold
+     * @param product the reserved product
+     * @return false if the product is not reserved
+     */
+    public boolean release(Product product) {
+        Entry entry = byId.get(product.getId());
+        return entry != null && entry.product == product
+                && Entry.STATE.compareAndSet(entry, Entry.RESERVED, Entry.AVAILABLE);
+    }
+
+    /**
+     * @param id product's unique identifier
+     * @return the product with this id, available or reserved, <strong>null</strong> if there is none
+     */
+    public Product get(int id) {
+        Entry entry = byId.get(id);
+        return entry == null || entry.state == Entry.REMOVED ? null : entry.product;
+    }
+
+    public boolean contains(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * @param id product's unique identifier
+     * @return true if there is a product with this id that is not reserved by an auction
+     */
+    public boolean isAvailable(int id) {
+        Entry entry = byId.get(id);
+        return entry != null && entry.state == Entry.AVAILABLE;
+    }
+
+    /**
+     * Drop the entry of a product just marked as removed, only the thread that has marked it gets here
+     */
+    private Product unlink(int id, Entry entry) {
+        byId.remove(id);
+        if (removedEntries.incrementAndGet() > Math.max(MIN_PURGE_SIZE, byId.size()))
+            purge();
+        return entry.product;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The iteration is weakly consistent, in the order the products were added
+     */
+    @Override
+    public Iterator<Product> iterator() {
+        Iterator<Entry> entries = inOrder.iterator();
+        return new Iterator<>() {
+
+            private Product next = advance();
+
+            private Product advance() {
+                while (entries.hasNext()) {
+                    Entry entry = entries.next();
+                    if (entry.state != Entry.REMOVED)
+                        return entry.product;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Product next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                Product current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    public Stream<Product> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return a list with the products available right now, in the order they were added
+     */
+    public List<Product> snapshot() {
+        List<Product> products = new ArrayList<>(size());
+        forEach(products::add);
+        return products;
+    }
+
+    /**
+     * Drop the removed entries from the iteration queue, only one thread purges at a time
+     */
+    private void purge() {
+        if (!purging.compareAndSet(false, true))
+            return;
+        try {
+            int purged = 0;
+            for (Iterator<Entry> entries = inOrder.iterator(); entries.hasNext(); ) {
+                if (entries.next().state == Entry.REMOVED) {
+                    entries.remove();
+                    purged++;
+                }
+            }
+            removedEntries.addAndGet(-purged);
+        } finally {
+            purging.set(false);
+        }
+    }
+
+    private static final class Entry {
+
+        static final int AVAILABLE = 0;
+
+        static final int RESERVED = 1;
+
+        static final int REMOVED = 2;
+
+        static final AtomicIntegerFieldUpdater<Entry> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+        final Product product;
+
+        volatile int state;
+
+        Entry(Product product) {
+            this.product = product;
+        }
+    }
+}
@@ -18,4 +18,12 @@ public class Furniture extends Product {
     @Getter
     @Setter
     String material;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLotType() {
+        return "furniture/" + name + "/" + type + "/" + material;
+    }
 }
@@ -18,4 +18,12 @@ public class Jewelery extends Product {
     @Getter
     @Setter
     boolean valuableGem;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLotType() {
+        return "jewelery/" + name + "/" + material + (valuableGem ? "/gem" : "");
+    }
 }
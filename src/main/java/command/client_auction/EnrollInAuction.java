@@ -2,6 +2,7 @@ package command.client_auction;
 
 import auction.institution.*;
 import auction.institution.clients.Client;
+import auction.institution.engine.EngineConfig;
 import command.Command;
 import gui.StartWindow;
 import gui.ThreadPanel;
@@ -58,6 +59,8 @@ public class EnrollInAuction implements Command {
             return;
         }
 
+        if (EngineConfig.HEADLESS)
+            return;
         ThreadPanel panel = StartWindow.getInstance().getThreadPanel();
         synchronized (panel) {
             panel.setNrSubscribed(auction.getNrCurrentParticipants());
@@ -2,14 +2,19 @@ package command.client_auction;
 
 import auction.institution.Auction;
 import auction.institution.AuctionHouse;
+import auction.institution.BidInbox;
 import command.Command;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 
+import static java.lang.System.*;
+
 /**
  * Place a bid for an auction that is waiting a client to place a bid
  * first parameter - auction id to place bid in
  * second parameter - amount to bid
+ * third parameter - id of the bidding client, optional, used by the continuous auctions where any active client
+ * can bid at any time
  */
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class PlaceBid implements Command {
@@ -18,9 +23,17 @@ public class PlaceBid implements Command {
 
     int amount;
 
+    int clientId;
+
     public PlaceBid(String auctionId, String amount) {
+        this(auctionId, amount, null);
+    }
+
+    public PlaceBid(String auctionId, String amount, String clientId) {
         this.auctionId = Integer.parseInt(auctionId);
         this.amount = Integer.parseInt(amount);
+        this.clientId = clientId == null ? BidInbox.ANY_CLIENT : Integer.parseInt(clientId);
+        BidInbox.pack(this.clientId, this.amount); // rejects the client ids a bid cannot carry
     }
 
     /**
@@ -29,10 +42,8 @@ public class PlaceBid implements Command {
     @Override
     public void execute() {
         Auction auction = AuctionHouse.getInstance().getAuctionById(auctionId);
-        auction.setSumToBid(amount);
-
-        synchronized (auction) {
-            auction.notifyAll();
-        }
+        if (!auction.placeBid(clientId, amount))
+            err.println("Bid of " + amount + " for auction " + auctionId + " has been dropped, too many bids " +
+                    "are waiting (" + auction.getBidInbox() + ")");
     }
 }
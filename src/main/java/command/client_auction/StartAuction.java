@@ -2,8 +2,10 @@ package command.client_auction;
 
 import auction.institution.Auction;
 import auction.institution.AuctionHouse;
+import auction.institution.AuctionType;
 import auction.institution.clients.Client;
 import auction.storage.NoSuchProductException;
+import auction.institution.engine.EngineConfig;
 import command.Command;
 import gui.StartWindow;
 import gui.ThreadPanel;
@@ -19,7 +21,8 @@ import static java.lang.System.*;
  * third parameter - state in auction, true/false
  * fourth parameter - auction id
  * fifth parameter - clients in the auction
- * sixth parameter - max steps in auction
+ * sixth parameter - max steps in auction, the number of asking prices in a Dutch auction
+ * seventh parameter - auction type, optional: rounds (default), sealed_bid, continuous or dutch
  */
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class StartAuction implements Command {
@@ -36,14 +39,22 @@ public class StartAuction implements Command {
 
     boolean isActive;
 
+    AuctionType type;
+
     public StartAuction(String clientId, String maxBid, String isActive, String productId,
                         String nrParticipantsAuction, String nrMaxStepsAuction) {
+        this(clientId, maxBid, isActive, productId, nrParticipantsAuction, nrMaxStepsAuction, null);
+    }
+
+    public StartAuction(String clientId, String maxBid, String isActive, String productId,
+                        String nrParticipantsAuction, String nrMaxStepsAuction, String type) {
         this.clientId = Integer.parseInt(clientId);
         this.productId = Integer.parseInt(productId);
         this.nrParticipantsAuction = Integer.parseInt(nrParticipantsAuction);
         this.nrMaxStepsAuction = Integer.parseInt(nrMaxStepsAuction);
         this.maxBid = Integer.parseInt(maxBid);
         this.isActive = Boolean.parseBoolean(isActive);
+        this.type = AuctionType.fromArgument(type);
     }
 
     /**
@@ -63,13 +74,15 @@ public class StartAuction implements Command {
         Auction auction;
         try {
             auction = client.createAuctionForProduct(productId, maxBid, nrParticipantsAuction,
-                    nrMaxStepsAuction, isActive);
+                    nrMaxStepsAuction, isActive, type);
         } catch (NoSuchProductException e) {
             e.printStackTrace();
             err.println(e.getMessage());
             return;
         }
 
+        if (EngineConfig.HEADLESS)
+            return;
         ThreadPanel panel = StartWindow.getInstance().getThreadPanel();
         synchronized (panel) {
             panel.setProductId(productId);
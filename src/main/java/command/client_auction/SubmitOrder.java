@@ -0,0 +1,76 @@
+package command.client_auction;
+
+import auction.institution.AuctionHouse;
+import auction.institution.clients.Client;
+import auction.institution.order_book.Fill;
+import auction.institution.order_book.LotMarket;
+import auction.institution.order_book.Side;
+import auction.storage.NoSuchProductException;
+import command.Command;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+import static java.lang.System.*;
+
+/**
+ * Submit an order to the order book of a lot of identical products {@link Command}
+ * first parameter - side, buy or sell (the auction house offers units from its deposit)
+ * second parameter - id of a product of the lot
+ * third parameter - number of units
+ * fourth parameter - price of a unit, at most for a buy order and at least for a sell order
+ * fifth parameter - id of the buying client, only for a buy order
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class SubmitOrder implements Command {
+
+    Side side;
+
+    int productId;
+
+    int quantity;
+
+    int price;
+
+    int clientId;
+
+    public SubmitOrder(String side, String productId, String quantity, String price, String clientId) {
+        this.side = Side.fromArgument(side);
+        this.productId = Integer.parseInt(productId);
+        this.quantity = Integer.parseInt(quantity);
+        this.price = Integer.parseInt(price);
+        this.clientId = this.side == Side.BUY ? Integer.parseInt(clientId) : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        LotMarket lotMarket = AuctionHouse.getInstance().getLotMarket();
+        List<Fill> fills;
+        try {
+            if (side == Side.BUY) {
+                Client client;
+                try {
+                    client = AuctionHouse.getInstance().getClientById(clientId);
+                } catch (NullPointerException n) {
+                    err.println("Client with id " + clientId + " does not exist");
+                    return;
+                }
+                fills = lotMarket.buy(client, productId, quantity, price);
+            } else
+                fills = lotMarket.sell(productId, quantity, price);
+        } catch (NoSuchProductException | IllegalArgumentException e) {
+            err.println(e.getMessage());
+            return;
+        }
+
+        int filled = 0;
+        for (Fill fill : fills)
+            filled += fill.getQuantity();
+        out.println("Order to " + side.name().toLowerCase() + " " + quantity + " units of product " + productId +
+                " at " + price + ": " + filled + " units filled in " + fills.size() + " fills");
+    }
+}
@@ -0,0 +1,103 @@
+package command.initialize_auctionhouse;
+
+import auction.institution.AuctionHouse;
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+import auction.storage.Product;
+import command.Command;
+import database.employees.ParseBrokers;
+import database.employees.ParseClients;
+import database.products.ParseProducts;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.System.*;
+
+/**
+ * Load the products, the clients and the brokers to the store at once {@link Command}.
+ * The three files are parsed at the same time on a small pool of workers, then everything is published
+ * to the {@link AuctionHouse} in a single bulk step, without the GUI handshake of the administrator.
+ * Prints the parse time and the number of rows of every file.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class LoadAll implements Command {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        AtomicInteger nrWorkers = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(3, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-load-" + nrWorkers.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            long start = nanoTime();
+            Future<FileLoad<Product>> products = pool.submit(() -> FileLoad.parse(LoadProducts.FILENAME,
+                    new ParseProducts(LoadProducts.FILENAME)::readProducts));
+            Future<FileLoad<Client>> clients = pool.submit(() -> FileLoad.parse(LoadClients.FILENAME,
+                    new ParseClients(LoadClients.FILENAME)::readClients));
+            Future<FileLoad<Broker>> brokers = pool.submit(() -> FileLoad.parse(LoadBrokers.FILENAME,
+                    new ParseBrokers(LoadBrokers.FILENAME)::readBrokers));
+
+            FileLoad<Product> loadedProducts = products.get();
+            FileLoad<Client> loadedClients = clients.get();
+            FileLoad<Broker> loadedBrokers = brokers.get();
+
+            long publishStart = nanoTime();
+            AuctionHouse.getInstance().publishBulk(loadedProducts.rows, loadedClients.rows, loadedBrokers.rows);
+            long end = nanoTime();
+
+            out.println(loadedProducts);
+            out.println(loadedClients);
+            out.println(loadedBrokers);
+            out.printf("Published in %.3f ms, bulk load took %.3f ms%n",
+                    (end - publishStart) / 1e6, (end - start) / 1e6);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            err.println("Bulk load interrupted");
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            err.println("Bulk load failed, nothing has been published: " + e.getCause().getMessage());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Rows parsed from one file and how long the parsing took
+     * @param <T> type of the rows
+     */
+    private static final class FileLoad<T> {
+
+        final String filename;
+
+        final List<T> rows;
+
+        final long parseNanos;
+
+        private FileLoad(String filename, List<T> rows, long parseNanos) {
+            this.filename = filename;
+            this.rows = rows;
+            this.parseNanos = parseNanos;
+        }
+
+        static <T> FileLoad<T> parse(String filename, Callable<List<T>> parser) throws Exception {
+            long start = nanoTime();
+            List<T> rows = parser.call();
+            return new FileLoad<>(filename, rows, nanoTime() - start);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Parsed %d rows from %s in %.3f ms", rows.size(), filename, parseNanos / 1e6);
+        }
+    }
+}
@@ -2,14 +2,11 @@ package command.initialize_auctionhouse;
 
 import auction.institution.AuctionHouse;
 import auction.institution.employee.Administrator;
-import auction.storage.Product;
 import command.Command;
 import database.products.ParseProducts;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 
-import java.util.List;
-
 /**
  * Load the products to the store {@link Command}
  */
@@ -26,8 +23,7 @@ public class LoadProducts implements Command {
         Administrator administrator = AuctionHouse.getInstance().getAdministrator();
         ParseProducts parser = new ParseProducts(FILENAME);
 
-        List<Product> products = parser.readProducts();
-
-        products.forEach(administrator::addProduct);
+        // products go to the store while the file is still being parsed
+        parser.streamProducts(administrator::addProduct);
     }
 }
@@ -0,0 +1,40 @@
+package command.initialize_auctionhouse;
+
+import auction.institution.AuctionHouse;
+import command.Command;
+import database.journal.JournalReplayer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.io.IOException;
+
+import static java.lang.System.*;
+
+/**
+ * Rebuild the state of the store by replaying a journal of auction events {@link Command},
+ * run after the products, clients and brokers have been loaded
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class RecoverJournal implements Command {
+
+    String filename;
+
+    public RecoverJournal(String filename) {
+        this.filename = filename;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        long start = nanoTime();
+        try {
+            JournalReplayer.Report report = new JournalReplayer(filename).replay(AuctionHouse.getInstance());
+            out.printf("%s in %.3f ms%n", report, (nanoTime() - start) / 1e6);
+        } catch (IOException e) {
+            e.printStackTrace();
+            err.println("Cannot replay journal " + filename + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package command.print_info;
+
+import auction.institution.AuctionHouse;
+import command.Command;
+
+import static java.lang.System.*;
+
+/**
+ * Prints how many auctions of the {@link AuctionHouse} are waiting for clients, queued for a
+ * worker of the auction engine or running their bidding process {@link Command}
+ */
+public class ListAuctionEngine implements Command {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        out.println(AuctionHouse.getInstance().getAuctionExecutor().getStatistics());
+    }
+}
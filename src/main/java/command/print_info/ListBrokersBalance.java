@@ -2,13 +2,15 @@ package command.print_info;
 
 import auction.institution.AuctionHouse;
 import auction.institution.employee.broker.Broker;
+import auction.institution.employee.broker.CommissionLedger;
 import command.Command;
 
 import static java.lang.System.*;
 
 /**
  * Prints the brokers of the {@link AuctionHouse} balance, how much money they
- * gained from the fees of auction winners {@link Command}
+ * gained from the fees of auction winners {@link Command}, each balance is a consistent snapshot
+ * of the broker's {@link CommissionLedger}
  */
 public class ListBrokersBalance implements Command {
 
@@ -17,6 +19,7 @@ public class ListBrokersBalance implements Command {
      */
     @Override
     public void execute() {
-        AuctionHouse.getInstance().getBrokerList().stream().map(Broker::getBrokerMoney).forEach(out::println);
+        AuctionHouse.getInstance().getBrokerList().stream().map(Broker::getCommissionLedger)
+                .map(CommissionLedger::snapshot).forEach(snapshot -> out.println(snapshot.getBalance()));
     }
 }
@@ -0,0 +1,20 @@
+package command.print_info;
+
+import command.Command;
+import testing.CommandTimings;
+
+import static java.lang.System.*;
+
+/**
+ * Prints how long the commands of each verb took to be parsed and executed so far {@link Command}
+ */
+public class ListCommandTimings implements Command {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        out.println(CommandTimings.getInstance());
+    }
+}
@@ -0,0 +1,22 @@
+package command.print_info;
+
+import auction.institution.AuctionHouse;
+import command.Command;
+import database.journal.JournalStatistics;
+
+import static java.lang.System.*;
+
+/**
+ * Prints the group commit statistics of the journal of auction events {@link Command}
+ */
+public class ListJournal implements Command {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        JournalStatistics statistics = AuctionHouse.getInstance().getJournal().getStatistics();
+        out.println(statistics == null ? "Journal disabled, set auction.journal to enable it" : statistics);
+    }
+}
@@ -0,0 +1,48 @@
+package command.print_info;
+
+import auction.institution.engine.EngineConfig;
+import auction.institution.metrics.AuctionMetrics;
+import command.Command;
+import gui.auction.AuctionLogSink;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.io.PrintStream;
+
+/**
+ * Prints the counters and the latency percentiles of the auction engine, and the events of the auction frames
+ * when there is a GUI {@link Command}
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ListMetrics implements Command {
+
+    PrintStream out;
+
+    /**
+     * The events of the auction frames, null without a GUI
+     */
+    AuctionLogSink logSink;
+
+    public ListMetrics() {
+        this(System.out, EngineConfig.HEADLESS ? null : AuctionLogSink.getInstance());
+    }
+
+    /**
+     * @param out     where the metrics are printed
+     * @param logSink the sink of the auction frames, null if there are no frames
+     */
+    public ListMetrics(PrintStream out, AuctionLogSink logSink) {
+        this.out = out;
+        this.logSink = logSink;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        out.println(AuctionMetrics.getInstance());
+        if (logSink != null)
+            out.println(logSink);
+    }
+}
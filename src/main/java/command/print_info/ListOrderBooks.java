@@ -0,0 +1,22 @@
+package command.print_info;
+
+import auction.institution.AuctionHouse;
+import auction.institution.order_book.OrderBook;
+import command.Command;
+
+import static java.lang.System.*;
+
+/**
+ * Prints the best prices and the resting units of every order book {@link Command}
+ */
+public class ListOrderBooks implements Command {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        for (OrderBook orderBook : AuctionHouse.getInstance().getLotMarket().getOrderBooks())
+            out.println(orderBook);
+    }
+}
@@ -15,6 +15,6 @@ public class ListProducts implements Command {
      */
     @Override
     public void execute() {
-        AuctionHouse.getInstance().getProductList().forEach(out::println);
+        AuctionHouse.getInstance().getInventory().forEach(out::println);
     }
 }
@@ -0,0 +1,49 @@
+package command.snapshot;
+
+import auction.institution.AuctionHouse;
+import command.Command;
+import database.snapshot.CorruptSnapshotException;
+import database.snapshot.SnapshotContents;
+import database.snapshot.SnapshotReader;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.io.IOException;
+
+import static java.lang.System.*;
+
+/**
+ * Load the products, clients and brokers of the store from a binary snapshot file {@link Command},
+ * instead of parsing the json files. Everything is published to the store in a single bulk step.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class LoadSnapshot implements Command {
+
+    String filename;
+
+    public LoadSnapshot(String filename) {
+        this.filename = filename;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        long start = nanoTime();
+        SnapshotContents contents;
+        try {
+            contents = new SnapshotReader(filename).read();
+        } catch (IOException | CorruptSnapshotException e) {
+            e.printStackTrace();
+            err.println("Cannot load snapshot " + filename + ": " + e.getMessage());
+            return;
+        }
+
+        AuctionHouse.getInstance().publishBulk(contents.getProducts(), contents.getClients(),
+                contents.getBrokers());
+        out.printf("Loaded %d products, %d clients and %d brokers from snapshot %s in %.3f ms%n",
+                contents.getProducts().size(), contents.getClients().size(), contents.getBrokers().size(),
+                filename, (nanoTime() - start) / 1e6);
+    }
+}
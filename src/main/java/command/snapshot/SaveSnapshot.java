@@ -0,0 +1,48 @@
+package command.snapshot;
+
+import auction.institution.AuctionHouse;
+import auction.storage.Product;
+import command.Command;
+import database.snapshot.SnapshotWriter;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.io.IOException;
+import java.util.List;
+
+import static java.lang.System.*;
+
+/**
+ * Save the products, clients and brokers of the store to a binary snapshot file {@link Command}, the products
+ * sold so far are saved along with the deposit, with their sale price, and the units offered in the order books
+ * as products of the deposit
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class SaveSnapshot implements Command {
+
+    String filename;
+
+    public SaveSnapshot(String filename) {
+        this.filename = filename;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute() {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        long start = nanoTime();
+        List<Product> products = auctionHouse.getProductList();
+        products.addAll(auctionHouse.getLotMarket().getOfferedUnits()); // restored in the deposit, see LotMarket
+        products.addAll(auctionHouse.getSoldProducts());
+        try {
+            long size = new SnapshotWriter(filename).write(products, auctionHouse.getClientList(),
+                    auctionHouse.getBrokerList());
+            out.printf("Saved snapshot %s (%d bytes) in %.3f ms%n", filename, size, (nanoTime() - start) / 1e6);
+        } catch (IOException e) {
+            e.printStackTrace();
+            err.println("Cannot save snapshot " + filename + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package database.journal;
+
+/**
+ * Append-only log of what happens in the auctions, written ahead of the changes it describes so the outcome
+ * of the auctions can be replayed by the {@link JournalReplayer} after a crash.
+ * The outcomes ({@link #settled} and {@link #unsold}) return only once they are durable, the other events are
+ * made durable at the latest together with the next outcome.
+ */
+public interface AuctionJournal {
+
+    void created(int auctionId, int nrRequiredParticipants, int nrMaxSteps);
+
+    void enrolled(int auctionId, int clientId, int maxBid, boolean isActive);
+
+    void bid(int auctionId, int clientId, int bid, int step);
+
+    void stepResult(int auctionId, int clientId, int bid, int step);
+
+    /**
+     * The product of the auction is sold, returns once the record is on disk
+     */
+    void settled(int auctionId, int clientId, int bid, int brokerIndex);
+
+    /**
+     * Units of a lot are sold to the same client at the same price by the order book, one
+     * {@link JournalEventType#LOT_SOLD} record per unit. Unlike a settled auction the client wins no auction.
+     * Returns once every record is on disk, waiting only once
+     */
+    void settledUnits(int[] productIds, int clientId, int price, int brokerIndex);
+
+    /**
+     * The product of the auction is not sold, returns once the record is on disk
+     */
+    void unsold(int auctionId, int clientId, int bid);
+
+    /**
+     * @return commit statistics, <strong>null</strong> if the journal is disabled
+     */
+    JournalStatistics getStatistics();
+
+    /**
+     * Write what is still pending and close the journal
+     */
+    void close();
+}
@@ -0,0 +1,70 @@
+package database.journal;
+
+/**
+ * Journal used when no journal file is configured, every event is ignored.
+ * This class is a <strong>singleton</strong>, it holds no state.
+ */
+public final class DisabledJournal implements AuctionJournal {
+
+    private static final DisabledJournal INSTANCE = new DisabledJournal();
+
+    /**
+     * Private constructor for singleton class
+     */
+    private DisabledJournal() {
+
+    }
+
+    /**
+     * Retrieve the only instance of the singleton
+     * @return the only {@link DisabledJournal} instance
+     */
+    public static DisabledJournal getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void created(int auctionId, int nrRequiredParticipants, int nrMaxSteps) {
+
+    }
+
+    @Override
+    public void enrolled(int auctionId, int clientId, int maxBid, boolean isActive) {
+
+    }
+
+    @Override
+    public void bid(int auctionId, int clientId, int bid, int step) {
+
+    }
+
+    @Override
+    public void stepResult(int auctionId, int clientId, int bid, int step) {
+
+    }
+
+    @Override
+    public void settled(int auctionId, int clientId, int bid, int brokerIndex) {
+
+    }
+
+    @Override
+    public void settledUnits(int[] productIds, int clientId, int price, int brokerIndex) {
+
+    }
+
+    @Override
+    public void unsold(int auctionId, int clientId, int bid) {
+
+    }
+
+    @Override
+    public JournalStatistics getStatistics() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+
+    }
+}
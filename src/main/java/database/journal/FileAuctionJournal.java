@@ -0,0 +1,252 @@
+package database.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.System.*;
+
+/**
+ * Journal appending its records to a file, with group commit.
+ * <p>
+ *     The auction threads only add their records to a pending batch under a short lock. A single flusher thread
+ *     swaps the pending batch with an empty one, writes it and forces it to disk, then wakes up the threads waiting
+ *     for their outcome to be durable. While a batch is being forced the next one fills up, so the outcomes of
+ *     auctions settling at the same time share a single force to disk.
+ * </p>
+ * A torn record left at the end of the file by a crash is cut off when the journal is opened again.
+ */
+public class FileAuctionJournal implements AuctionJournal {
+
+    private static final int INITIAL_BATCH_CAPACITY = 256;
+
+    private final String filename;
+
+    private final FileChannel channel;
+
+    private final Thread flusher;
+
+    /*
+     * Fields guarded by the monitor of the journal
+     */
+    private List<JournalRecord> pending;
+    private List<JournalRecord> spare;
+    private long appendedSequence;
+    private long durableSequence;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Only used by the flusher thread
+     */
+    private ByteBuffer buffer;
+
+    private final AtomicLong nrRecords;
+    private final AtomicLong nrCommits;
+    private final AtomicLong maxBatchSize;
+    private final AtomicLong totalCommitNanos;
+    private final AtomicLong maxCommitNanos;
+    private final LongAdder nrDurableWaits;
+    private final LongAdder totalDurableWaitNanos;
+
+    /**
+     * Open the journal, the records are appended to the ones already in the file
+     * @param filename journal file name
+     * @throws IOException if the file cannot be opened
+     */
+    public FileAuctionJournal(String filename) throws IOException {
+        this.filename = filename;
+        this.channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long validBytes = JournalReplayer.validLength(channel);
+        if (validBytes < channel.size()) {
+            err.println("Journal " + filename + " ends with a torn record, cut at " + validBytes + " bytes");
+            channel.truncate(validBytes);
+        }
+        channel.position(validBytes);
+
+        this.pending = new ArrayList<>(INITIAL_BATCH_CAPACITY);
+        this.spare = new ArrayList<>(INITIAL_BATCH_CAPACITY);
+        this.buffer = ByteBuffer.allocateDirect(INITIAL_BATCH_CAPACITY * JournalRecord.SIZE);
+        this.nrRecords = new AtomicLong();
+        this.nrCommits = new AtomicLong();
+        this.maxBatchSize = new AtomicLong();
+        this.totalCommitNanos = new AtomicLong();
+        this.maxCommitNanos = new AtomicLong();
+        this.nrDurableWaits = new LongAdder();
+        this.totalDurableWaitNanos = new LongAdder();
+
+        this.flusher = new Thread(this::flushLoop, "auction-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public void created(int auctionId, int nrRequiredParticipants, int nrMaxSteps) {
+        append(new JournalRecord(JournalEventType.CREATED, auctionId, nrRequiredParticipants, nrMaxSteps, 0));
+    }
+
+    @Override
+    public void enrolled(int auctionId, int clientId, int maxBid, boolean isActive) {
+        append(new JournalRecord(JournalEventType.ENROLLED, auctionId, clientId, maxBid, isActive ? 1 : 0));
+    }
+
+    @Override
+    public void bid(int auctionId, int clientId, int bid, int step) {
+        append(new JournalRecord(JournalEventType.BID, auctionId, clientId, bid, step));
+    }
+
+    @Override
+    public void stepResult(int auctionId, int clientId, int bid, int step) {
+        append(new JournalRecord(JournalEventType.STEP_RESULT, auctionId, clientId, bid, step));
+    }
+
+    @Override
+    public void settled(int auctionId, int clientId, int bid, int brokerIndex) {
+        appendDurably(new JournalRecord(JournalEventType.SETTLED, auctionId, clientId, bid, brokerIndex));
+    }
+
+    @Override
+    public void settledUnits(int[] productIds, int clientId, int price, int brokerIndex) {
+        int last = productIds.length - 1;
+        if (last < 0)
+            return;
+        // the records are committed in order, waiting for the last one makes all of them durable
+        for (int i = 0; i < last; i++)
+            append(new JournalRecord(JournalEventType.LOT_SOLD, productIds[i], clientId, price, brokerIndex));
+        appendDurably(new JournalRecord(JournalEventType.LOT_SOLD, productIds[last], clientId, price, brokerIndex));
+    }
+
+    @Override
+    public void unsold(int auctionId, int clientId, int bid) {
+        appendDurably(new JournalRecord(JournalEventType.UNSOLD, auctionId, clientId, bid, 0));
+    }
+
+    @Override
+    public JournalStatistics getStatistics() {
+        return new JournalStatistics(nrRecords.get(), nrCommits.get(), (int) maxBatchSize.get(),
+                totalCommitNanos.get(), maxCommitNanos.get(), nrDurableWaits.sum(), totalDurableWaitNanos.sum());
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return sequence number of the record
+     * @throws IllegalStateException if the journal is closed
+     * @throws UncheckedIOException if the journal cannot be written anymore
+     */
+    private synchronized long append(JournalRecord record) {
+        if (closed)
+            throw new IllegalStateException("Journal " + filename + " is closed");
+        if (failure != null)
+            throw new UncheckedIOException("Journal " + filename + " cannot be written", failure);
+        pending.add(record);
+        if (pending.size() == 1) // the flusher may be waiting for a record
+            notifyAll();
+        return ++appendedSequence;
+    }
+
+    /**
+     * Append a record and wait until it has been forced to disk
+     */
+    private void appendDurably(JournalRecord record) {
+        long start = nanoTime();
+        boolean interrupted = false;
+        synchronized (this) {
+            long sequence = append(record);
+            while (durableSequence < sequence && failure == null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true; // the outcome has been decided, it must be durable before going on
+                }
+            }
+            if (durableSequence < sequence)
+                throw new UncheckedIOException("Journal " + filename + " cannot be written", failure);
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        nrDurableWaits.increment();
+        totalDurableWaitNanos.add(nanoTime() - start);
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<JournalRecord> batch;
+            long lastSequence;
+            synchronized (this) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.isEmpty()) // closed and nothing left to write
+                    return;
+                batch = pending;
+                pending = spare;
+                spare = batch;
+                lastSequence = appendedSequence;
+            }
+
+            long start = nanoTime();
+            try {
+                write(batch);
+                channel.force(false);
+            } catch (IOException e) {
+                e.printStackTrace();
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+            long commitNanos = nanoTime() - start;
+            nrRecords.addAndGet(batch.size());
+            nrCommits.incrementAndGet();
+            maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+            totalCommitNanos.addAndGet(commitNanos);
+            maxCommitNanos.accumulateAndGet(commitNanos, Math::max);
+            batch.clear();
+
+            synchronized (this) {
+                durableSequence = lastSequence;
+                notifyAll();
+            }
+        }
+    }
+
+    private void write(List<JournalRecord> batch) throws IOException {
+        int size = batch.size() * JournalRecord.SIZE;
+        if (buffer.capacity() < size)
+            buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(size) << 1);
+        buffer.clear();
+        for (JournalRecord record : batch)
+            record.writeTo(buffer);
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+}
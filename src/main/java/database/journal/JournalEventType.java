@@ -0,0 +1,54 @@
+package database.journal;
+
+/**
+ * Events of an auction written to the journal, the meaning of the arguments of a {@link JournalRecord}
+ * depends on the event
+ */
+public enum JournalEventType {
+
+    /**
+     * first: required participants, second: maximum steps
+     */
+    CREATED,
+
+    /**
+     * first: client id, second: maximum bid of the client, third: 1 if the client is active, 0 otherwise
+     */
+    ENROLLED,
+
+    /**
+     * first: client id, second: bid, third: step
+     */
+    BID,
+
+    /**
+     * first: client id of the step winner, second: winning bid, third: step
+     */
+    STEP_RESULT,
+
+    /**
+     * first: client id of the winner, second: winning bid, third: index of the winner's broker
+     */
+    SETTLED,
+
+    /**
+     * first: client id of the best bidder, second: best bid
+     */
+    UNSOLD,
+
+    /**
+     * A unit of a lot sold by an order book, the auction id being the product id of the unit. first: client id of
+     * the buyer, second: price of the unit, third: index of the buyer's broker
+     */
+    LOT_SOLD;
+
+    private static final JournalEventType[] VALUES = values();
+
+    /**
+     * @param code the ordinal of an event type
+     * @return the event type, <strong>null</strong> if there is no such event type
+     */
+    static JournalEventType fromCode(int code) {
+        return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+    }
+}
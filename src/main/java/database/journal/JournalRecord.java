@@ -0,0 +1,74 @@
+package database.journal;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * One event of the journal. On disk every record takes {@link #SIZE} bytes:
+ * event type (int), auction id (int), first (int), second (int), third (long), CRC32 of the previous
+ * bytes (int) and 4 reserved bytes. A record whose checksum does not match is a torn write, the journal
+ * ends right before it.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Getter
+@ToString
+public class JournalRecord {
+
+    public static final int SIZE = 32;
+
+    private static final int CHECKED_BYTES = 24;
+
+    JournalEventType type;
+
+    int auctionId;
+
+    int first;
+
+    int second;
+
+    long third;
+
+    void writeTo(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putInt(type.ordinal());
+        buffer.putInt(auctionId);
+        buffer.putInt(first);
+        buffer.putInt(second);
+        buffer.putLong(third);
+        buffer.putInt(checksum(buffer, start));
+        buffer.putInt(0);
+    }
+
+    /**
+     * @param buffer buffer positioned on a record
+     * @return the record, <strong>null</strong> if the bytes are not a complete valid record
+     */
+    static JournalRecord readFrom(ByteBuffer buffer) {
+        if (buffer.remaining() < SIZE)
+            return null;
+        int start = buffer.position();
+        JournalEventType type = JournalEventType.fromCode(buffer.getInt());
+        int auctionId = buffer.getInt();
+        int first = buffer.getInt();
+        int second = buffer.getInt();
+        long third = buffer.getLong();
+        int checksum = buffer.getInt();
+        buffer.getInt();
+        if (type == null || checksum != checksum(buffer, start))
+            return null;
+        return new JournalRecord(type, auctionId, first, second, third);
+    }
+
+    private static int checksum(ByteBuffer buffer, int start) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(start).limit(start + CHECKED_BYTES));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,203 @@
+package database.journal;
+
+import auction.institution.AuctionHouse;
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+import auction.storage.Product;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds the state of the {@link AuctionHouse} from a journal: the enrollments count again in the auctions
+ * the clients were involved in, and every settled auction is sold again (the winner wins, the broker keeps
+ * his commission, the sale price is set and the product leaves the deposit). The units of a lot sold by an order
+ * book are sold again the same way, except that the buyer wins no auction, like in
+ * {@link auction.institution.order_book.LotMarket}.
+ * The journal has to be replayed on the state it started from, the one loaded from the json files.
+ * Auctions created but never settled nor unsold were interrupted by the crash, they are only counted. The orders
+ * resting in the order books are not journaled: the units offered by a resting sell order are in the deposit
+ * again, the resting buy orders are lost and have to be submitted again.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class JournalReplayer {
+
+    /**
+     * journal file name
+     */
+    String filename;
+
+    public JournalReplayer(String filename) {
+        this.filename = filename;
+    }
+
+    /**
+     * Replay every valid record of the journal on the auction house
+     * @param auctionHouse the auction house to rebuild
+     * @return what has been replayed
+     * @throws IOException if the journal cannot be read
+     */
+    public Report replay(AuctionHouse auctionHouse) throws IOException {
+        Set<Integer> openAuctions = new HashSet<>();
+        int[] counters = new int[5]; // records, settled, unsold, skipped, lot units sold
+        long validBytes = read(record -> {
+            counters[0]++;
+            switch (record.getType()) {
+                case CREATED -> openAuctions.add(record.getAuctionId());
+                case ENROLLED -> {
+                    Client client = findClient(auctionHouse, record.getFirst());
+                    if (client != null)
+                        client.setNrOfAuctionsInvolved(client.getNrOfAuctionsInvolved() + 1);
+                    else
+                        counters[3]++;
+                }
+                case SETTLED -> {
+                    openAuctions.remove(record.getAuctionId());
+                    if (resell(auctionHouse, record, true))
+                        counters[1]++;
+                    else
+                        counters[3]++;
+                }
+                case LOT_SOLD -> {
+                    if (resell(auctionHouse, record, false))
+                        counters[4]++;
+                    else
+                        counters[3]++;
+                }
+                case UNSOLD -> {
+                    openAuctions.remove(record.getAuctionId());
+                    counters[2]++;
+                }
+                default -> {
+                    // bids and step results only document the bidding process
+                }
+            }
+        });
+        return new Report(counters[0], counters[1], counters[2], counters[4], openAuctions.size(), counters[3],
+                validBytes < fileSize());
+    }
+
+    /**
+     * Sell the product of a settled auction or a unit of a lot again
+     * @param wonAuction true if the product was sold by an auction, which the client has won
+     * @return false if the winner, his broker or the product cannot be found
+     */
+    private boolean resell(AuctionHouse auctionHouse, JournalRecord settled, boolean wonAuction) {
+        Client client = findClient(auctionHouse, settled.getFirst());
+        List<Broker> brokers = auctionHouse.getBrokerList();
+        Product product = auctionHouse.getProductById(settled.getAuctionId()); // the auction id is the product id
+        if (client == null || product == null || settled.getThird() < 0 || settled.getThird() >= brokers.size())
+            return false;
+        Broker broker = brokers.get((int) settled.getThird());
+
+        if (wonAuction)
+            client.winAuction();
+        broker.keepCommission(settled.getSecond(), client, product);
+        product.setSalePrice((double) settled.getSecond());
+        auctionHouse.removeProduct(product);
+        auctionHouse.recordSale(product);
+        return true;
+    }
+
+    private Client findClient(AuctionHouse auctionHouse, int id) {
+        try {
+            return auctionHouse.getClientById(id);
+        } catch (NullPointerException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Hand every valid record to the consumer, in the order they were written
+     * @return number of bytes of valid records
+     */
+    private long read(Consumer<JournalRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            return scan(channel, consumer);
+        }
+    }
+
+    private long fileSize() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            return channel.size();
+        }
+    }
+
+    /**
+     * @param channel an open journal
+     * @return number of bytes of valid records at the start of the journal
+     */
+    static long validLength(FileChannel channel) throws IOException {
+        return scan(channel, record -> {});
+    }
+
+    private static long scan(FileChannel channel, Consumer<JournalRecord> consumer) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer chunk = ByteBuffer.allocate(JournalRecord.SIZE * 1024);
+        while (position < size) {
+            chunk.clear();
+            int read = channel.read(chunk, position);
+            if (read <= 0)
+                break;
+            chunk.flip();
+            JournalRecord record;
+            while ((record = JournalRecord.readFrom(chunk)) != null) {
+                consumer.accept(record);
+                position += JournalRecord.SIZE;
+            }
+            if (chunk.hasRemaining() && chunk.remaining() >= JournalRecord.SIZE)
+                break; // invalid record, everything after it is lost
+            if (read < chunk.capacity())
+                break; // a partial record at the end of the file
+        }
+        return position;
+    }
+
+    /**
+     * What a replay has done
+     */
+    @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+    @AllArgsConstructor
+    @Getter
+    public static class Report {
+
+        int nrRecords;
+
+        int nrSettled;
+
+        int nrUnsold;
+
+        int nrLotUnitsSold;
+
+        /**
+         * Auctions the journal ends in the middle of
+         */
+        int nrInterrupted;
+
+        /**
+         * Records that refer to clients, brokers or products that do not exist anymore
+         */
+        int nrSkipped;
+
+        boolean tornTail;
+
+        @Override
+        public String toString() {
+            return "Replayed " + nrRecords + " journal records: " + nrSettled + " auctions settled again, " +
+                    nrUnsold + " unsold, " + nrLotUnitsSold + " lot units sold again, " + nrInterrupted + " interrupted, " + nrSkipped + " records skipped" +
+                    (tornTail ? ", the journal ends with a torn record" : "");
+        }
+    }
+}
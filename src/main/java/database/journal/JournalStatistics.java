@@ -0,0 +1,48 @@
+package database.journal;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Group commit statistics of a journal, taken at a given moment
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Getter
+public class JournalStatistics {
+
+    long nrRecords;
+
+    /**
+     * Number of writes followed by a force to disk, each one carrying a batch of records
+     */
+    long nrCommits;
+
+    int maxBatchSize;
+
+    long totalCommitNanos;
+
+    long maxCommitNanos;
+
+    /**
+     * Number of outcomes that waited to be durable, and how long they waited in total
+     */
+    long nrDurableWaits;
+
+    long totalDurableWaitNanos;
+
+    public double getAverageBatchSize() {
+        return nrCommits == 0 ? 0 : (double) nrRecords / nrCommits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Journal: %d records in %d commits (average batch %.2f, max batch %d), " +
+                        "commit latency average %.3f ms / max %.3f ms, durable wait average %.3f ms over %d outcomes",
+                nrRecords, nrCommits, getAverageBatchSize(), maxBatchSize,
+                nrCommits == 0 ? 0 : totalCommitNanos / 1e6 / nrCommits, maxCommitNanos / 1e6,
+                nrDurableWaits == 0 ? 0 : totalDurableWaitNanos / 1e6 / nrDurableWaits, nrDurableWaits);
+    }
+}
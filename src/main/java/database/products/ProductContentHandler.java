@@ -0,0 +1,268 @@
+package database.products;
+
+import auction.storage.Product;
+import auction.storage.furniture.FurnitureBuilder;
+import auction.storage.jewelery.JeweleryBuilder;
+import auction.storage.painting.PaintingBuilder;
+import org.json.simple.parser.ContentHandler;
+
+import java.util.function.Consumer;
+
+import static java.lang.System.*;
+
+/**
+ * Event handler of the json-simple streaming parser, builds the products of a deposit file one at a time.
+ * <p>
+ *     A section is the array value of a "painting", "jewelery" or "furniture" key, wherever that key is, so the
+ *     sections can come in any order. Every object of a section is one product, its fields are written straight
+ *     into the builder of the section and the product is handed to the consumer as soon as the object ends,
+ *     only one product is held in memory at a time. Numbers are accepted both as json numbers and as strings.
+ * </p>
+ */
+class ProductContentHandler implements ContentHandler {
+
+    private final Consumer<Product> consumer;
+
+    /**
+     * Depth of the current value, each object and array going one level deeper
+     */
+    private int depth;
+
+    /**
+     * Key of the current object entry, null outside of object entries
+     */
+    private String key;
+
+    /**
+     * Section being parsed, null outside of the sections
+     */
+    private Section section;
+
+    private int sectionDepth;
+
+    /**
+     * Product being built, null between products
+     */
+    private ProductRecord record;
+
+    private int nrProducts;
+
+    ProductContentHandler(Consumer<Product> consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * @return number of products handed to the consumer
+     */
+    int getNrProducts() {
+        return nrProducts;
+    }
+
+    @Override
+    public void startJSON() {
+        depth = 0;
+        key = null;
+        section = null;
+        record = null;
+        nrProducts = 0;
+    }
+
+    @Override
+    public void endJSON() {
+
+    }
+
+    @Override
+    public boolean startObject() {
+        depth++;
+        if (section != null && record == null && depth == sectionDepth + 1)
+            record = section.newRecord();
+        return true;
+    }
+
+    @Override
+    public boolean endObject() {
+        if (record != null && depth == sectionDepth + 1) {
+            Product product = record.build();
+            if (product.getId() != null) {
+                consumer.accept(product);
+                nrProducts++;
+            } else
+                err.println("Skipped a " + section.key + " without id: " + product.getName());
+            record = null;
+        }
+        depth--;
+        return true;
+    }
+
+    @Override
+    public boolean startObjectEntry(String key) {
+        this.key = key;
+        return true;
+    }
+
+    @Override
+    public boolean endObjectEntry() {
+        key = null;
+        return true;
+    }
+
+    @Override
+    public boolean startArray() {
+        depth++;
+        if (section == null && key != null) {
+            section = Section.forKey(key);
+            sectionDepth = depth;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endArray() {
+        if (section != null && depth == sectionDepth)
+            section = null;
+        depth--;
+        return true;
+    }
+
+    @Override
+    public boolean primitive(Object value) {
+        // only the direct fields of a product are read, anything nested deeper is ignored
+        if (record != null && key != null && depth == sectionDepth + 1 && value != null)
+            record.set(key, value);
+        return true;
+    }
+
+    private static int toInt(Object value) {
+        if (value instanceof Number)
+            return ((Number) value).intValue();
+        return Integer.parseInt(value.toString().trim());
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number)
+            return ((Number) value).doubleValue();
+        return Double.parseDouble(value.toString().trim());
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean)
+            return (Boolean) value;
+        return Boolean.parseBoolean(value.toString().trim());
+    }
+
+    private enum Section {
+        PAINTING("painting") {
+            @Override
+            ProductRecord newRecord() {
+                return new PaintingRecord();
+            }
+        },
+        JEWELERY("jewelery") {
+            @Override
+            ProductRecord newRecord() {
+                return new JeweleryRecord();
+            }
+        },
+        FURNITURE("furniture") {
+            @Override
+            ProductRecord newRecord() {
+                return new FurnitureRecord();
+            }
+        };
+
+        final String key;
+
+        Section(String key) {
+            this.key = key;
+        }
+
+        abstract ProductRecord newRecord();
+
+        /**
+         * @return the section stored under this key, null if the key is not a section
+         */
+        static Section forKey(String key) {
+            for (Section section : values())
+                if (section.key.equals(key))
+                    return section;
+            return null;
+        }
+    }
+
+    /**
+     * A product of a section while its fields are parsed
+     */
+    private interface ProductRecord {
+
+        void set(String field, Object value);
+
+        Product build();
+    }
+
+    private static final class PaintingRecord implements ProductRecord {
+
+        private final PaintingBuilder builder = new PaintingBuilder();
+
+        @Override
+        public void set(String field, Object value) {
+            switch (field) {
+                case "id" -> builder.withId(toInt(value));
+                case "name" -> builder.withName(value.toString());
+                case "minimum_price" -> builder.withMinimumPrice(toDouble(value));
+                case "year" -> builder.withYear(toInt(value));
+                case "painter_name" -> builder.withPainterName(value.toString());
+                case "color" -> builder.withColor(value.toString());
+            }
+        }
+
+        @Override
+        public Product build() {
+            return builder.build();
+        }
+    }
+
+    private static final class JeweleryRecord implements ProductRecord {
+
+        private final JeweleryBuilder builder = new JeweleryBuilder();
+
+        @Override
+        public void set(String field, Object value) {
+            switch (field) {
+                case "id" -> builder.withId(toInt(value));
+                case "name" -> builder.withName(value.toString());
+                case "minimum_price" -> builder.withMinimumPrice(toDouble(value));
+                case "year" -> builder.withYear(toInt(value));
+                case "material" -> builder.withMaterial(value.toString());
+                case "valuable_gem" -> builder.withValuableGem(toBoolean(value));
+            }
+        }
+
+        @Override
+        public Product build() {
+            return builder.build();
+        }
+    }
+
+    private static final class FurnitureRecord implements ProductRecord {
+
+        private final FurnitureBuilder builder = new FurnitureBuilder();
+
+        @Override
+        public void set(String field, Object value) {
+            switch (field) {
+                case "id" -> builder.withId(toInt(value));
+                case "name" -> builder.withName(value.toString());
+                case "minimum_price" -> builder.withMinimumPrice(toDouble(value));
+                case "year" -> builder.withYear(toInt(value));
+                case "material" -> builder.withMaterial(value.toString());
+                case "type" -> builder.withType(value.toString());
+            }
+        }
+
+        @Override
+        public Product build() {
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package database.snapshot;
+
+/**
+ * Checked exception, thrown when a snapshot file is not a snapshot, has another version or has been damaged
+ */
+public class CorruptSnapshotException extends Exception {
+
+    public CorruptSnapshotException(String message) {
+        super(message);
+    }
+}
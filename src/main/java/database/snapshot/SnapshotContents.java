@@ -0,0 +1,26 @@
+package database.snapshot;
+
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+import auction.storage.Product;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Everything read from a snapshot file, ready to be published to the auction house
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Getter
+public class SnapshotContents {
+
+    List<Product> products;
+
+    List<Client> clients;
+
+    List<Broker> brokers;
+}
@@ -0,0 +1,47 @@
+package database.snapshot;
+
+/**
+ * Layout of the binary snapshot files of the auction house, all numbers are big endian.
+ * <pre>
+ * header   : magic (int), version (short)
+ * products : count (int), then for each one
+ *            kind (byte), id (int), name (string), minimum price (double), year (int),
+ *            sale price (double, NaN when not sold), then the fields of its kind. The sold products are
+ *            saved too, they are the ones with a sale price
+ * clients  : count (int), then for each one
+ *            kind (byte), id (int), name (string), address (string), auctions involved (int),
+ *            auctions won (int), max bid (int), then the fields of its kind
+ * brokers  : count (int), then for each one
+ *            name (string), opening balance in cents (long), number of sales (int),
+ *            then product id (int), client id (int), bid (long), commission (long) for each sale
+ * trailer  : CRC32 of everything above (int)
+ * </pre>
+ * A string is its length in bytes (int, -1 for null) followed by its UTF-8 bytes.
+ * This class is never meant to be instantiated.
+ */
+final class SnapshotFormat {
+
+    /**
+     * "AHSN"
+     */
+    static final int MAGIC = 0x4148534E;
+
+    /**
+     * Incremented on every change of the layout, files of another version are refused
+     */
+    static final short VERSION = 1;
+
+    static final byte PAINTING = 0;
+    static final byte JEWELERY = 1;
+    static final byte FURNITURE = 2;
+
+    static final byte PHYSICAL_PERSON = 0;
+    static final byte JURIDICAL_PERSON = 1;
+
+    static final int NULL_STRING = -1;
+
+    /**
+     * Explicit private constructor
+     */
+    private SnapshotFormat() {}
+}
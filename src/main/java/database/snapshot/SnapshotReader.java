@@ -0,0 +1,175 @@
+package database.snapshot;
+
+import auction.institution.clients.Client;
+import auction.institution.clients.JuridicalPerson;
+import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.broker.Broker;
+import auction.institution.employee.broker.CommissionEntry;
+import auction.storage.Product;
+import auction.storage.furniture.FurnitureBuilder;
+import auction.storage.jewelery.JeweleryBuilder;
+import auction.storage.painting.PaintingBuilder;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static database.snapshot.SnapshotFormat.*;
+
+/**
+ * Reads a binary snapshot file written by the {@link SnapshotWriter}. The file is memory mapped, its checksum
+ * is verified over the mapping and the objects are decoded straight from it, without copying it on the heap.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class SnapshotReader {
+
+    /**
+     * snapshot file name
+     */
+    String filename;
+
+    public SnapshotReader(String filename) {
+        this.filename = filename;
+    }
+
+    /**
+     * Read the whole snapshot
+     * @return the products, clients and brokers of the snapshot
+     * @throws IOException if the file cannot be read
+     * @throws CorruptSnapshotException if the file is not a valid snapshot of the supported version
+     */
+    public SnapshotContents read() throws IOException, CorruptSnapshotException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Integer.BYTES + Short.BYTES + Integer.BYTES)
+                throw new CorruptSnapshotException(filename + " is too short to be a snapshot");
+            if (size > Integer.MAX_VALUE)
+                throw new CorruptSnapshotException(filename + " is too large to be a snapshot");
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int bodySize = (int) size - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(bodySize));
+            if ((int) crc.getValue() != buffer.getInt(bodySize))
+                throw new CorruptSnapshotException(filename + " is damaged, its checksum does not match");
+
+            ByteBuffer body = buffer.limit(bodySize);
+            if (body.getInt() != MAGIC)
+                throw new CorruptSnapshotException(filename + " is not a snapshot of the auction house");
+            short version = body.getShort();
+            if (version != VERSION)
+                throw new CorruptSnapshotException(filename + " has version " + version + ", only version "
+                        + VERSION + " can be read");
+
+            try {
+                return new SnapshotContents(readProducts(body), readClients(body), readBrokers(body));
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new CorruptSnapshotException(filename + " ends in the middle of a record");
+            }
+        }
+    }
+
+    private List<Product> readProducts(ByteBuffer body) throws CorruptSnapshotException {
+        int count = readCount(body);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte kind = body.get();
+            int id = body.getInt();
+            String name = readString(body);
+            double minimumPrice = body.getDouble();
+            int year = body.getInt();
+            double salePrice = body.getDouble();
+
+            Product product;
+            switch (kind) {
+                case PAINTING -> product = new PaintingBuilder().withId(id).withName(name)
+                        .withMinimumPrice(minimumPrice).withYear(year)
+                        .withPainterName(readString(body)).withColor(readString(body)).build();
+                case JEWELERY -> product = new JeweleryBuilder().withId(id).withName(name)
+                        .withMinimumPrice(minimumPrice).withYear(year)
+                        .withMaterial(readString(body)).withValuableGem(body.get() != 0).build();
+                case FURNITURE -> product = new FurnitureBuilder().withId(id).withName(name)
+                        .withMinimumPrice(minimumPrice).withYear(year)
+                        .withMaterial(readString(body)).withType(readString(body)).build();
+                default -> throw new CorruptSnapshotException("Unknown product kind " + kind);
+            }
+            if (!Double.isNaN(salePrice))
+                product.setSalePrice(salePrice);
+            products.add(product);
+        }
+        return products;
+    }
+
+    private List<Client> readClients(ByteBuffer body) throws CorruptSnapshotException {
+        int count = readCount(body);
+        List<Client> clients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte kind = body.get();
+            int id = body.getInt();
+            String name = readString(body);
+            String address = readString(body);
+            int nrOfAuctionsInvolved = body.getInt();
+            int nrOfWonAuctions = body.getInt();
+            int maxBid = body.getInt();
+
+            Client client;
+            switch (kind) {
+                case PHYSICAL_PERSON -> client = new PhysicalPerson(id, name, address, readString(body));
+                case JURIDICAL_PERSON -> client = new JuridicalPerson(id, name, address, readString(body),
+                        body.getDouble());
+                default -> throw new CorruptSnapshotException("Unknown client kind " + kind);
+            }
+            client.setNrOfAuctionsInvolved(nrOfAuctionsInvolved);
+            client.setNrOfWonAuctions(nrOfWonAuctions);
+            client.setMaxBid(maxBid);
+            clients.add(client);
+        }
+        return clients;
+    }
+
+    private List<Broker> readBrokers(ByteBuffer body) throws CorruptSnapshotException {
+        int count = readCount(body);
+        List<Broker> brokers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Broker broker = new Broker(readString(body));
+            broker.getCommissionLedger().restoreOpeningBalance(body.getLong());
+            int nrSales = readCount(body);
+            for (int j = 0; j < nrSales; j++)
+                broker.getCommissionLedger().restoreEntry(new CommissionEntry(body.getInt(), body.getInt(),
+                        body.getLong(), body.getLong()));
+            brokers.add(broker);
+        }
+        return brokers;
+    }
+
+    /**
+     * A count can never be larger than the bytes left, checked so a damaged count cannot allocate a huge list
+     */
+    private int readCount(ByteBuffer body) throws CorruptSnapshotException {
+        int count = body.getInt();
+        if (count < 0 || count > body.remaining())
+            throw new CorruptSnapshotException("Invalid record count " + count);
+        return count;
+    }
+
+    private String readString(ByteBuffer body) throws CorruptSnapshotException {
+        int length = body.getInt();
+        if (length == NULL_STRING)
+            return null;
+        if (length < 0 || length > body.remaining())
+            throw new CorruptSnapshotException("Invalid string length " + length);
+        ByteBuffer bytes = body.slice().limit(length);
+        body.position(body.position() + length);
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+}
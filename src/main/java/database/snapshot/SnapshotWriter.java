@@ -0,0 +1,156 @@
+package database.snapshot;
+
+import auction.institution.clients.Client;
+import auction.institution.clients.JuridicalPerson;
+import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.broker.Broker;
+import auction.institution.employee.broker.CommissionEntry;
+import auction.institution.employee.broker.CommissionLedger;
+import auction.storage.Product;
+import auction.storage.furniture.Furniture;
+import auction.storage.jewelery.Jewelery;
+import auction.storage.painting.Painting;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static database.snapshot.SnapshotFormat.*;
+
+/**
+ * Writes the products, clients and brokers of the auction house to a binary snapshot file,
+ * see {@link SnapshotFormat} for the layout
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class SnapshotWriter {
+
+    /**
+     * snapshot file name
+     */
+    String filename;
+
+    public SnapshotWriter(String filename) {
+        this.filename = filename;
+    }
+
+    /**
+     * Write the snapshot, the file is replaced only once it has been completely written
+     * @param products products available in the deposit and sold products, which have a sale price
+     * @param clients clients of the auction house
+     * @param brokers brokers of the auction house, with the sales they kept a commission from
+     * @return size of the snapshot, in bytes
+     * @throws IOException if the file cannot be written
+     */
+    public long write(List<Product> products, List<Client> clients, List<Broker> brokers) throws IOException {
+        File target = new File(filename);
+        File temporary = new File(target.getAbsoluteFile().getParentFile(), target.getName() + ".tmp");
+
+        CRC32 crc = new CRC32();
+        try (FileOutputStream file = new FileOutputStream(temporary);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            DataOutputStream body = new DataOutputStream(new CheckedOutputStream(output, crc));
+            body.writeInt(MAGIC);
+            body.writeShort(VERSION);
+
+            body.writeInt(products.size());
+            for (Product product : products)
+                writeProduct(body, product);
+
+            body.writeInt(clients.size());
+            for (Client client : clients)
+                writeClient(body, client);
+
+            body.writeInt(brokers.size());
+            for (Broker broker : brokers)
+                writeBroker(body, broker);
+
+            body.flush();
+            output.writeInt((int) crc.getValue());
+            output.flush();
+            file.getFD().sync();
+        }
+
+        if (!temporary.renameTo(target)) {
+            if (!target.delete() || !temporary.renameTo(target))
+                throw new IOException("Cannot replace " + filename);
+        }
+        return target.length();
+    }
+
+    private void writeProduct(DataOutputStream body, Product product) throws IOException {
+        if (product instanceof Painting)
+            body.writeByte(PAINTING);
+        else if (product instanceof Jewelery)
+            body.writeByte(JEWELERY);
+        else
+            body.writeByte(FURNITURE);
+        body.writeInt(product.getId());
+        writeString(body, product.getName());
+        body.writeDouble(product.getMinimumPrice());
+        body.writeInt(product.getYear());
+        Double salePrice = product.getSalePrice();
+        body.writeDouble(salePrice == null ? Double.NaN : salePrice);
+
+        if (product instanceof Painting) {
+            Painting painting = (Painting) product;
+            writeString(body, painting.getPainterName());
+            writeString(body, painting.getColor());
+        } else if (product instanceof Jewelery) {
+            Jewelery jewelery = (Jewelery) product;
+            writeString(body, jewelery.getMaterial());
+            body.writeBoolean(jewelery.isValuableGem());
+        } else {
+            Furniture furniture = (Furniture) product;
+            writeString(body, furniture.getMaterial());
+            writeString(body, furniture.getType());
+        }
+    }
+
+    private void writeClient(DataOutputStream body, Client client) throws IOException {
+        body.writeByte(client instanceof JuridicalPerson ? JURIDICAL_PERSON : PHYSICAL_PERSON);
+        body.writeInt(client.getId());
+        writeString(body, client.getName());
+        writeString(body, client.getAddress());
+        body.writeInt(client.getNrOfAuctionsInvolved());
+        body.writeInt(client.getNrOfWonAuctions());
+        body.writeInt(client.getMaxBid());
+
+        if (client instanceof JuridicalPerson) {
+            JuridicalPerson juridicalPerson = (JuridicalPerson) client;
+            writeString(body, juridicalPerson.getCompanyType() == null ? null
+                    : juridicalPerson.getCompanyType().name());
+            body.writeDouble(juridicalPerson.getSocialCapital());
+        } else
+            writeString(body, ((PhysicalPerson) client).getBirthdayDate());
+    }
+
+    private void writeBroker(DataOutputStream body, Broker broker) throws IOException {
+        CommissionLedger ledger = broker.getCommissionLedger();
+        List<CommissionEntry> entries = ledger.getEntries();
+        writeString(body, broker.getName());
+        // the balance is the opening balance and the entries, it is rebuilt from them on load
+        body.writeLong(ledger.getOpeningBalanceCents());
+
+        body.writeInt(entries.size());
+        for (CommissionEntry entry : entries) {
+            body.writeInt(entry.getProductId());
+            body.writeInt(entry.getClientId());
+            body.writeLong(entry.getBidCents());
+            body.writeLong(entry.getCommissionCents());
+        }
+    }
+
+    private void writeString(DataOutputStream body, String value) throws IOException {
+        if (value == null) {
+            body.writeInt(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        body.writeInt(bytes.length);
+        body.write(bytes);
+    }
+}
@@ -13,6 +13,7 @@ import lombok.experimental.NonFinal;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 
 /**
  * A panel that will hold a list with the {@link Product}s available to sell
@@ -94,6 +95,14 @@ public class ProductDeposit implements Runnable {
         }
     }
 
+    /**
+     * Log a batch of products to the list at once, on the event dispatch thread
+     * @param products products to log for
+     */
+    public void addProducts(List<Product> products) {
+        SwingUtilities.invokeLater(() -> products.forEach(product -> model.addElement(createLogForProduct(product))));
+    }
+
     /**
      * Remove a product form the list of products, called after a product is sold
      * @param product product to sell
@@ -15,15 +15,15 @@ import static javax.swing.JScrollPane.*;
 
 
 /**
- * The swing frame with an auction info, since the auction runs on a separate thread this does not have to,
- * it will run on the auction's thread.
+ * The swing frame with an auction info, the auction threads never touch its swing components directly, their
+ * logs go through the {@link AuctionLogSink} which applies them on the event dispatch thread.
  * Will hold a panel with logs from the auction (log messages for clients giving bids, brokers receiving their
  * bids and winner of the auction), a panel with clients subscribed to this auction with their associated brokers
  * and a button that will start the auction process
  */
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @Getter
-public class AuctionFrame {
+public class AuctionFrame implements AuctionView, AuctionLogPane {
 
     /**
      * Auction associated with this frame
@@ -105,37 +105,42 @@ public class AuctionFrame {
         frame.setVisible(false); // initially not visible
     }
 
+    @Override
     public void makeCloseButtonVisible() {
-        hideThePannel.setVisible(true);
+        AuctionLogSink.getInstance().runOnFrame(this, () -> hideThePannel.setVisible(true));
     }
 
     /**
      * Make the auction frame visible when the auction starts
      */
+    @Override
     public void makeFrameVisible() {
-        frame.setVisible(true);
+        AuctionLogSink.getInstance().runOnFrame(this, () -> frame.setVisible(true));
     }
 
+    @Override
     public void hideFrame() {
         frame.setVisible(false);
     }
 
     /**
-     * Log auction info
+     * Log auction info, the text box is updated asynchronously by the {@link AuctionLogSink}
      * @param data data to add to the text box
      */
+    @Override
     public void logAuctionInfo(String data) {
-        textArea.append(data + "\n");
+        AuctionLogSink.getInstance().appendText(this, data + "\n");
     }
 
     /**
-     * Log the client and his broker
+     * Log the client and his broker, the list is updated asynchronously by the {@link AuctionLogSink}
      * @param client client to log
      * @param broker broker to log
      */
+    @Override
     public void logClientAndBroker(Client client, Broker broker) {
         String format = "Client " + client.getName() + " with id " + client.getId() + " has "
                 + broker.getName() + " as a broker";
-        model.addElement(format);
+        AuctionLogSink.getInstance().addListEntry(this, format);
     }
 }
@@ -0,0 +1,19 @@
+package gui.auction;
+
+import javax.swing.*;
+
+/**
+ * The swing components of an auction the {@link AuctionLogSink} writes the logs in
+ */
+public interface AuctionLogPane {
+
+    /**
+     * @return the bidding log
+     */
+    JTextArea getTextArea();
+
+    /**
+     * @return the list of clients with their associated brokers
+     */
+    DefaultListModel<String> getModel();
+}
@@ -0,0 +1,253 @@
+package gui.auction;
+
+import auction.institution.engine.EngineConfig;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous pipeline between the auction threads and the swing components of the {@link AuctionFrame}s,
+ * seen as {@link AuctionLogPane}s.
+ * <p>
+ *     The auction threads only push log events into a bounded lock-free ring buffer (multiple producers,
+ *     the slots carry sequence numbers claimed with a compare-and-set, like the bid inbox of an auction).
+ *     A single background thread drains the ring on a fixed cadence, merges the events of each frame into one
+ *     batch (all the text lines are joined in one append) and hands the batches to the event dispatch thread
+ *     with a single {@link SwingUtilities#invokeLater(Runnable)}. When the ring is full a line of text is
+ *     dropped and counted, an auction never waits for the GUI. The entries of the client list and the changes of
+ *     the components (the close button, the visibility of the frame) are never dropped, when the ring is full
+ *     they are handed to the event dispatch thread right away, ahead of the text still in the ring.
+ * </p>
+ * This class is a <strong>singleton</strong>.
+ */
+public class AuctionLogSink {
+
+    private final Event[] events;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong tail;
+
+    /**
+     * Only the drain thread moves the head
+     */
+    private long head;
+
+    private final LongAdder published;
+
+    private final LongAdder dropped;
+
+    private final LongAdder batches;
+
+    /**
+     * @param capacity    number of events the ring holds, rounded up to a power of two
+     * @param flushMillis delay between two drains of the ring
+     */
+    AuctionLogSink(int capacity, long flushMillis) {
+        int size = 1;
+        while (size < capacity)
+            size <<= 1;
+        this.events = new Event[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++)
+            sequences.set(i, i);
+        this.mask = size - 1;
+        this.tail = new AtomicLong();
+        this.head = 0;
+        this.published = new LongAdder();
+        this.dropped = new LongAdder();
+        this.batches = new LongAdder();
+
+        ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auction-log-sink");
+            thread.setDaemon(true);
+            return thread;
+        });
+        drainer.scheduleAtFixedRate(this::drain, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Inner static class that hols the only instance of the singleton,
+     * assures thread-safe singleton implementation
+     */
+    private static class ReferenceHolder {
+        public static final AuctionLogSink INSTANCE = new AuctionLogSink(EngineConfig.LOG_CAPACITY,
+                EngineConfig.LOG_FLUSH_MILLIS);
+    }
+
+    /**
+     * Retrieve the only instance of the thread-safe singleton
+     * @return the only {@link AuctionLogSink} instance
+     */
+    public static AuctionLogSink getInstance() {
+        return ReferenceHolder.INSTANCE;
+    }
+
+    /**
+     * Append text to the bidding log of a frame
+     * @param frame the frame to log in
+     * @param text the text, with its line separators
+     */
+    public void appendText(AuctionLogPane frame, String text) {
+        if (!publish(new Event(frame, EventType.TEXT, text, null)))
+            dropped.increment();
+    }
+
+    /**
+     * Add an entry to the list of clients and brokers of a frame
+     * @param frame the frame to log in
+     * @param entry the entry
+     */
+    public void addListEntry(AuctionLogPane frame, String entry) {
+        if (!publish(new Event(frame, EventType.LIST_ENTRY, entry, null)))
+            SwingUtilities.invokeLater(() -> frame.getModel().addElement(entry));
+    }
+
+    /**
+     * Change a swing component of a frame, after the logs published before this call unless the ring is full
+     * @param frame the changed frame
+     * @param action the change, run on the event dispatch thread
+     */
+    public void runOnFrame(AuctionLogPane frame, Runnable action) {
+        if (!publish(new Event(frame, EventType.ACTION, null, action)))
+            SwingUtilities.invokeLater(action);
+    }
+
+    /**
+     * @return number of events accepted so far
+     */
+    public long getPublished() {
+        return published.sum();
+    }
+
+    /**
+     * @return number of lines of text dropped because the ring was full
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return number of batches handed to the event dispatch thread
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * @return false if the ring is full, the event has not been published
+     */
+    private boolean publish(Event event) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long distance = sequences.get(index) - position;
+            if (distance == 0) {
+                if (tail.compareAndSet(position, position + 1))
+                    break;
+            } else if (distance < 0) { // the ring is full
+                return false;
+            }
+        }
+        events[index] = event;
+        sequences.set(index, position + 1);
+        published.increment();
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "GUI log: " + getPublished() + " events published in " + getBatches() + " batches, " + getDropped() +
+                " lines dropped";
+    }
+
+    /**
+     * Take every event out of the ring, merge them per frame and apply them on the event dispatch thread
+     */
+    void drain() {
+        Map<AuctionLogPane, FrameBatch> frameBatches = null;
+        while (true) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1)
+                break;
+            Event event = events[index];
+            events[index] = null;
+            sequences.set(index, head + events.length);
+            head++;
+
+            if (frameBatches == null)
+                frameBatches = new IdentityHashMap<>();
+            frameBatches.computeIfAbsent(event.frame, frame -> new FrameBatch()).add(event);
+        }
+        if (frameBatches == null)
+            return;
+
+        Map<AuctionLogPane, FrameBatch> ready = frameBatches;
+        batches.increment();
+        SwingUtilities.invokeLater(() -> ready.forEach((frame, batch) -> batch.apply(frame)));
+    }
+
+    private enum EventType {
+        TEXT,
+        LIST_ENTRY,
+        ACTION
+    }
+
+    private static final class Event {
+
+        final AuctionLogPane frame;
+
+        final EventType type;
+
+        final String text;
+
+        final Runnable action;
+
+        Event(AuctionLogPane frame, EventType type, String text, Runnable action) {
+            this.frame = frame;
+            this.type = type;
+            this.text = text;
+            this.action = action;
+        }
+    }
+
+    /**
+     * The events of one frame taken in a drain, the text lines are coalesced in a single append
+     */
+    private static final class FrameBatch {
+
+        final StringBuilder text = new StringBuilder();
+
+        final List<String> listEntries = new ArrayList<>();
+
+        final List<Runnable> actions = new ArrayList<>();
+
+        void add(Event event) {
+            switch (event.type) {
+                case TEXT -> text.append(event.text);
+                case LIST_ENTRY -> listEntries.add(event.text);
+                case ACTION -> actions.add(event.action);
+            }
+        }
+
+        void apply(AuctionLogPane frame) {
+            if (text.length() > 0)
+                frame.getTextArea().append(text.toString());
+            listEntries.forEach(frame.getModel()::addElement);
+            actions.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package gui.auction;
+
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+
+/**
+ * What an auction shows to the end user while it runs, the swing {@link AuctionFrame} or, when the auction house
+ * runs without a display, the {@link HeadlessAuctionView} that shows nothing
+ */
+public interface AuctionView {
+
+    /**
+     * Show the auction once it is populated
+     */
+    void makeFrameVisible();
+
+    /**
+     * Let the user close the auction once it has ended
+     */
+    void makeCloseButtonVisible();
+
+    void hideFrame();
+
+    /**
+     * @return false if the logs are thrown away, the auction then skips building its log messages
+     */
+    default boolean isLogging() {
+        return true;
+    }
+
+    /**
+     * Log auction info
+     * @param data data to log
+     */
+    void logAuctionInfo(String data);
+
+    /**
+     * Log the client and his broker
+     * @param client client to log
+     * @param broker broker to log
+     */
+    void logClientAndBroker(Client client, Broker broker);
+}
@@ -8,8 +8,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 /**
- * Once clicked will start the auction process. Will make the auction object wait
- * for the button to be clicked
+ * Once clicked will start the auction process, the auction stays ready
+ * until the button is clicked
  */
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class GButtonListener implements ActionListener {
@@ -24,13 +24,10 @@ public class GButtonListener implements ActionListener {
     }
 
     /**
-     * Will notify the auction object to start the auction process
+     * Will send the start event to the auction object, starting the auction process
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        auction.initializeStartFlag();
-        synchronized (auction) {
-            auction.notifyAll();
-        }
+        auction.requestStart();
     }
 }
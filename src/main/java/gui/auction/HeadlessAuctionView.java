@@ -0,0 +1,59 @@
+package gui.auction;
+
+import auction.institution.clients.Client;
+import auction.institution.employee.broker.Broker;
+
+/**
+ * View of the auctions in headless mode, every GUI hook is a no-op so the auction threads never build
+ * a log message for nobody to read.
+ * This class is a <strong>singleton</strong>, it holds no state.
+ */
+public final class HeadlessAuctionView implements AuctionView {
+
+    private static final HeadlessAuctionView INSTANCE = new HeadlessAuctionView();
+
+    /**
+     * Private constructor for singleton class
+     */
+    private HeadlessAuctionView() {
+
+    }
+
+    /**
+     * Retrieve the only instance of the singleton
+     * @return the only {@link HeadlessAuctionView} instance
+     */
+    public static HeadlessAuctionView getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void makeFrameVisible() {
+
+    }
+
+    @Override
+    public void makeCloseButtonVisible() {
+
+    }
+
+    @Override
+    public void hideFrame() {
+
+    }
+
+    @Override
+    public boolean isLogging() {
+        return false;
+    }
+
+    @Override
+    public void logAuctionInfo(String data) {
+
+    }
+
+    @Override
+    public void logClientAndBroker(Client client, Broker broker) {
+
+    }
+}
@@ -8,14 +8,24 @@ public enum AllCommands {
     start_auction,
     enroll_in_auction,
     place_bid,
+    submit_order,
     load_products,
     load_clients,
     load_brokers,
+    load_all,
     load_administrator,
+    save_snapshot,
+    load_snapshot,
+    recover_journal,
     list_brokers,
     list_clients,
     list_products,
     list_brokers_balance,
+    list_auction_engine,
+    list_journal,
+    list_command_timings,
+    list_metrics,
+    list_order_books,
     exit,
     quit
 }
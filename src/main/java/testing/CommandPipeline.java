@@ -0,0 +1,86 @@
+package testing;
+
+import command.Command;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static java.lang.System.*;
+
+/**
+ * Second stage of the command ingestion: the thread reading the input only parses the commands and queues them,
+ * a dispatcher thread executes them in the same order. The queue is bounded, the reader waits when it is
+ * ahead by more than its capacity. A command that fails is reported and the next ones still run.
+ */
+public class CommandPipeline {
+
+    /**
+     * Queued after the last command
+     */
+    private static final Dispatch END = new Dispatch(null, null);
+
+    private final BlockingQueue<Dispatch> queue;
+
+    private final Thread dispatcher;
+
+    private final CommandTimings timings;
+
+    /**
+     * @param capacity maximum number of parsed commands waiting to be executed
+     */
+    public CommandPipeline(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.timings = CommandTimings.getInstance();
+        this.dispatcher = new Thread(this::dispatch, "command-dispatcher");
+        this.dispatcher.start();
+    }
+
+    /**
+     * Queue a command, waits while the queue is full
+     * @param verb verb of the command
+     * @param command the parsed command
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void submit(AllCommands verb, Command command) throws InterruptedException {
+        queue.put(new Dispatch(verb, command));
+    }
+
+    /**
+     * Wait until all the queued commands have been executed, no command can be submitted afterwards
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void finish() throws InterruptedException {
+        queue.put(END);
+        dispatcher.join();
+    }
+
+    private void dispatch() {
+        try {
+            Dispatch next;
+            while ((next = queue.take()) != END) {
+                long start = nanoTime();
+                try {
+                    next.command.execute();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                    err.println("Command " + next.verb + " failed: " + e);
+                }
+                timings.recordExecute(next.verb, nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Dispatch {
+
+        final AllCommands verb;
+
+        final Command command;
+
+        Dispatch(AllCommands verb, Command command) {
+            this.verb = verb;
+            this.command = command;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package testing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the commands from an input stream, one per line, words separated by spaces or tabs.
+ * <p>
+ *     The input is read in large blocks and every line is tokenized in place in a reused byte buffer, without
+ *     regular expressions or intermediate lists. The verb is matched against the encoded names of
+ *     {@link AllCommands}, so only the arguments of a command become strings, and they are kept in a
+ *     reused array, valid until the next line is read.
+ * </p>
+ * This class is not thread-safe, it is meant to be used by the thread reading the input.
+ */
+public class CommandReader implements Closeable {
+
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private static final AllCommands[] VERBS = AllCommands.values();
+
+    private static final byte[][] VERB_NAMES = new byte[VERBS.length][];
+
+    static {
+        for (AllCommands verb : VERBS)
+            VERB_NAMES[verb.ordinal()] = verb.name().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private final InputStream input;
+
+    private final byte[] block;
+
+    private int blockPosition;
+
+    private int blockLimit;
+
+    private byte[] line;
+
+    private int lineLength;
+
+    private int lineNumber;
+
+    /**
+     * Words of the current line, the first one being the name of the verb
+     */
+    private String[] words;
+
+    private int nrWords;
+
+    private AllCommands verb;
+
+    public CommandReader(InputStream input) {
+        this.input = input;
+        this.block = new byte[BLOCK_SIZE];
+        this.line = new byte[256];
+        this.words = new String[8];
+    }
+
+    /**
+     * Move to the next line that is not blank
+     * @return false once the input has ended
+     * @throws IOException if the input cannot be read
+     */
+    public boolean next() throws IOException {
+        while (readLine()) {
+            lineNumber++;
+            if (tokenize())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return verb of the current line, <strong>null</strong> if it is not one of {@link AllCommands}
+     */
+    public AllCommands getVerb() {
+        return verb;
+    }
+
+    /**
+     * @return words of the current line, {@code words[0]} being the verb and the arguments following it,
+     *          the array has at least {@link #getNrWords()} elements and is reused for the next line
+     */
+    public String[] getWords() {
+        return words;
+    }
+
+    public int getNrWords() {
+        return nrWords;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * Copy the next line to {@link #line}, without its line separator
+     * @return false if the input has ended
+     */
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        boolean readSomething = false;
+        while (true) {
+            if (blockPosition == blockLimit) {
+                blockLimit = input.read(block, 0, block.length);
+                blockPosition = 0;
+                if (blockLimit <= 0) {
+                    blockLimit = 0;
+                    return readSomething;
+                }
+            }
+            readSomething = true;
+            int start = blockPosition;
+            while (blockPosition < blockLimit && block[blockPosition] != '\n')
+                blockPosition++;
+            append(start, blockPosition);
+            if (blockPosition < blockLimit) { // found the end of the line
+                blockPosition++;
+                if (lineLength > 0 && line[lineLength - 1] == '\r')
+                    lineLength--;
+                return true;
+            }
+        }
+    }
+
+    private void append(int from, int to) {
+        int length = to - from;
+        if (lineLength + length > line.length)
+            line = Arrays.copyOf(line, Math.max(line.length << 1, lineLength + length));
+        System.arraycopy(block, from, line, lineLength, length);
+        lineLength += length;
+    }
+
+    /**
+     * Split the current line in words and find its verb
+     * @return false if the line is blank
+     */
+    private boolean tokenize() {
+        nrWords = 0;
+        verb = null;
+        int position = 0;
+        while (true) {
+            while (position < lineLength && isSpace(line[position]))
+                position++;
+            if (position == lineLength)
+                break;
+            int start = position;
+            while (position < lineLength && !isSpace(line[position]))
+                position++;
+
+            if (nrWords == words.length)
+                words = Arrays.copyOf(words, words.length << 1);
+            if (nrWords == 0) {
+                verb = findVerb(start, position);
+                words[0] = verb != null ? verb.name()
+                        : new String(line, start, position - start, StandardCharsets.UTF_8);
+            } else
+                words[nrWords] = new String(line, start, position - start, StandardCharsets.UTF_8);
+            nrWords++;
+        }
+        Arrays.fill(words, nrWords, words.length, null);
+        return nrWords > 0;
+    }
+
+    private AllCommands findVerb(int from, int to) {
+        int length = to - from;
+        for (int i = 0; i < VERB_NAMES.length; i++) {
+            byte[] name = VERB_NAMES[i];
+            if (name.length == length && Arrays.equals(name, 0, length, line, from, to))
+                return VERBS[i];
+        }
+        return null;
+    }
+
+    private static boolean isSpace(byte character) {
+        return character == ' ' || character == '\t' || character == '\r';
+    }
+}
@@ -0,0 +1,80 @@
+package testing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * How long the commands take to be parsed and executed, per verb. The counters of a verb are found by
+ * its ordinal in {@link AllCommands}, recording a duration takes a few atomic additions and allocates nothing.
+ * This class is a <strong>singleton</strong>.
+ */
+public class CommandTimings {
+
+    private static final int NR_VERBS = AllCommands.values().length;
+
+    /*
+     * For every verb: count, total nanos and max nanos, side by side
+     */
+    private final AtomicLongArray parse;
+    private final AtomicLongArray execute;
+
+    private CommandTimings() {
+        this.parse = new AtomicLongArray(3 * NR_VERBS);
+        this.execute = new AtomicLongArray(3 * NR_VERBS);
+    }
+
+    /**
+     * Inner static class that hols the only instance of the singleton,
+     * assures thread-safe singleton implementation
+     */
+    private static class ReferenceHolder {
+        public static final CommandTimings INSTANCE = new CommandTimings();
+    }
+
+    /**
+     * Retrieve the only instance of the thread-safe singleton
+     * @return the only {@link CommandTimings} instance
+     */
+    public static CommandTimings getInstance() {
+        return ReferenceHolder.INSTANCE;
+    }
+
+    public void recordParse(AllCommands verb, long nanos) {
+        record(parse, verb, nanos);
+    }
+
+    public void recordExecute(AllCommands verb, long nanos) {
+        record(execute, verb, nanos);
+    }
+
+    private static void record(AtomicLongArray timings, AllCommands verb, long nanos) {
+        int index = 3 * verb.ordinal();
+        timings.incrementAndGet(index);
+        timings.addAndGet(index + 1, nanos);
+        long max;
+        while (nanos > (max = timings.get(index + 2)) && !timings.compareAndSet(index + 2, max, nanos));
+    }
+
+    /**
+     * @return one line for every verb used so far: count, average and max parse and execute times
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (AllCommands verb : AllCommands.values()) {
+            int index = 3 * verb.ordinal();
+            long nrParsed = parse.get(index);
+            long nrExecuted = execute.get(index);
+            if (nrParsed == 0 && nrExecuted == 0)
+                continue;
+            builder.append(String.format("%-22s parsed %8d avg %9.3f us max %9.3f us | executed %8d avg %9.3f us" +
+                            " max %9.3f us%n", verb, nrParsed, average(parse, index), parse.get(index + 2) / 1e3,
+                    nrExecuted, average(execute, index), execute.get(index + 2) / 1e3));
+        }
+        return builder.length() == 0 ? "No command has been run" : builder.toString().stripTrailing();
+    }
+
+    private static double average(AtomicLongArray timings, int index) {
+        long count = timings.get(index);
+        return count == 0 ? 0 : timings.get(index + 1) / 1e3 / count;
+    }
+}
@@ -0,0 +1,338 @@
+package testing;
+
+import auction.institution.Auction;
+import auction.institution.AuctionHouse;
+import auction.institution.AuctionObserver;
+import auction.institution.AuctionPhase;
+import auction.institution.clients.Client;
+import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.Administrator;
+import auction.institution.employee.broker.Broker;
+import auction.institution.engine.EngineConfig;
+import auction.institution.metrics.LatencyHistogram;
+import auction.storage.Product;
+import auction.storage.painting.PaintingBuilder;
+import command.Command;
+import command.client_auction.EnrollInAuction;
+import command.client_auction.PlaceBid;
+import command.client_auction.StartAuction;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.System.*;
+
+/**
+ * Capacity test of the auction house, runs it headless and drives the real {@link Command}s in-process.
+ * <p>
+ *     In the default mode the generator synthesizes brokers, clients and one painting per auction, then issues
+ *     {@code start_auction} and {@code enroll_in_auction} commands at the requested rate, keeping at most
+ *     {@code window} auctions open at the same time. A fraction of the enrollments are active, a bid pump
+ *     thread answers for the active clients with {@code place_bid} commands whenever an auction waits for a bid.
+ *     With {@code script=<file>} a command script is replayed instead, through the same pipeline as {@link Main}.
+ * </p>
+ * In both modes the report gives the throughput and the p50/p99/p999 latency of the time an auction takes to
+ * fill, of its bidding steps and of its settlement. Every option is given as {@code key=value}:
+ * <pre>
+ *     auctions=1000 participants=4 steps=3 window=64 rate=0 active=0.25 clients=512 brokers=8
+ *     bidIntervalMicros=50 timeoutSeconds=120 seed=42 type=rounds script=&lt;file&gt;
+ * </pre>
+ * A rate of 0 issues the commands as fast as possible. The type is the one given to {@code start_auction}, the
+ * report of continuous auctions also gives the latency of accepting a bid.
+ */
+public class LoadGenerator {
+
+    /**
+     * Products and clients of the generator get ids from this one on, away from the ids of the json files
+     */
+    private static final int FIRST_ID = 1_000_000;
+
+    private static final int MINIMUM_PRICE = 100;
+
+    private final Map<String, String> options;
+
+    private final Random random;
+
+    private final LatencyHistogram fillTimes = new LatencyHistogram();
+
+    private final LatencyHistogram stepTimes = new LatencyHistogram();
+
+    private final LatencyHistogram settleTimes = new LatencyHistogram();
+
+    private final LatencyHistogram acceptTimes = new LatencyHistogram();
+
+    private final LongAdder created = new LongAdder();
+
+    private final LongAdder sold = new LongAdder();
+
+    private final LongAdder unsold = new LongAdder();
+
+    private final LongAdder commands = new LongAdder();
+
+    /**
+     * Auctions with at least one active client, the bid pump bids for them while they run
+     */
+    private final Set<Auction> auctionsWithActiveClients = ConcurrentHashMap.newKeySet();
+
+    /**
+     * One permit per auction that can still be opened, given back when an auction ends
+     */
+    private Semaphore openAuctions;
+
+    private volatile boolean running = true;
+
+    private LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.random = new Random(longOption("seed", 42));
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // decided before the engine configuration is loaded, the generator never shows any window
+        setProperty("auction.headless", "true");
+        setProperty("auction.autostart", "true");
+
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0)
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        new LoadGenerator(options).run();
+        AuctionHouse.getInstance().getJournal().close();
+        exit(0);
+    }
+
+    private void run() throws IOException, InterruptedException {
+        AuctionHouse.getInstance().getObservers().add(new Recorder());
+        out.println("Engine: " + EngineConfig.ENGINE_MODE + " on " + EngineConfig.ENGINE_THREADS + " threads");
+
+        long start = nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(longOption("timeoutSeconds", 120));
+        String script = options.get("script");
+        if (script != null)
+            replay(script);
+        else
+            generate(deadline);
+
+        while (sold.sum() + unsold.sum() < created.sum() && nanoTime() - deadline < 0)
+            Thread.sleep(10);
+        running = false;
+        report(nanoTime() - start);
+    }
+
+    /**
+     * Replay a command script, parsed and executed exactly like the standard input of {@link Main}
+     */
+    private void replay(String script) throws IOException, InterruptedException {
+        CommandPipeline pipeline = new CommandPipeline(EngineConfig.COMMAND_QUEUE_CAPACITY);
+        try (InputStream input = new FileInputStream(script); CommandReader reader = new CommandReader(input)) {
+            while (reader.next()) {
+                AllCommands verb = reader.getVerb();
+                if (verb == null) {
+                    err.println("Command " + reader.getWords()[0] + " does not exist (line " +
+                            reader.getLineNumber() + ")");
+                    continue;
+                }
+                long parseStart = nanoTime();
+                Command command = Main.createCommand(verb, reader.getWords());
+                CommandTimings.getInstance().recordParse(verb, nanoTime() - parseStart);
+                if (command == null)
+                    break;
+                pipeline.submit(verb, command);
+                commands.increment();
+            }
+        }
+        pipeline.finish();
+    }
+
+    /**
+     * Synthesize the auction house and the command stream, until every auction is issued or the deadline
+     * passes while waiting for a free slot in the window
+     * @param deadline {@link System#nanoTime()} when the run times out
+     */
+    private void generate(long deadline) throws InterruptedException {
+        int nrAuctions = intOption("auctions", 1000);
+        int nrParticipants = intOption("participants", 4);
+        int nrSteps = intOption("steps", 3);
+        int nrClients = Math.max(intOption("clients", 512), nrParticipants);
+        double activeRatio = doubleOption("active", 0.25);
+        String type = options.get("type");
+        long rate = longOption("rate", 0);
+        long commandInterval = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        openAuctions = new Semaphore(intOption("window", 64));
+
+        populate(nrAuctions, nrClients, intOption("brokers", 8));
+        Thread bidPump = new Thread(this::pumpBids, "bid-pump");
+        bidPump.setDaemon(true);
+        bidPump.start();
+
+        long nextCommand = nanoTime();
+        for (int i = 0; i < nrAuctions; i++) {
+            // an auction that never ends keeps its permit, the timeout still has to be reached
+            if (!openAuctions.tryAcquire(deadline - nanoTime(), TimeUnit.NANOSECONDS)) {
+                err.println("No auction ended before the timeout, " + (nrAuctions - i) + " auctions not issued");
+                return;
+            }
+            int productId = FIRST_ID + i;
+            // consecutive clients, so no client enrolls twice in the same auction
+            int firstClient = random.nextInt(nrClients);
+            boolean anyActive = false;
+            for (int j = 0; j < nrParticipants; j++) {
+                int clientId = FIRST_ID + (firstClient + j) % nrClients;
+                boolean isActive = random.nextDouble() < activeRatio;
+                anyActive |= isActive;
+                String maxBid = String.valueOf(maxBidOf(clientId));
+                Command command = j == 0
+                        ? new StartAuction(String.valueOf(clientId), maxBid, String.valueOf(isActive),
+                        String.valueOf(productId), String.valueOf(nrParticipants), String.valueOf(nrSteps), type)
+                        : new EnrollInAuction(String.valueOf(clientId), maxBid, String.valueOf(isActive),
+                        String.valueOf(productId));
+
+                nextCommand += commandInterval;
+                long wait = nextCommand - nanoTime();
+                if (wait > 0)
+                    LockSupport.parkNanos(wait);
+                execute(j == 0 ? AllCommands.start_auction : AllCommands.enroll_in_auction, command);
+            }
+            // once its start_auction has run, the bid pump drops it when it sees the auction has ended
+            Auction auction = AuctionHouse.getInstance().getAuctionById(productId);
+            if (anyActive && auction != null)
+                auctionsWithActiveClients.add(auction);
+        }
+    }
+
+    private void execute(AllCommands verb, Command command) {
+        long start = nanoTime();
+        command.execute();
+        CommandTimings.getInstance().recordExecute(verb, nanoTime() - start);
+        commands.increment();
+    }
+
+    /**
+     * An administrator, the brokers, the clients and a painting for every auction
+     */
+    private static void populate(int nrAuctions, int nrClients, int nrBrokers) {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        auctionHouse.setAdministrator(new Administrator("Load generator"));
+
+        List<Product> products = new ArrayList<>(nrAuctions);
+        for (int i = 0; i < nrAuctions; i++)
+            products.add(new PaintingBuilder().withId(FIRST_ID + i).withName("Painting " + i)
+                    .withMinimumPrice(MINIMUM_PRICE).withYear(1900 + i % 100).withPainterName("Painter " + i % 50)
+                    .withColor("oil").build());
+        List<Client> clients = new ArrayList<>(nrClients);
+        for (int i = 0; i < nrClients; i++) {
+            // physical persons are equal when they share their birthday, so every client gets its own
+            int id = FIRST_ID + i;
+            clients.add(new PhysicalPerson(id, "Client " + i, "Address " + i, "born " + id));
+        }
+        List<Broker> brokers = new ArrayList<>(nrBrokers);
+        for (int i = 0; i < nrBrokers; i++)
+            brokers.add(new Broker("Broker " + i));
+        auctionHouse.publishBulk(products, clients, brokers);
+    }
+
+    /**
+     * A client bids up to the same sum in every auction, the clients enrolled in several auctions at
+     * once share their max bid between them
+     */
+    private static int maxBidOf(int clientId) {
+        return MINIMUM_PRICE / 2 + (clientId * 37) % (MINIMUM_PRICE * 2);
+    }
+
+    /**
+     * Place a bid for every auction with active clients that is bidding and has no bid waiting
+     */
+    private void pumpBids() {
+        Random bidRandom = new Random(longOption("seed", 42) + 1);
+        long interval = TimeUnit.MICROSECONDS.toNanos(longOption("bidIntervalMicros", 50));
+        while (running) {
+            for (Auction auction : auctionsWithActiveClients) {
+                AuctionPhase phase = auction.getState().getPhase();
+                if (phase == AuctionPhase.SETTLED || phase == AuctionPhase.UNSOLD)
+                    auctionsWithActiveClients.remove(auction);
+                else if (phase == AuctionPhase.BIDDING_STEP && auction.getBidInbox().depth() == 0) {
+                    int amount = auction.getMinBid() + bidRandom.nextInt(MINIMUM_PRICE / 2 + 1);
+                    execute(AllCommands.place_bid, new PlaceBid(String.valueOf(auction.getId()),
+                            String.valueOf(amount)));
+                }
+            }
+            LockSupport.parkNanos(interval);
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long finished = sold.sum() + unsold.sum();
+        out.printf("%d commands, %d auctions created, %d sold, %d unsold in %.3f s%n", commands.sum(),
+                created.sum(), sold.sum(), unsold.sum(), seconds);
+        out.printf("Throughput: %.1f commands/s, %.1f auctions/s%n", commands.sum() / seconds, finished / seconds);
+        out.println("Fill time:       " + fillTimes);
+        out.println("Step time:       " + stepTimes);
+        out.println("Settlement time: " + settleTimes);
+        if (acceptTimes.getCount() > 0)
+            out.println("Accept time:     " + acceptTimes);
+        if (finished < created.sum())
+            out.println((created.sum() - finished) + " auctions did not end before the timeout");
+        out.print(CommandTimings.getInstance());
+    }
+
+    private int intOption(String key, int defaultValue) {
+        return options.containsKey(key) ? Integer.parseInt(options.get(key)) : defaultValue;
+    }
+
+    private long longOption(String key, long defaultValue) {
+        return options.containsKey(key) ? Long.parseLong(options.get(key)) : defaultValue;
+    }
+
+    private double doubleOption(String key, double defaultValue) {
+        return options.containsKey(key) ? Double.parseDouble(options.get(key)) : defaultValue;
+    }
+
+    /**
+     * Records the latencies of every auction, the window of open auctions shrinks when one ends
+     */
+    private class Recorder implements AuctionObserver {
+
+        @Override
+        public void auctionCreated(Auction auction) {
+            created.increment();
+        }
+
+        @Override
+        public void auctionFull(Auction auction, long fillNanos) {
+            fillTimes.record(fillNanos);
+        }
+
+        @Override
+        public void stepFinished(Auction auction, int step, long stepNanos) {
+            stepTimes.record(stepNanos);
+        }
+
+        @Override
+        public void bidMatched(Auction auction, boolean accepted, long acceptNanos) {
+            acceptTimes.record(acceptNanos);
+        }
+
+        @Override
+        public void auctionFinished(Auction auction, boolean isSold, long settleNanos) {
+            settleTimes.record(settleNanos);
+            (isSold ? sold : unsold).increment();
+            if (openAuctions != null)
+                openAuctions.release();
+        }
+    }
+}
@@ -1,28 +1,37 @@
 package testing;
 
+import auction.institution.AuctionHouse;
+import auction.institution.engine.EngineConfig;
+import command.Command;
 import command.client_auction.EnrollInAuction;
 import command.client_auction.PlaceBid;
 import command.client_auction.StartAuction;
+import command.client_auction.SubmitOrder;
 import command.initialize_auctionhouse.LoadAdministrator;
+import command.initialize_auctionhouse.LoadAll;
 import command.initialize_auctionhouse.LoadBrokers;
 import command.initialize_auctionhouse.LoadClients;
 import command.initialize_auctionhouse.LoadProducts;
+import command.initialize_auctionhouse.RecoverJournal;
+import command.print_info.ListAuctionEngine;
 import command.print_info.ListBrokers;
 import command.print_info.ListBrokersBalance;
 import command.print_info.ListClients;
+import command.print_info.ListCommandTimings;
+import command.print_info.ListJournal;
+import command.print_info.ListMetrics;
+import command.print_info.ListOrderBooks;
 import command.print_info.ListProducts;
+import command.snapshot.LoadSnapshot;
+import command.snapshot.SaveSnapshot;
 import gui.StartWindow;
 import lombok.SneakyThrows;
 
 import javax.swing.*;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Scanner;
 
-import static command.Console.addRequest;
-import static command.Console.executeCommands;
 import static java.lang.System.*;
 
 /**
@@ -32,48 +41,87 @@ public class Main {
 
     /**
      * choose which command to be executed
-     * @param line line of input
+     * @param verb first word of the line, determines which command we call
+     * @param words words of the line, the verb followed by the arguments of the command
+     * @return the command, <strong>null</strong> for "exit" and "quit"
      */
-    private static void executeMethod(String line) {
-        List<String> words = Arrays.asList(line.split(" "));
+    static Command createCommand(AllCommands verb, String[] words) {
         // test possible commands
-        switch (AllCommands.valueOf(words.get(0))) { // first word determines which command we call
-            case start_auction -> addRequest(new StartAuction(words.get(1), words.get(2), words.get(3),
-                    words.get(4), words.get(5), words.get(6)));
-            case enroll_in_auction -> addRequest(new EnrollInAuction(words.get(1), words.get(2), words.get(3),
-                    words.get(4)));
-            case place_bid -> addRequest(new PlaceBid(words.get(1), words.get(2)));
-            case load_products -> addRequest(new LoadProducts());
-            case load_clients -> addRequest(new LoadClients());
-            case load_brokers -> addRequest(new LoadBrokers());
-            case load_administrator -> addRequest(new LoadAdministrator(words.get(1)));
-            case list_brokers -> addRequest(new ListBrokers());
-            case list_clients -> addRequest(new ListClients());
-            case list_products -> addRequest(new ListProducts());
-            case list_brokers_balance -> addRequest(new ListBrokersBalance());
-            case exit, quit -> finalActions();
-            default -> throw new IllegalArgumentException("Command " + words.get(0) + " does not exist");
-        }
+        return switch (verb) {
+            case start_auction -> new StartAuction(words[1], words[2], words[3], words[4], words[5], words[6],
+                    words[7]);
+            case enroll_in_auction -> new EnrollInAuction(words[1], words[2], words[3], words[4]);
+            case place_bid -> new PlaceBid(words[1], words[2], words[3]);
+            case submit_order -> new SubmitOrder(words[1], words[2], words[3], words[4], words[5]);
+            case load_products -> new LoadProducts();
+            case load_clients -> new LoadClients();
+            case load_brokers -> new LoadBrokers();
+            case load_all -> new LoadAll();
+            case load_administrator -> new LoadAdministrator(words[1]);
+            case save_snapshot -> new SaveSnapshot(words[1]);
+            case load_snapshot -> new LoadSnapshot(words[1]);
+            case recover_journal -> new RecoverJournal(words[1]);
+            case list_brokers -> new ListBrokers();
+            case list_clients -> new ListClients();
+            case list_products -> new ListProducts();
+            case list_brokers_balance -> new ListBrokersBalance();
+            case list_auction_engine -> new ListAuctionEngine();
+            case list_journal -> new ListJournal();
+            case list_command_timings -> new ListCommandTimings();
+            case list_metrics -> new ListMetrics();
+            case list_order_books -> new ListOrderBooks();
+            case exit, quit -> null;
+        };
     }
 
     /**
      * When "quit" or "exit" is called, execute all commands so far and exit the program
      */
     private static void finalActions() {
+        AuctionHouse.getInstance().getJournal().close(); // write the events still pending
         exit(0);
     }
 
     /**
-     * Reads input from the input stream
+     * Reads input from the input stream, the commands are parsed on this thread and executed in order
+     * by the {@link CommandPipeline}
      */
+    @SneakyThrows(InterruptedException.class)
     private static void readInput() {
-        try (Scanner scanner = new Scanner(in)) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                executeMethod(line);
-                executeCommands();
+        CommandTimings timings = CommandTimings.getInstance();
+        CommandPipeline pipeline = new CommandPipeline(EngineConfig.COMMAND_QUEUE_CAPACITY);
+        boolean exitRequested = false;
+        try (CommandReader reader = new CommandReader(in)) {
+            while (!exitRequested && reader.next()) {
+                AllCommands verb = reader.getVerb();
+                if (verb == null) {
+                    err.println("Command " + reader.getWords()[0] + " does not exist (line " +
+                            reader.getLineNumber() + ")");
+                    continue;
+                }
+
+                long start = nanoTime();
+                Command command;
+                try {
+                    command = createCommand(verb, reader.getWords());
+                } catch (RuntimeException e) {
+                    err.println("Invalid arguments for " + verb + " on line " + reader.getLineNumber() + ": " + e);
+                    continue;
+                }
+                timings.recordParse(verb, nanoTime() - start);
+
+                if (command == null)
+                    exitRequested = true;
+                else
+                    pipeline.submit(verb, command);
             }
+        } catch (IOException e) {
+            e.printStackTrace();
         }
+
+        pipeline.finish();
+        if (exitRequested)
+            finalActions();
     }
 
     @SneakyThrows
@@ -82,10 +130,12 @@ public class Main {
         System.setOut(new PrintStream(new FileOutputStream("commandResults.out")));
         System.setErr(new PrintStream(new FileOutputStream("commandErrors.err")));
 
-        // start swing gui on EVENT DISPATCH THREAD
-        SwingUtilities.invokeLater(StartWindow.getInstance());
         out.println("Welcome to our store");
-        Thread.sleep(500);
+        if (!EngineConfig.HEADLESS) {
+            // start swing gui on EVENT DISPATCH THREAD
+            SwingUtilities.invokeLater(StartWindow.getInstance());
+            Thread.sleep(500);
+        }
         readInput();
     }
 }
@@ -134,8 +134,7 @@ public class AuctionHouseTest {
         AuctionHouse auctionHouse = AuctionHouse.getInstance();
         initializeAuctionCreation(auctionHouse);
 
-        Product randomProduct = auctionHouse.getProductList().get((new Random())
-                .nextInt(auctionHouse.getProductList().size()));
+        Product randomProduct = AuctionTestSupport.randomAvailableProduct();
         auctionHouse.createAuctionForProduct(randomProduct.getId(), (new Random()).nextInt(10),
                 (new Random()).nextInt(10));
 
@@ -189,8 +188,7 @@ public class AuctionHouseTest {
 
         List<Product> productList = (new ParseProducts("product_deposit.json")).readProducts();
         productList.forEach(auctionHouse.getAdministrator()::addProductToDeposit);
-        Product randomProduct = auctionHouse.getProductList().get((new Random())
-                .nextInt(auctionHouse.getProductList().size()));
+        Product randomProduct = AuctionTestSupport.randomAvailableProduct();
 
         Client randomClient1 = auctionHouse.getClientList().get(0);
         Client randomClient2 = auctionHouse.getClientList().get(1);
@@ -213,8 +211,7 @@ public class AuctionHouseTest {
 
         List<Product> productList = (new ParseProducts("product_deposit.json")).readProducts();
         productList.forEach(auctionHouse.getAdministrator()::addProductToDeposit);
-        Product randomProduct = auctionHouse.getProductList().get((new Random())
-                .nextInt(auctionHouse.getProductList().size()));
+        Product randomProduct = AuctionTestSupport.randomAvailableProduct();
 
         Client randomClient1 = auctionHouse.getClientList().get(0);
 
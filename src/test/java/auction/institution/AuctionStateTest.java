@@ -0,0 +1,109 @@
+package auction.institution;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AuctionStateTest {
+
+    @Test
+    public void auctionGoesThroughItsPhasesInOrder() {
+        AuctionState state = new AuctionState(2);
+        assertEquals(AuctionPhase.WAITING_FOR_PARTICIPANTS, state.getPhase());
+        assertFalse(state.start()); // not ready yet
+        assertFalse(state.nextStep());
+        assertFalse(state.finish(true));
+
+        assertEquals(1, state.enroll());
+        assertEquals(AuctionPhase.WAITING_FOR_PARTICIPANTS, state.getPhase());
+        assertEquals(2, state.enroll());
+        assertEquals(AuctionPhase.READY, state.getPhase());
+        assertEquals(-1, state.enroll());
+        assertEquals(0, state.getStep());
+        assertFalse(state.nextStep());
+
+        assertTrue(state.start());
+        assertEquals(AuctionPhase.BIDDING_STEP, state.getPhase());
+        assertEquals(1, state.getStep());
+        assertFalse(state.start());
+        assertEquals(-1, state.enroll());
+        assertTrue(state.nextStep());
+        assertEquals(2, state.getStep());
+        assertEquals("BIDDING_STEP(2)", state.toString());
+
+        assertTrue(state.finish(true));
+        assertEquals(AuctionPhase.SETTLED, state.getPhase());
+        assertEquals(2, state.getStep());
+        assertEquals(2, state.getParticipants());
+        assertFalse(state.nextStep());
+        assertFalse(state.start());
+    }
+
+    @Test
+    public void auctionWithoutRequiredParticipantsIsReadyAtOnce() {
+        AuctionState state = new AuctionState(0);
+        assertEquals(AuctionPhase.READY, state.getPhase());
+        assertEquals(-1, state.enroll());
+        assertTrue(state.start());
+    }
+
+    @Test
+    public void auctionFinishesOnlyOnce() {
+        AuctionState state = new AuctionState(0);
+        state.start();
+        assertTrue(state.finish(false));
+        assertFalse(state.finish(true));
+        assertFalse(state.finish(false));
+        assertEquals(AuctionPhase.UNSOLD, state.getPhase());
+    }
+
+    @Test
+    public void stepStopsAtTheLastOneThePackedWordHolds() {
+        AuctionState state = new AuctionState(1);
+        state.enroll();
+        state.start();
+        for (int step = 1; step < AuctionState.MAX_STEP; step++)
+            assertTrue(state.nextStep());
+        assertEquals(AuctionState.MAX_STEP, state.getStep());
+
+        assertFalse(state.nextStep()); // does not wrap around to step 0
+        assertEquals(AuctionState.MAX_STEP, state.getStep());
+        assertEquals(AuctionPhase.BIDDING_STEP, state.getPhase());
+        assertEquals(1, state.getParticipants());
+        assertTrue(state.finish(true));
+        assertEquals(AuctionPhase.SETTLED, state.getPhase());
+        assertEquals(AuctionState.MAX_STEP, state.getStep());
+    }
+
+    @Test
+    public void onlyOneOfTheRacingStartsWins() throws Exception {
+        int nrThreads = 4;
+        for (int round = 0; round < 1_000; round++) {
+            AuctionState state = new AuctionState(0);
+            AtomicInteger nrStarted = new AtomicInteger();
+            CountDownLatch go = new CountDownLatch(1);
+            Thread[] threads = new Thread[nrThreads];
+            for (int i = 0; i < nrThreads; i++) {
+                threads[i] = new Thread(() -> {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (state.start())
+                        nrStarted.incrementAndGet();
+                });
+                threads[i].start();
+            }
+            go.countDown();
+            for (Thread thread : threads)
+                thread.join();
+
+            assertEquals("starts won in round " + round, 1, nrStarted.get());
+            assertEquals(1, state.getStep());
+        }
+    }
+}
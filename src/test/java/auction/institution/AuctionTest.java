@@ -44,8 +44,7 @@ public class AuctionTest {
         List<Product> productList = (new ParseProducts("product_deposit.json")).readProducts();
         productList.forEach(auctionHouse.getAdministrator()::addProductToDeposit);
 
-        Product randomProduct = auctionHouse.getProductList().get((new Random())
-                .nextInt(auctionHouse.getProductList().size()));
+        Product randomProduct = AuctionTestSupport.randomAvailableProduct();
         Client randomClient1 = auctionHouse.getClientList().get(0);
         Client randomClient2 = auctionHouse.getClientList().get(1);
         Client randomClient3 = auctionHouse.getClientList().get(2);
@@ -88,8 +87,7 @@ public class AuctionTest {
         List<Product> productList = (new ParseProducts("product_deposit.json")).readProducts();
         productList.forEach(auctionHouse.getAdministrator()::addProductToDeposit);
 
-        Product randomProduct = auctionHouse.getProductList().get((new Random())
-                .nextInt(auctionHouse.getProductList().size()));
+        Product randomProduct = AuctionTestSupport.randomAvailableProduct();
         Client randomClient = auctionHouse.getClientList().get(0);
 
         Auction auction = randomClient.createAuctionForProduct(randomProduct.getId(), randomClient.getMaxBid(),
@@ -121,8 +119,7 @@ public class AuctionTest {
         List<Product> productList = (new ParseProducts("product_deposit.json")).readProducts();
         productList.forEach(auctionHouse.getAdministrator()::addProductToDeposit);
 
-        Product randomProduct = auctionHouse.getProductList().get((new Random())
-                .nextInt(auctionHouse.getProductList().size()));
+        Product randomProduct = AuctionTestSupport.randomAvailableProduct();
         Broker randomBroker = auctionHouse.getBrokerList().get((new Random())
                 .nextInt(auctionHouse.getBrokerList().size()));
         Client randomClient = auctionHouse.getClientList().get(0);
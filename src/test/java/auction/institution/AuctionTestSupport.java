@@ -0,0 +1,90 @@
+package auction.institution;
+
+import auction.institution.clients.Client;
+import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.broker.Broker;
+import auction.storage.Product;
+import auction.storage.painting.PaintingBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Auctions of a painting between clients made up for the test, shared by the tests of the auction types.
+ * The id of a client is derived from the id of its auction and its enrollment order, see {@link #clientIdOf}
+ */
+public final class AuctionTestSupport {
+
+    private static final long END_TIMEOUT_MILLIS = 10_000;
+
+    private AuctionTestSupport() {}
+
+    /**
+     * Add a painting to the auction house and create an auction for it, along with a broker of its own
+     */
+    public static Auction createAuction(int productId, double minimumPrice, int nrParticipants, int nrMaxSteps,
+                                        AuctionType type) throws Exception {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        auctionHouse.addNewBroker(new Broker("Test broker " + productId));
+        Product product = new PaintingBuilder().withId(productId).withName(type + " painting")
+                .withMinimumPrice(minimumPrice).withYear(1900).withPainterName("Painter").withColor("oil").build();
+        auctionHouse.addNewProduct(product);
+        return auctionHouse.createAuctionForProduct(productId, nrParticipants, nrMaxSteps, type);
+    }
+
+    /**
+     * Pick a product of the deposit that is not already being auctioned, the auctions of the other tests keep
+     * their products reserved until they end
+     */
+    public static Product randomAvailableProduct() {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        List<Product> available = auctionHouse.getProductList().stream()
+                .filter(product -> auctionHouse.getInventory().isAvailable(product.getId()))
+                .collect(Collectors.toList());
+        return available.get(new Random().nextInt(available.size()));
+    }
+
+    /**
+     * @return id of the client enrolled at this index in the auction by {@link #subscribe}
+     */
+    public static int clientIdOf(Auction auction, int index) {
+        return auction.getId() * 10 + index;
+    }
+
+    /**
+     * Enroll a new client for every max bid, in order
+     */
+    public static Client[] subscribe(Auction auction, boolean isActive, int... maxBids) throws Exception {
+        Client[] clients = new Client[maxBids.length];
+        for (int i = 0; i < maxBids.length; i++) {
+            int clientId = clientIdOf(auction, auction.getNrCurrentParticipants());
+            clients[i] = new PhysicalPerson(clientId, "Client " + clientId, "Address", "born " + clientId);
+            clients[i].setMaxBid(maxBids[i]);
+            auction.subscribeClientToAuction(clients[i], isActive);
+        }
+        return clients;
+    }
+
+    /**
+     * Start the auction and wait until it is settled or unsold
+     */
+    public static void awaitEnd(Auction auction) throws InterruptedException {
+        auction.requestStart(); // ignored when the auction has started on its own
+        long deadline = System.currentTimeMillis() + END_TIMEOUT_MILLIS;
+        while (!auction.getState().getPhase().isFinal()) {
+            assertTrue("auction " + auction.getId() + " did not end", System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * An unsold product stays in the deposit of the shared auction house, where the other tests pick their products
+     */
+    public static void removeIfUnsold(Auction auction) {
+        if (auction.getState().getPhase() == AuctionPhase.UNSOLD)
+            AuctionHouse.getInstance().removeProduct(auction.getProductToSale());
+    }
+}
@@ -0,0 +1,130 @@
+package auction.institution;
+
+import auction.institution.BidInbox.CoalescePolicy;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BidInboxTest {
+
+    @Test
+    public void bidsOfManyProducersAreTakenOnceInTheirOrder() throws Exception {
+        int nrProducers = 4;
+        int nrBidsPerProducer = 20_000;
+        BidInbox inbox = new BidInbox(1024, CoalescePolicy.NONE);
+        Thread[] producers = new Thread[nrProducers];
+        for (int i = 0; i < nrProducers; i++) {
+            int producer = i;
+            producers[i] = new Thread(() -> {
+                for (int amount = 0; amount < nrBidsPerProducer; amount++)
+                    while (!inbox.offer(BidInbox.pack(producer, amount)))
+                        Thread.onSpinWait(); // full, wait for the consumer
+            });
+            producers[i].start();
+        }
+
+        int[] nextAmount = new int[nrProducers];
+        long deadline = System.currentTimeMillis() + 30_000;
+        for (int taken = 0; taken < nrProducers * nrBidsPerProducer; ) {
+            long bid = inbox.poll();
+            if (bid == BidInbox.NO_BID) {
+                assertTrue("bids lost", System.currentTimeMillis() < deadline);
+                continue;
+            }
+            int producer = BidInbox.clientOf(bid);
+            assertEquals("bid of producer " + producer, nextAmount[producer]++, BidInbox.amountOf(bid));
+            taken++;
+        }
+        for (Thread producer : producers)
+            producer.join();
+
+        assertEquals(BidInbox.NO_BID, inbox.poll());
+        assertEquals(0, inbox.depth());
+        for (int amount : nextAmount)
+            assertEquals(nrBidsPerProducer, amount);
+    }
+
+    @Test
+    public void fullRingDropsTheBid() {
+        BidInbox inbox = new BidInbox(3, CoalescePolicy.NONE); // rounded up to 4
+        assertEquals(4, inbox.capacity());
+        for (int amount = 1; amount <= 4; amount++)
+            assertTrue(inbox.offer(BidInbox.pack(1, amount)));
+        assertEquals(4, inbox.depth());
+
+        assertFalse(inbox.offer(BidInbox.pack(1, 5)));
+        assertEquals(1, inbox.getDropped());
+        assertEquals(4, inbox.depth());
+
+        assertEquals(1, BidInbox.amountOf(inbox.poll()));
+        assertEquals(3, inbox.depth());
+        assertTrue(inbox.offer(BidInbox.pack(1, 6)));
+        assertEquals(1, inbox.getDropped());
+    }
+
+    @Test
+    public void ringWrapsAroundItsCapacity() {
+        BidInbox inbox = new BidInbox(4, CoalescePolicy.NONE);
+        int amount = 0;
+        for (int lap = 0; lap < 10; lap++) {
+            for (int i = 0; i < 3; i++)
+                assertTrue(inbox.offer(BidInbox.pack(BidInbox.ANY_CLIENT, amount + i)));
+            assertEquals(3, inbox.depth());
+            for (int i = 0; i < 3; i++) {
+                long bid = inbox.poll();
+                assertEquals(BidInbox.ANY_CLIENT, BidInbox.clientOf(bid));
+                assertEquals(amount++, BidInbox.amountOf(bid));
+            }
+            assertEquals(0, inbox.depth());
+        }
+        assertEquals(BidInbox.NO_BID, inbox.poll());
+        assertEquals(0, inbox.getDropped());
+    }
+
+    @Test
+    public void latestPendingBidIsTaken() {
+        BidInbox inbox = new BidInbox(8, CoalescePolicy.LATEST);
+        inbox.offer(BidInbox.pack(1, 100));
+        inbox.offer(BidInbox.pack(2, 300));
+        long beforeLast = System.nanoTime();
+        inbox.offer(BidInbox.pack(3, 200));
+
+        long bid = inbox.poll();
+        assertEquals(3, BidInbox.clientOf(bid));
+        assertEquals(200, BidInbox.amountOf(bid));
+        assertTrue(inbox.getLastOfferNanos() >= beforeLast);
+        assertEquals(2, inbox.getCoalesced());
+        assertEquals(0, inbox.depth());
+        assertEquals(BidInbox.NO_BID, inbox.poll());
+    }
+
+    @Test
+    public void highestPendingBidIsTakenWithItsOfferTime() {
+        BidInbox inbox = new BidInbox(8, CoalescePolicy.HIGHEST);
+        inbox.offer(BidInbox.pack(1, 100));
+        long beforeHighest = System.nanoTime();
+        inbox.offer(BidInbox.pack(2, 300));
+        long afterHighest = System.nanoTime();
+        inbox.offer(BidInbox.pack(3, 200));
+
+        long bid = inbox.poll();
+        assertEquals(2, BidInbox.clientOf(bid));
+        assertEquals(300, BidInbox.amountOf(bid));
+        assertTrue(inbox.getLastOfferNanos() >= beforeHighest);
+        assertTrue(inbox.getLastOfferNanos() <= afterHighest);
+        assertEquals(2, inbox.getCoalesced());
+        assertEquals(BidInbox.NO_BID, inbox.poll());
+    }
+
+    @Test
+    public void noBidIsNeverAPackedBid() {
+        assertTrue(BidInbox.pack(BidInbox.ANY_CLIENT, 0) != BidInbox.NO_BID);
+        assertTrue(BidInbox.pack(0, Integer.MIN_VALUE) != BidInbox.NO_BID);
+        try {
+            BidInbox.pack(Integer.MIN_VALUE, 0);
+            fail("the client id of NO_BID has been packed");
+        } catch (IllegalArgumentException e) {
+            // reserved
+        }
+    }
+}
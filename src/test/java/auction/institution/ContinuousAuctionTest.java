@@ -0,0 +1,75 @@
+package auction.institution;
+
+import auction.institution.clients.Client;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static auction.institution.AuctionTestSupport.*;
+import static org.junit.Assert.*;
+
+public class ContinuousAuctionTest {
+
+    private static final int FIRST_PRODUCT_ID = 7_200_001;
+
+    @Test
+    public void passiveClientsOutbidEachOtherByTheIncrement() throws Exception {
+        Auction auction = createAuction(FIRST_PRODUCT_ID, 3);
+        Client[] clients = subscribe(auction, false, 300, 450, 420);
+        awaitEnd(auction);
+
+        assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+        assertEquals(421, auction.getProductToSale().getSalePrice(), 0);
+        assertEquals(1, clients[1].getNrOfWonAuctions());
+    }
+
+    @Test
+    public void bidsBelowTheIncrementAreRejected() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AuctionObserver counter = new AuctionObserver() {
+            @Override
+            public void bidMatched(Auction auction, boolean isAccepted, long acceptNanos) {
+                (isAccepted ? accepted : rejected).incrementAndGet();
+            }
+        };
+        AuctionHouse.getInstance().getObservers().add(counter);
+        try {
+            Auction auction = createAuction(FIRST_PRODUCT_ID + 1, 2);
+            int activeId = clientIdOf(auction, 0);
+            // queued before the auction starts, matched in order once it runs
+            auction.placeBid(activeId, 300);
+            auction.placeBid(activeId, 301); // the passive client answers 300 with 301
+            auction.placeBid(activeId, 500);
+            Client active = subscribe(auction, true, 1000)[0];
+            Client passive = subscribe(auction, false, 400)[0];
+            awaitEnd(auction);
+
+            assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+            assertEquals(500, auction.getProductToSale().getSalePrice(), 0);
+            assertEquals(1, active.getNrOfWonAuctions());
+            assertEquals(0, passive.getNrOfWonAuctions());
+            assertEquals(2, accepted.get());
+            assertEquals(1, rejected.get());
+        } finally {
+            AuctionHouse.getInstance().getObservers().remove(counter);
+        }
+    }
+
+    @Test
+    public void auctionClosesAfterTheIdleTime() throws Exception {
+        Auction auction = createAuction(FIRST_PRODUCT_ID + 2, 2);
+        auction.setIdleMillis(50);
+        subscribe(auction, true, 1000);
+        Client passive = subscribe(auction, false, 200)[0];
+        awaitEnd(auction);
+
+        assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+        assertEquals(151, auction.getProductToSale().getSalePrice(), 0); // the lowest bid above the minimum price
+        assertEquals(1, passive.getNrOfWonAuctions());
+    }
+
+    private static Auction createAuction(int productId, int nrParticipants) throws Exception {
+        return AuctionTestSupport.createAuction(productId, 150, nrParticipants, 1, AuctionType.CONTINUOUS);
+    }
+}
@@ -0,0 +1,89 @@
+package auction.institution;
+
+import auction.institution.clients.Client;
+import org.junit.Test;
+
+import static auction.institution.AuctionTestSupport.*;
+import static org.junit.Assert.*;
+
+/**
+ * The asking price of these auctions falls in 5 steps from 300 (twice the minimum price of 150) to 151:
+ * 300, 263, 226, 189, 151
+ */
+public class DutchAuctionTest {
+
+    private static final int FIRST_PRODUCT_ID = 7_300_001;
+
+    private static final int NR_STEPS = 5;
+
+    @Test
+    public void highestLimitWinsAtTheFirstPriceItCovers() throws Exception {
+        Auction auction = createAuction(FIRST_PRODUCT_ID, 3);
+        Client[] clients = subscribe(auction, false, 200, 260, 230);
+        awaitEnd(auction);
+
+        assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+        assertEquals(226, auction.getProductToSale().getSalePrice(), 0);
+        assertEquals(3, auction.getState().getStep());
+        assertEquals(1, clients[1].getNrOfWonAuctions());
+    }
+
+    @Test
+    public void activeClientWinsWithTheLimitItPlaced() throws Exception {
+        Auction auction = createAuction(FIRST_PRODUCT_ID + 1, 2);
+        auction.placeBid(clientIdOf(auction, 0), 280); // taken by the clock on its first tick
+        Client active = subscribe(auction, true, 1000)[0];
+        Client passive = subscribe(auction, false, 260)[0];
+        awaitEnd(auction);
+
+        assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+        assertEquals(263, auction.getProductToSale().getSalePrice(), 0);
+        assertEquals(1, active.getNrOfWonAuctions());
+        assertEquals(0, passive.getNrOfWonAuctions());
+    }
+
+    @Test
+    public void productIsNotSoldWhenNobodyCoversTheMinimumPrice() throws Exception {
+        Auction auction = createAuction(FIRST_PRODUCT_ID + 2, 2);
+        subscribe(auction, false, 140, 150);
+        awaitEnd(auction);
+        removeIfUnsold(auction);
+
+        assertEquals(AuctionPhase.UNSOLD, auction.getState().getPhase());
+        assertEquals(NR_STEPS, auction.getState().getStep());
+        assertNull(auction.getProductToSale().getSalePrice());
+    }
+
+    @Test
+    public void brokenTickStopsTheAuctionUnsold() throws Exception {
+        Auction auction = createAuction(FIRST_PRODUCT_ID + 3, 2);
+        AuctionObserver brokenTick = new AuctionObserver() {
+            @Override
+            public void stepFinished(Auction finished, int step, long stepNanos) {
+                if (finished == auction)
+                    throw new IllegalStateException("broken tick");
+            }
+        };
+        AuctionObservers observers = AuctionHouse.getInstance().getObservers();
+        observers.add(brokenTick);
+        try {
+            Auction other = createAuction(FIRST_PRODUCT_ID + 4, 2);
+            subscribe(auction, false, 200, 260);
+            subscribe(other, false, 200, 260);
+            awaitEnd(auction);
+            awaitEnd(other);
+            removeIfUnsold(auction);
+
+            assertEquals(AuctionPhase.UNSOLD, auction.getState().getPhase());
+            assertEquals(1, auction.getState().getStep());
+            assertEquals(AuctionPhase.SETTLED, other.getState().getPhase());
+            assertEquals(226, other.getProductToSale().getSalePrice(), 0);
+        } finally {
+            observers.remove(brokenTick);
+        }
+    }
+
+    private static Auction createAuction(int productId, int nrParticipants) throws Exception {
+        return AuctionTestSupport.createAuction(productId, 150, nrParticipants, NR_STEPS, AuctionType.DUTCH);
+    }
+}
@@ -0,0 +1,95 @@
+package auction.institution;
+
+import auction.institution.clients.Client;
+import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.broker.Broker;
+import auction.storage.Product;
+import auction.storage.painting.PaintingBuilder;
+import org.junit.Test;
+
+import java.util.Objects;
+
+import static auction.institution.AuctionTestSupport.awaitEnd;
+import static auction.institution.AuctionTestSupport.removeIfUnsold;
+import static org.junit.Assert.*;
+
+public class PassiveFastPathTest {
+
+    private static final int PRODUCT_ID = 7_000_001;
+
+    private static final int NR_CLIENTS = 8;
+
+    @Test
+    public void fastPathReproducesTheStepByStepOutcome() throws Exception {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        auctionHouse.addNewBroker(new Broker("Fast path broker"));
+
+        for (long seed = 0; seed < 25; seed++) {
+            Outcome stepByStep = runAuction(auctionHouse, seed, false);
+            Outcome fastPath = runAuction(auctionHouse, seed, true);
+            assertEquals("seed " + seed, stepByStep, fastPath);
+        }
+    }
+
+    private Outcome runAuction(AuctionHouse auctionHouse, long seed, boolean passiveFastPath) throws Exception {
+        Product product = new PaintingBuilder().withId(PRODUCT_ID).withName("Passive painting")
+                .withMinimumPrice(150).withYear(1900).withPainterName("Painter").withColor("oil").build();
+        auctionHouse.addNewProduct(product);
+        Auction auction = auctionHouse.createAuctionForProduct(PRODUCT_ID, NR_CLIENTS, 6);
+        auction.getRandom().setSeed(seed);
+        auction.setPassiveFastPath(passiveFastPath);
+
+        Client[] clients = new Client[NR_CLIENTS];
+        for (int i = 0; i < NR_CLIENTS; i++) {
+            clients[i] = new PhysicalPerson(i, "Client " + i, "Address", "born " + i);
+            clients[i].setMaxBid(100 + (i * 73) % 300);
+            auction.subscribeClientToAuction(clients[i], false);
+        }
+        awaitEnd(auction);
+        removeIfUnsold(auction); // the product of the next run gets the same id
+
+        int winner = -1;
+        for (int i = 0; i < NR_CLIENTS; i++)
+            if (clients[i].getNrOfWonAuctions() > 0)
+                winner = i;
+        return new Outcome(auction.getState().getPhase(), auction.getState().getStep(), auction.getMinBid(),
+                winner, product.getSalePrice());
+    }
+
+    private static final class Outcome {
+
+        final AuctionPhase phase;
+        final int steps;
+        final int winningBid;
+        final int winner;
+        final Double salePrice;
+
+        Outcome(AuctionPhase phase, int steps, int winningBid, int winner, Double salePrice) {
+            this.phase = phase;
+            this.steps = steps;
+            this.winningBid = winningBid;
+            this.winner = winner;
+            this.salePrice = salePrice;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Outcome))
+                return false;
+            Outcome outcome = (Outcome) other;
+            return phase == outcome.phase && steps == outcome.steps && winningBid == outcome.winningBid
+                    && winner == outcome.winner && Objects.equals(salePrice, outcome.salePrice);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(phase, steps, winningBid, winner, salePrice);
+        }
+
+        @Override
+        public String toString() {
+            return phase + " after " + steps + " steps, bid " + winningBid + " by client " + winner
+                    + ", sold for " + salePrice;
+        }
+    }
+}
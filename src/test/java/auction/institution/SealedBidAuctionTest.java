@@ -0,0 +1,50 @@
+package auction.institution;
+
+import org.junit.Test;
+
+import static auction.institution.AuctionTestSupport.*;
+import static org.junit.Assert.*;
+
+public class SealedBidAuctionTest {
+
+    private static final int FIRST_PRODUCT_ID = 7_100_001;
+
+    @Test
+    public void bestBidderPaysTheSecondBestBid() throws Exception {
+        Auction auction = runAuction(FIRST_PRODUCT_ID, 150, 300, 450, 420, 200);
+        assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+        assertEquals(420, auction.getProductToSale().getSalePrice(), 0);
+    }
+
+    @Test
+    public void priceIsRaisedAboveTheMinimumPrice() throws Exception {
+        Auction auction = runAuction(FIRST_PRODUCT_ID + 1, 250, 120, 400, 90);
+        assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+        assertEquals(251, auction.getProductToSale().getSalePrice(), 0);
+    }
+
+    @Test
+    public void secondBidAtTheMinimumPriceIsNotThePrice() throws Exception {
+        Auction auction = runAuction(FIRST_PRODUCT_ID + 3, 150, 400, 150);
+        assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+        assertEquals(151, auction.getProductToSale().getSalePrice(), 0);
+    }
+
+    @Test
+    public void productIsNotSoldBelowTheMinimumPrice() throws Exception {
+        Auction auction = runAuction(FIRST_PRODUCT_ID + 2, 500, 300, 450);
+        assertEquals(AuctionPhase.UNSOLD, auction.getState().getPhase());
+        assertNull(auction.getProductToSale().getSalePrice());
+    }
+
+    /**
+     * Run a sealed bid auction between passive clients, which bid their max bid
+     */
+    private static Auction runAuction(int productId, int minimumPrice, int... maxBids) throws Exception {
+        Auction auction = createAuction(productId, minimumPrice, maxBids.length, 1, AuctionType.SEALED_BID);
+        subscribe(auction, false, maxBids);
+        awaitEnd(auction);
+        removeIfUnsold(auction);
+        return auction;
+    }
+}
@@ -0,0 +1,64 @@
+package auction.institution;
+
+import auction.institution.clients.Client;
+import auction.institution.engine.AuctionExecutor;
+import auction.institution.engine.EngineConfig;
+import org.junit.Test;
+
+import static auction.institution.AuctionTestSupport.*;
+import static org.junit.Assert.*;
+
+public class WaitingForBidTest {
+
+    private static final int FIRST_PRODUCT_ID = 7_500_001;
+
+    @Test
+    public void auctionsWaitingForActiveBidsHoldNoEngineThread() throws Exception {
+        AuctionExecutor executor = AuctionHouse.getInstance().getAuctionExecutor();
+        int nrWaiting = EngineConfig.ENGINE_THREADS + 2; // more than the workers of the bounded engine
+        Auction[] waiting = new Auction[nrWaiting];
+        Client[] activeClients = new Client[nrWaiting];
+        for (int i = 0; i < nrWaiting; i++) {
+            waiting[i] = createAuction(FIRST_PRODUCT_ID + i, 150, 1, 1, AuctionType.ROUNDS);
+            activeClients[i] = subscribe(waiting[i], true, 1000)[0];
+            waiting[i].requestStart();
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (executor.getStatistics().getRunning() > 0 || executor.getStatistics().getQueued() > 0) {
+            assertTrue("the waiting auctions kept their threads", System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+
+        Auction passive = createAuction(FIRST_PRODUCT_ID + nrWaiting, 150, 2, 3, AuctionType.ROUNDS);
+        subscribe(passive, false, 400, 300);
+        awaitEnd(passive); // runs while every other auction waits for its active client
+        removeIfUnsold(passive);
+
+        for (int i = 0; i < nrWaiting; i++) {
+            assertEquals(AuctionPhase.BIDDING_STEP, waiting[i].getState().getPhase());
+            waiting[i].placeBid(500);
+        }
+        for (int i = 0; i < nrWaiting; i++) {
+            awaitEnd(waiting[i]);
+            assertEquals(AuctionPhase.SETTLED, waiting[i].getState().getPhase());
+            assertEquals(500, waiting[i].getProductToSale().getSalePrice(), 0);
+            assertEquals(1, activeClients[i].getNrOfWonAuctions());
+        }
+    }
+
+    @Test
+    public void sealedBidAuctionGoesOnWithTheBidPlacedLater() throws Exception {
+        Auction auction = createAuction(FIRST_PRODUCT_ID + 100, 150, 3, 1, AuctionType.SEALED_BID);
+        Client active = subscribe(auction, true, 1000)[0];
+        subscribe(auction, false, 300, 250);
+        auction.requestStart();
+        Thread.sleep(50); // the process gives its thread back, waiting for the sealed bid
+        assertEquals(AuctionPhase.BIDDING_STEP, auction.getState().getPhase());
+
+        auction.placeBid(400);
+        awaitEnd(auction);
+        assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+        assertEquals(300, auction.getProductToSale().getSalePrice(), 0);
+        assertEquals(1, active.getNrOfWonAuctions());
+    }
+}
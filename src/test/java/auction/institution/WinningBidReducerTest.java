@@ -0,0 +1,75 @@
+package auction.institution;
+
+import auction.institution.clients.Client;
+import auction.institution.clients.PhysicalPerson;
+import org.javatuples.Pair;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class WinningBidReducerTest {
+
+    @Test
+    public void sequentialAndParallelReducersAgreeWithTheStreamWinner() {
+        for (long seed = 0; seed < 20; seed++)
+            assertReducersAgree(new Random(seed), 1 + (int) seed * 37);
+        assertReducersAgree(new Random(7), 100_000);
+    }
+
+    private static void assertReducersAgree(Random random, int count) {
+        int[] bids = new int[count];
+        Client[] clients = new Client[count];
+        List<Pair<Integer, Client>> biddingResult = new ArrayList<>();
+
+        // few distinct bids and won auctions, so there are plenty of ties to break
+        for (int i = 0; i < count; i++) {
+            clients[i] = new PhysicalPerson(i, "Client" + i, "Address", "01/01/90");
+            clients[i].setNrOfWonAuctions(random.nextInt(5));
+            bids[i] = random.nextInt(50);
+            biddingResult.add(new Pair<>(bids[i], clients[i]));
+        }
+
+        Pair<Integer, Client> expected = streamWinningBid(biddingResult);
+        int sequential = WinningBidReducer.winnerIndex(bids, clients, 0, count);
+        int parallel = WinningBidReducer.parallelWinnerIndex(bids, clients, count);
+
+        assertSame(expected.getValue1(), clients[sequential]);
+        assertEquals(expected.getValue0().intValue(), bids[sequential]);
+        assertEquals(sequential, parallel);
+        assertSame(expected.getValue1(), AuctionHouse.getInstance().getWinningBid(biddingResult).getValue1());
+    }
+
+    /**
+     * The winner as the auction house picked it before the reducers, kept here as the oracle: the highest bid,
+     * then the most auctions won, then the first in the list
+     */
+    private static Pair<Integer, Client> streamWinningBid(List<Pair<Integer, Client>> biddingResult) {
+        Integer winnerBid = biddingResult.stream().map(Pair::getValue0)
+                .max(Comparator.naturalOrder()).orElse(null);
+        List<Pair<Integer, Client>> bidWinners = biddingResult.stream().filter(result ->
+                result.getValue0().equals(winnerBid)).collect(Collectors.toList());
+        Integer winnerWithMaxWon = bidWinners.stream().map(winner -> winner.getValue1().getNrOfWonAuctions())
+                .max(Comparator.naturalOrder()).orElse(null);
+        return bidWinners.stream().filter(winner ->
+                winner.getValue1().getNrOfWonAuctions() == winnerWithMaxWon).findFirst().orElse(null);
+    }
+
+    @Test
+    public void firstClientWinsACompleteTie() {
+        Client client1 = new PhysicalPerson(5555555, "Gigi",
+                "Splaiul Independentei", "20/12/2020");
+        Client client2 = new PhysicalPerson(6666666, "Andrei",
+                "Splaiul Libertatii", "07/09/2019");
+
+        int winner = WinningBidReducer.winnerIndex(new int[] {300, 300}, new Client[] {client1, client2}, 2);
+
+        assertEquals(0, winner);
+        assertEquals(-1, WinningBidReducer.winnerIndex(new int[0], new Client[0], 0));
+    }
+}
@@ -0,0 +1,72 @@
+package auction.institution.clients;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ParticipationTableTest {
+
+    @Test
+    public void putReplacesTheStateOfAnAuctionAlreadyIn() {
+        ParticipationTable table = new ParticipationTable();
+        table.put(10, 3, true);
+        table.put(20, 5, false);
+        table.put(10, 7, false);
+
+        assertEquals(2, table.size());
+        assertEquals(7, table.brokerIndexOf(10));
+        assertFalse(table.isActive(10));
+        assertEquals(5, table.brokerIndexOf(20));
+        assertEquals(-1, table.brokerIndexOf(30));
+        assertFalse(table.isActive(30));
+    }
+
+    @Test
+    public void growsPastItsInitialCapacity() {
+        ParticipationTable table = new ParticipationTable();
+        for (int auctionId = 0; auctionId < 100; auctionId++)
+            table.put(auctionId, auctionId + 1, auctionId % 2 == 0);
+
+        assertEquals(100, table.size());
+        for (int auctionId = 0; auctionId < 100; auctionId++) {
+            assertEquals(auctionId + 1, table.brokerIndexOf(auctionId));
+            assertEquals(auctionId % 2 == 0, table.isActive(auctionId));
+        }
+    }
+
+    @Test
+    public void removeMovesTheLastAuctionIntoTheHole() {
+        ParticipationTable table = new ParticipationTable();
+        table.put(10, 1, true);
+        table.put(20, 2, false);
+        table.put(30, 3, true);
+
+        assertTrue(table.remove(10));
+        assertFalse(table.remove(10));
+        assertEquals(2, table.size());
+        assertFalse(table.containsKey(10));
+        assertEquals(2, table.brokerIndexOf(20));
+        assertEquals(3, table.brokerIndexOf(30));
+        assertTrue(table.isActive(30));
+
+        assertTrue(table.remove(20));
+        assertTrue(table.remove(30));
+        assertTrue(table.isEmpty());
+        table.put(40, 4, false); // the slots are reused
+        assertEquals(4, table.brokerIndexOf(40));
+    }
+
+    @Test
+    public void copyDoesNotFollowTheTable() {
+        ParticipationTable table = new ParticipationTable();
+        table.put(10, 1, true);
+        ParticipationTable copy = table.copy();
+        table.put(20, 2, false);
+        table.remove(10);
+
+        assertEquals(1, copy.size());
+        assertTrue(copy.containsKey(10));
+        assertFalse(copy.containsKey(20));
+        assertTrue(copy.isActive(10));
+    }
+}
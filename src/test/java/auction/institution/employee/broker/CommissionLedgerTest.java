@@ -0,0 +1,68 @@
+package auction.institution.employee.broker;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class CommissionLedgerTest {
+
+    private static final int NR_WRITERS = 4;
+
+    private static final int NR_SALES_PER_WRITER = 50_000;
+
+    @Test
+    public void everySnapshotCoversTheSameSales() throws Exception {
+        CommissionLedger ledger = new CommissionLedger();
+        ledger.restoreOpeningBalance(12_345);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<AssertionError> failure = new AtomicReference<>();
+        int[] nrSnapshots = new int[1];
+
+        Thread reader = new Thread(() -> {
+            try {
+                do {
+                    checkConsistent(ledger.snapshotWithEntries());
+                    CommissionLedger.Snapshot snapshot = ledger.snapshot();
+                    assertTrue(snapshot.getBalanceCents() >= 12_345);
+                    nrSnapshots[0]++;
+                } while (writing.get());
+            } catch (AssertionError e) {
+                failure.set(e);
+            }
+        });
+        Thread[] writers = new Thread[NR_WRITERS];
+        for (int i = 0; i < NR_WRITERS; i++) {
+            int writer = i;
+            writers[i] = new Thread(() -> {
+                for (int sale = 0; sale < NR_SALES_PER_WRITER; sale++)
+                    ledger.record(sale, writer, 100 + sale % 1_000, 1_500);
+            });
+        }
+        reader.start();
+        for (Thread thread : writers)
+            thread.start();
+        for (Thread thread : writers)
+            thread.join();
+        writing.set(false);
+        reader.join();
+
+        if (failure.get() != null)
+            throw failure.get();
+        assertTrue(nrSnapshots[0] > 0);
+        CommissionLedger.Snapshot last = ledger.snapshotWithEntries();
+        checkConsistent(last);
+        assertEquals(NR_WRITERS * NR_SALES_PER_WRITER, last.getNrSales());
+        assertEquals(12_345, ledger.reconcile());
+    }
+
+    private static void checkConsistent(CommissionLedger.Snapshot snapshot) {
+        long sum = 12_345; // the opening balance
+        for (CommissionEntry entry : snapshot.getEntries())
+            sum += entry.getCommissionCents();
+        assertEquals(sum, snapshot.getBalanceCents());
+        assertEquals(snapshot.getEntries().size(), snapshot.getNrSales());
+    }
+}
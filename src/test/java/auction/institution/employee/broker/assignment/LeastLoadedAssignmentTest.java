@@ -0,0 +1,54 @@
+package auction.institution.employee.broker.assignment;
+
+import auction.institution.clients.Client;
+import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.broker.Broker;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LeastLoadedAssignmentTest {
+
+    @Test
+    public void spreadsClientsEvenlyAndReleasesThem() {
+        List<Broker> brokers = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            brokers.add(new Broker("Broker " + i));
+        LeastLoadedAssignment assignment = new LeastLoadedAssignment();
+
+        List<Client> clients = new ArrayList<>();
+        List<Broker> assigned = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Client client = new PhysicalPerson(i, "Client " + i, "Address", "born " + i);
+            clients.add(client);
+            assigned.add(assignment.assign(brokers, client));
+        }
+        brokers.forEach(broker -> assertEquals(3, broker.getNrActiveClients()));
+
+        // empty the first broker, it gets the next clients until it catches up
+        Broker relieved = assigned.get(0);
+        for (int i = 0; i < clients.size(); i++)
+            if (assigned.get(i) == relieved)
+                assignment.release(relieved, clients.get(i));
+        assertEquals(0, relieved.getNrActiveClients());
+        assertTrue(relieved.getClientList().isEmpty());
+        for (int i = 0; i < 3; i++)
+            assertSame(relieved, assignment.assign(brokers, clients.get(i)));
+    }
+
+    @Test
+    public void tracksBrokersAddedLater() {
+        List<Broker> brokers = new ArrayList<>();
+        brokers.add(new Broker("First"));
+        LeastLoadedAssignment assignment = new LeastLoadedAssignment();
+        Client client = new PhysicalPerson(1, "Client", "Address", "born 1");
+        assignment.assign(brokers, client);
+
+        Broker newcomer = new Broker("Newcomer");
+        brokers.add(newcomer);
+        assertSame(newcomer, assignment.assign(brokers, client));
+    }
+}
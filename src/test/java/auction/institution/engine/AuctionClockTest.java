@@ -0,0 +1,70 @@
+package auction.institution.engine;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AuctionClockTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void throwingListenerIsDroppedAndTheOthersKeepTicking() throws Exception {
+        AuctionClock clock = AuctionClock.getInstance();
+        AtomicInteger nrBrokenTicks = new AtomicInteger();
+        CountDownLatch ticks = new CountDownLatch(5);
+        clock.register(() -> {
+            ticks.countDown();
+            return ticks.getCount() > 0;
+        });
+        clock.register(() -> {
+            nrBrokenTicks.incrementAndGet();
+            throw new IllegalStateException("broken listener");
+        });
+
+        assertTrue("the clock stopped ticking", ticks.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, nrBrokenTicks.get());
+    }
+
+    @Test
+    public void listenersRegisteredConcurrentlyAllTick() throws Exception {
+        AuctionClock clock = AuctionClock.getInstance();
+        int nrThreads = 8;
+        int nrListenersPerThread = 1_000;
+        int nrTicksPerListener = 3;
+        CountDownLatch finished = new CountDownLatch(nrThreads * nrListenersPerThread);
+        AtomicInteger nrTicks = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[nrThreads];
+        for (int i = 0; i < nrThreads; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < nrListenersPerThread; j++) {
+                    AtomicInteger left = new AtomicInteger(nrTicksPerListener);
+                    clock.register(() -> {
+                        nrTicks.incrementAndGet();
+                        if (left.decrementAndGet() > 0)
+                            return true;
+                        finished.countDown();
+                        return false;
+                    });
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads)
+            thread.join();
+
+        assertTrue("some listeners stopped ticking", finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(nrThreads * nrListenersPerThread * nrTicksPerListener, nrTicks.get());
+    }
+}
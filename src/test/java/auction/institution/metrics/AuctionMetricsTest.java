@@ -0,0 +1,97 @@
+package auction.institution.metrics;
+
+import auction.institution.Auction;
+import auction.institution.AuctionPhase;
+import auction.institution.AuctionType;
+import command.print_info.ListMetrics;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+import static auction.institution.AuctionTestSupport.*;
+import static org.junit.Assert.*;
+
+public class AuctionMetricsTest {
+
+    private static final int FIRST_PRODUCT_ID = 7_800_001;
+
+    @Test
+    public void countsTheEventsOfAnAuction() throws Exception {
+        AuctionMetrics metrics = AuctionMetrics.getInstance();
+        long created = metrics.getAuctionsCreated();
+        long settled = metrics.getAuctionsSettled();
+        long enrollments = metrics.getEnrollments();
+        long activeBids = metrics.getActiveBids();
+        long passiveBids = metrics.getPassiveBids();
+        long disqualifications = metrics.getDisqualifications();
+
+        // the passive client cannot bid more than 100, it is disqualified by the active bid after the first step
+        Auction auction = createAuction(FIRST_PRODUCT_ID, 150, 2, 3, AuctionType.ROUNDS);
+        subscribe(auction, true, 1000);
+        subscribe(auction, false, 100);
+        auction.placeBid(500);
+        awaitEnd(auction);
+
+        assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+        assertEquals(created + 1, metrics.getAuctionsCreated());
+        assertEquals(settled + 1, metrics.getAuctionsSettled());
+        assertEquals(enrollments + 2, metrics.getEnrollments());
+        assertEquals(activeBids + 1, metrics.getActiveBids());
+        assertEquals(passiveBids + 1, metrics.getPassiveBids());
+        assertEquals(disqualifications + 1, metrics.getDisqualifications());
+    }
+
+    @Test
+    public void resetClearsTheCountersAndTheHistograms() throws Exception {
+        AuctionMetrics metrics = AuctionMetrics.getInstance();
+        Auction auction = createAuction(FIRST_PRODUCT_ID + 1, 150, 2, 1, AuctionType.SEALED_BID);
+        subscribe(auction, false, 400, 300);
+        awaitEnd(auction);
+
+        metrics.reset();
+        assertEquals(0, metrics.getAuctionsCreated());
+        assertEquals(0, metrics.getAuctionsSettled());
+        assertEquals(0, metrics.getBids());
+        assertEquals(0, metrics.getEnrollments());
+        assertEquals(0, metrics.getStepTimes().getCount());
+        assertEquals(0, metrics.getSettlementTimes().getCount());
+    }
+
+    @Test
+    public void listMetricsPrintsTheCounters() {
+        PrintStream out = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed, true));
+        try {
+            new ListMetrics().execute();
+        } finally {
+            System.setOut(out);
+        }
+        assertTrue(printed.toString().startsWith("Auctions: "));
+        assertTrue(printed.toString().contains("Settlement: "));
+    }
+
+    @Test
+    public void metricsArePublishedOnceToJmx() throws Exception {
+        AuctionMetrics metrics = AuctionMetrics.getInstance();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(AuctionMetrics.DOMAIN + ":type=AuctionMetrics");
+        assertTrue(server.isRegistered(name));
+        assertEquals(metrics.getAuctionsCreated(), server.getAttribute(name, "AuctionsCreated"));
+
+        PrintStream err = System.err;
+        ByteArrayOutputStream warned = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(warned, true));
+        try {
+            assertFalse(metrics.register(server)); // the names are taken by the singleton
+        } finally {
+            System.setErr(err);
+        }
+        assertTrue(warned.toString().startsWith("Auction metrics are not published to JMX"));
+        assertTrue(server.isRegistered(name));
+    }
+}
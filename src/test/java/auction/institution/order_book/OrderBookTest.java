@@ -0,0 +1,137 @@
+package auction.institution.order_book;
+
+import auction.institution.Auction;
+import auction.institution.AuctionHouse;
+import auction.institution.AuctionPhase;
+import auction.institution.AuctionType;
+import auction.institution.clients.Client;
+import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.broker.Broker;
+import auction.storage.NoSuchProductException;
+import auction.storage.Product;
+import auction.storage.jewelery.JeweleryBuilder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static auction.institution.AuctionTestSupport.awaitEnd;
+import static auction.institution.AuctionTestSupport.subscribe;
+import static org.junit.Assert.*;
+
+public class OrderBookTest {
+
+    private static final int FIRST_PRODUCT_ID = 7_400_001;
+
+    private final Client client = new PhysicalPerson(7_400_001, "Lot buyer", "Address", "born 7400001");
+
+    private final Broker broker = new Broker("Lot broker");
+
+    @Test
+    public void ordersAreMatchedWithPriceTimePriority() {
+        OrderBook orderBook = new OrderBook("rings");
+        Order expensive = Order.sell(units(FIRST_PRODUCT_ID, 5), 100);
+        Order cheapFirst = Order.sell(units(FIRST_PRODUCT_ID + 10, 5), 90);
+        Order cheapSecond = Order.sell(units(FIRST_PRODUCT_ID + 20, 5), 90);
+        orderBook.submit(expensive);
+        orderBook.submit(cheapFirst);
+        orderBook.submit(cheapSecond);
+
+        List<Fill> fills = orderBook.submit(Order.buy(client, broker, 12, 100));
+
+        assertEquals(3, fills.size());
+        assertSame(cheapFirst, fills.get(0).getSellOrder());
+        assertSame(cheapSecond, fills.get(1).getSellOrder());
+        assertSame(expensive, fills.get(2).getSellOrder());
+        assertEquals(90, fills.get(0).getPrice());
+        assertEquals(100, fills.get(2).getPrice());
+        assertEquals(2, fills.get(2).getQuantity());
+        assertEquals(FIRST_PRODUCT_ID + 10, (int) fills.get(0).getUnits().get(0).getId());
+        assertTrue(fills.get(2).isBuyOrderFilled());
+        assertEquals(3, expensive.getRemaining());
+        assertEquals(3, orderBook.getRestingSellUnits());
+        assertEquals(100, orderBook.getBestAsk());
+    }
+
+    @Test
+    public void unmatchedPartRestsAtItsPrice() {
+        OrderBook orderBook = new OrderBook("chairs");
+        Order buyOrder = Order.buy(client, broker, 10, 80);
+        assertTrue(orderBook.submit(buyOrder).isEmpty());
+        assertTrue(orderBook.submit(Order.sell(units(FIRST_PRODUCT_ID, 3), 85)).isEmpty()); // does not cross
+
+        List<Fill> fills = orderBook.submit(Order.sell(units(FIRST_PRODUCT_ID + 10, 4), 70));
+
+        assertEquals(1, fills.size());
+        assertEquals(80, fills.get(0).getPrice()); // the price of the resting order
+        assertEquals(4, fills.get(0).getQuantity());
+        assertFalse(fills.get(0).isBuyOrderFilled());
+        assertEquals(6, buyOrder.getRemaining());
+        assertEquals(6, orderBook.getRestingBuyUnits());
+        assertEquals(3, orderBook.getRestingSellUnits());
+        assertEquals(FIRST_PRODUCT_ID, (int) orderBook.getOfferedUnits().get(0).getId());
+        assertEquals(80, orderBook.getBestBid());
+        assertEquals(85, orderBook.getBestAsk());
+    }
+
+    @Test
+    public void batchOfIdenticalUnitsIsSoldInOneFill() throws Exception {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        auctionHouse.addNewBroker(broker);
+        int firstId = FIRST_PRODUCT_ID + 100;
+        List<Product> batch = units(firstId, 10_000);
+        batch.forEach(auctionHouse::addNewProduct);
+        LotMarket lotMarket = auctionHouse.getLotMarket();
+
+        assertTrue(lotMarket.sell(firstId, 10_000, 50).isEmpty());
+        List<Fill> fills = lotMarket.buy(client, firstId + 1, 10_000, 60);
+
+        assertEquals(1, fills.size());
+        assertEquals(10_000, fills.get(0).getQuantity());
+        for (Product unit : batch) {
+            assertEquals(50, unit.getSalePrice(), 0);
+            assertNull(auctionHouse.getProductById(unit.getId()));
+        }
+        assertEquals(0, lotMarket.getOrderBook(batch.get(0).getLotType()).getRestingSellUnits());
+    }
+
+    @Test
+    public void unitIsOfferedOnlyOnceItsAuctionHasEndedUnsold() throws Exception {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        auctionHouse.addNewBroker(broker);
+        int unitId = FIRST_PRODUCT_ID + 20_000;
+        Product unit = units(unitId, 1).get(0);
+        auctionHouse.addNewProduct(unit);
+        LotMarket lotMarket = auctionHouse.getLotMarket();
+
+        Auction auction = auctionHouse.createAuctionForProduct(unitId, 2, 1, AuctionType.SEALED_BID);
+        subscribe(auction, false, 30);
+        try {
+            lotMarket.sell(unitId, 1, 50);
+            fail("a unit reserved by its auction has been offered");
+        } catch (IllegalArgumentException e) {
+            // the only unit of the lot is reserved
+        }
+        subscribe(auction, false, 35); // both below the minimum price
+        awaitEnd(auction);
+        assertEquals(AuctionPhase.UNSOLD, auction.getState().getPhase());
+
+        assertTrue(lotMarket.sell(unitId, 1, 50).isEmpty());
+        assertEquals(1, lotMarket.getOrderBook(unit.getLotType()).getRestingSellUnits());
+        assertNull(auctionHouse.getProductById(unitId));
+        try {
+            auctionHouse.createAuctionForProduct(unitId, 2, 1, AuctionType.SEALED_BID);
+            fail("a unit offered in a lot has been auctioned");
+        } catch (NoSuchProductException e) {
+            // the unit has left the deposit for the order book
+        }
+    }
+
+    private static List<Product> units(int firstId, int quantity) {
+        List<Product> units = new ArrayList<>(quantity);
+        for (int i = 0; i < quantity; i++)
+            units.add(new JeweleryBuilder().withId(firstId + i).withName("Ring " + firstId).withMinimumPrice(40)
+                    .withYear(2000).withMaterial("gold").withValuableGem(false).build());
+        return units;
+    }
+}
@@ -0,0 +1,45 @@
+package auction.institution.registry;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IntRegistryTest {
+
+    @Test
+    public void findsEveryRegisteredIdAfterRemovals() {
+        IntRegistry<String> registry = new IntRegistry<>(4);
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // enough ids to make every stripe resize a few times
+        for (int i = 0; i < 10_000; i++) {
+            int id = random.nextInt(50_000);
+            registry.put(id, "value" + id);
+            expected.put(id, "value" + id);
+        }
+        // remove half of them, the probe chains left behind have to stay intact
+        for (int i = 0; i < 50_000; i += 2) {
+            assertEquals(expected.remove(i), registry.remove(i));
+        }
+
+        for (int i = 0; i < 50_000; i++) {
+            assertEquals(expected.get(i), registry.get(i));
+        }
+        assertEquals(expected.size(), registry.size());
+    }
+
+    @Test
+    public void keepsTheFirstValueWhenPuttingIfAbsent() {
+        IntRegistry<String> registry = new IntRegistry<>();
+
+        assertNull(registry.putIfAbsent(123456, "first"));
+        assertEquals("first", registry.putIfAbsent(123456, "second"));
+
+        assertEquals("first", registry.get(123456));
+    }
+}
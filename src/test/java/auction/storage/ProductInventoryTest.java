@@ -0,0 +1,103 @@
+package auction.storage;
+
+import auction.storage.painting.PaintingBuilder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+public class ProductInventoryTest {
+
+    @Test
+    public void productCanBeAddedAgainOnceRemoved() {
+        ProductInventory inventory = new ProductInventory();
+        Product first = painting(1);
+        Product second = painting(1);
+
+        assertTrue(inventory.add(first));
+        assertFalse(inventory.add(second)); // the first one is kept
+        assertSame(first, inventory.get(1));
+        assertEquals(1, inventory.size());
+
+        assertSame(first, inventory.remove(1));
+        assertNull(inventory.remove(1));
+        assertNull(inventory.get(1));
+        assertFalse(inventory.contains(1));
+
+        assertTrue(inventory.add(second));
+        assertSame(second, inventory.get(1));
+        assertEquals(1, inventory.snapshot().size());
+        assertSame(second, inventory.snapshot().get(0)); // products are equal by id
+    }
+
+    @Test
+    public void iterationKeepsTheOrderOfAdditionAfterAPurge() {
+        ProductInventory inventory = new ProductInventory();
+        List<Product> products = new ArrayList<>();
+        for (int id = 0; id < 300; id++) {
+            products.add(painting(id));
+            inventory.add(products.get(id));
+        }
+        List<Product> expected = new ArrayList<>();
+        for (int id = 0; id < 300; id++) {
+            if (id % 4 == 0)
+                expected.add(products.get(id));
+            else
+                inventory.remove(id); // more removed products than available ones, the queue gets purged
+        }
+        assertEquals(expected, inventory.snapshot());
+
+        Product readded = painting(1);
+        inventory.add(readded); // last in the order of addition
+        expected.add(readded);
+        assertEquals(expected, inventory.snapshot());
+        assertEquals(expected.size(), inventory.size());
+    }
+
+    @Test
+    public void concurrentRemovalsReturnTheProductOnce() throws Exception {
+        int nrProducts = 10_000;
+        int nrThreads = 4;
+        ProductInventory inventory = new ProductInventory();
+        for (int id = 0; id < nrProducts; id++)
+            inventory.add(painting(id));
+        AtomicIntegerArray removals = new AtomicIntegerArray(nrProducts);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[nrThreads];
+        for (int i = 0; i < nrThreads; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int id = 0; id < nrProducts; id++) {
+                    Product removed = inventory.remove(id);
+                    if (removed != null) {
+                        assertEquals(id, (int) removed.getId());
+                        removals.incrementAndGet(id);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads)
+            thread.join();
+
+        for (int id = 0; id < nrProducts; id++)
+            assertEquals("removals of product " + id, 1, removals.get(id));
+        assertEquals(0, inventory.size());
+        assertTrue(inventory.snapshot().isEmpty());
+    }
+
+    private static Product painting(int id) {
+        return new PaintingBuilder().withId(id).withName("Painting " + id).withMinimumPrice(100).withYear(1900)
+                .withPainterName("Painter").withColor("oil").build();
+    }
+}
@@ -0,0 +1,58 @@
+package database.journal;
+
+import auction.institution.AuctionHouse;
+import auction.institution.clients.Client;
+import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.broker.Broker;
+import auction.storage.Product;
+import auction.storage.jewelery.JeweleryBuilder;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class JournalReplayerTest {
+
+    private static final int FIRST_PRODUCT_ID = 7_900_001;
+
+    private static final int NR_UNITS = 3;
+
+    @Test
+    public void lotUnitsAreSoldAgainWithoutWinningAnAuction() throws Exception {
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        Broker broker = new Broker("Replay broker");
+        auctionHouse.addNewBroker(broker);
+        Client client = new PhysicalPerson(FIRST_PRODUCT_ID, "Replay client", "Address", "born " + FIRST_PRODUCT_ID);
+        auctionHouse.addNewClient(client);
+        Product[] products = new Product[NR_UNITS + 1];
+        int[] unitIds = new int[NR_UNITS];
+        for (int i = 0; i < products.length; i++) {
+            products[i] = new JeweleryBuilder().withId(FIRST_PRODUCT_ID + i).withName("Replayed ring")
+                    .withMinimumPrice(40).withYear(2000).withMaterial("gold").withValuableGem(false).build();
+            auctionHouse.addNewProduct(products[i]);
+            if (i < NR_UNITS)
+                unitIds[i] = products[i].getId();
+        }
+
+        File file = File.createTempFile("journal", ".bin");
+        file.deleteOnExit();
+        FileAuctionJournal journal = new FileAuctionJournal(file.getPath());
+        journal.settledUnits(unitIds, client.getId(), 60, broker.getIndex()); // one fill of an order book
+        journal.settled(products[NR_UNITS].getId(), client.getId(), 90, broker.getIndex()); // an auction
+        journal.close();
+
+        JournalReplayer.Report report = new JournalReplayer(file.getPath()).replay(auctionHouse);
+
+        assertEquals(NR_UNITS + 1, report.getNrRecords());
+        assertEquals(NR_UNITS, report.getNrLotUnitsSold());
+        assertEquals(1, report.getNrSettled());
+        assertEquals(0, report.getNrSkipped());
+        assertEquals(1, client.getNrOfWonAuctions()); // only the auction
+        for (int i = 0; i < NR_UNITS; i++) {
+            assertEquals(60, products[i].getSalePrice(), 0);
+            assertNull(auctionHouse.getProductById(products[i].getId()));
+        }
+        assertEquals(90, products[NR_UNITS].getSalePrice(), 0);
+    }
+}
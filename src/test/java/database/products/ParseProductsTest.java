@@ -0,0 +1,51 @@
+package database.products;
+
+import auction.storage.Product;
+import auction.storage.furniture.Furniture;
+import auction.storage.jewelery.Jewelery;
+import auction.storage.painting.Painting;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ParseProductsTest {
+
+    @Test
+    public void readsSectionsInAnyOrderWithNumericValues() throws Exception {
+        File file = File.createTempFile("products", ".json");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), "[" +
+                "{\"furniture\": [{\"id\": 3, \"name\": \"Chair\", \"minimum_price\": 150.5, \"year\": 1900," +
+                " \"material\": \"oak\", \"type\": \"chair\"}]}," +
+                "{\"painting\": [{\"id\": \"1\", \"name\": \"Mona Lisa\", \"minimum_price\": \"20000\"," +
+                " \"year\": \"1967\"}, {\"id\": 2, \"name\": \"The Kiss\", \"minimum_price\": 7430, \"year\": 1873}]}," +
+                "{\"jewelery\": [{\"id\": 4, \"name\": \"Ring\", \"minimum_price\": 10, \"year\": 2000," +
+                " \"valuable_gem\": true}]}" +
+                "]");
+
+        List<Product> products = new ParseProducts(file.getPath()).readProducts();
+
+        assertEquals(4, products.size());
+        assertTrue(products.get(0) instanceof Furniture);
+        assertEquals(150.5, products.get(0).getMinimumPrice(), 0);
+        assertTrue(products.get(1) instanceof Painting);
+        assertEquals(Integer.valueOf(1), products.get(1).getId());
+        assertEquals(20000, products.get(1).getMinimumPrice(), 0);
+        assertEquals(1873, products.get(2).getYear());
+        assertTrue(products.get(3) instanceof Jewelery);
+        assertTrue(((Jewelery) products.get(3)).isValuableGem());
+    }
+
+    @Test
+    public void streamsEveryProductOfTheDeposit() {
+        int[] nrStreamed = {0};
+        int nrRead = new ParseProducts("product_deposit.json").streamProducts(product -> nrStreamed[0]++);
+
+        assertEquals(nrRead, nrStreamed[0]);
+        assertTrue(nrRead > 0);
+    }
+}
@@ -0,0 +1,103 @@
+package database.snapshot;
+
+import auction.institution.Auction;
+import auction.institution.AuctionHouse;
+import auction.institution.AuctionPhase;
+import auction.institution.AuctionType;
+import auction.institution.clients.Client;
+import auction.institution.clients.JuridicalPerson;
+import auction.institution.clients.PhysicalPerson;
+import auction.institution.employee.broker.Broker;
+import auction.storage.Product;
+import auction.storage.jewelery.Jewelery;
+import auction.storage.jewelery.JeweleryBuilder;
+import auction.storage.painting.PaintingBuilder;
+import command.snapshot.SaveSnapshot;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import static auction.institution.AuctionTestSupport.*;
+import static org.junit.Assert.*;
+
+public class SnapshotTest {
+
+    @Test
+    public void restoresWhatHasBeenSaved() throws Exception {
+        Product painting = new PaintingBuilder().withId(1).withName("Mona Lisa").withMinimumPrice(20000)
+                .withYear(1967).withPainterName("Leonardo").build();
+        Product ring = new JeweleryBuilder().withId(2).withName("Diamond ring").withMinimumPrice(8000)
+                .withYear(2000).withMaterial("gold").withValuableGem(true).build();
+        ring.setSalePrice(9500.0);
+
+        Client gigi = new PhysicalPerson(10, "Gigi", "Splaiul Independentei", "20/12/2020");
+        gigi.setNrOfAuctionsInvolved(4);
+        gigi.setNrOfWonAuctions(2);
+        Client company = new JuridicalPerson(11, "Company", "Calea Victoriei", "SRL", 1500.5);
+
+        Broker broker = new Broker("Eren");
+        broker.keepCommission(1000, gigi, ring);
+        broker.getCommissionLedger().restoreOpeningBalance(250);
+
+        File file = File.createTempFile("auction", ".snapshot");
+        file.deleteOnExit();
+        new SnapshotWriter(file.getPath()).write(List.of(painting, ring), List.of(gigi, company), List.of(broker));
+        SnapshotContents contents = new SnapshotReader(file.getPath()).read();
+
+        assertEquals(2, contents.getProducts().size());
+        assertEquals("Mona Lisa", contents.getProducts().get(0).getName());
+        assertNull(contents.getProducts().get(0).getSalePrice());
+        Jewelery restoredRing = (Jewelery) contents.getProducts().get(1);
+        assertTrue(restoredRing.isValuableGem());
+        assertEquals(9500.0, restoredRing.getSalePrice(), 0);
+
+        Client restoredGigi = contents.getClients().get(0);
+        assertEquals(Integer.valueOf(10), restoredGigi.getId());
+        assertEquals(4, restoredGigi.getNrOfAuctionsInvolved());
+        assertEquals(2, restoredGigi.getNrOfWonAuctions());
+        assertEquals(1500.5, ((JuridicalPerson) contents.getClients().get(1)).getSocialCapital(), 0);
+
+        Broker restoredBroker = contents.getBrokers().get(0);
+        assertEquals(broker.getBrokerMoney(), restoredBroker.getBrokerMoney(), 0);
+        assertEquals(1, restoredBroker.getCommissionLedger().getEntries().size());
+        assertEquals(250, restoredBroker.getCommissionLedger().reconcile());
+    }
+
+    @Test
+    public void keepsTheSalesOfSettledAuctions() throws Exception {
+        int productId = 7_700_001;
+        Auction auction = createAuction(productId, 150, 2, 1, AuctionType.SEALED_BID);
+        subscribe(auction, false, 400, 300);
+        awaitEnd(auction);
+        assertEquals(AuctionPhase.SETTLED, auction.getState().getPhase());
+
+        File file = File.createTempFile("auction", ".snapshot");
+        file.deleteOnExit();
+        new SaveSnapshot(file.getPath()).execute();
+        Product restored = new SnapshotReader(file.getPath()).read().getProducts().stream()
+                .filter(product -> product.getId() == productId).findFirst().orElseThrow();
+        assertEquals(300, restored.getSalePrice(), 0);
+
+        AuctionHouse auctionHouse = AuctionHouse.getInstance();
+        auctionHouse.publishBulk(List.of(restored), List.of(), List.of());
+        assertNull(auctionHouse.getProductById(productId)); // a sold product does not go back to the deposit
+        assertTrue(auctionHouse.getSoldProducts().contains(restored));
+    }
+
+    @Test(expected = CorruptSnapshotException.class)
+    public void refusesADamagedFile() throws Exception {
+        File file = File.createTempFile("auction", ".snapshot");
+        file.deleteOnExit();
+        new SnapshotWriter(file.getPath()).write(List.of(), List.of(new PhysicalPerson(1, "Gigi", "", "")),
+                List.of());
+
+        try (RandomAccessFile damaged = new RandomAccessFile(file, "rw")) {
+            damaged.seek(12);
+            damaged.write(0x7F);
+        }
+
+        new SnapshotReader(file.getPath()).read();
+    }
+}
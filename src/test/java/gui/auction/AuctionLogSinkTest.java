@@ -0,0 +1,122 @@
+package gui.auction;
+
+import command.print_info.ListMetrics;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class AuctionLogSinkTest {
+
+    /**
+     * Never drained by its own thread while a test runs, the tests call {@link AuctionLogSink#drain()}
+     */
+    private static final long NO_FLUSH = 3_600_000;
+
+    @Test
+    public void logsOfEachAuctionArriveInOrder() throws Exception {
+        int nrAuctions = 4;
+        int nrLines = 1_000;
+        AuctionLogSink sink = new AuctionLogSink(1 << 14, 1);
+        List<Pane> panes = new ArrayList<>();
+        Thread[] auctions = new Thread[nrAuctions];
+        for (int i = 0; i < nrAuctions; i++) {
+            Pane pane = new Pane();
+            panes.add(pane);
+            auctions[i] = new Thread(() -> {
+                for (int line = 0; line < nrLines; line++) {
+                    sink.appendText(pane, line + "\n");
+                    if (line % 100 == 0)
+                        sink.addListEntry(pane, "client " + line);
+                }
+            });
+            auctions[i].start();
+        }
+        for (Thread auction : auctions)
+            auction.join();
+
+        StringBuilder expected = new StringBuilder();
+        for (int line = 0; line < nrLines; line++)
+            expected.append(line).append('\n');
+        long deadline = System.currentTimeMillis() + 10_000;
+        for (Pane pane : panes) {
+            while (text(pane).length() < expected.length() && System.currentTimeMillis() < deadline)
+                Thread.sleep(5);
+            assertEquals(expected.toString(), text(pane));
+            SwingUtilities.invokeAndWait(() -> {
+                assertEquals(nrLines / 100, pane.getModel().size());
+                for (int entry = 0; entry < nrLines / 100; entry++)
+                    assertEquals("client " + entry * 100, pane.getModel().get(entry));
+            });
+        }
+        assertEquals(0, sink.getDropped());
+        assertEquals(nrAuctions * (nrLines + nrLines / 100), sink.getPublished());
+    }
+
+    @Test
+    public void fullRingDropsTextButNotTheChangesOfTheFrame() throws Exception {
+        AuctionLogSink sink = new AuctionLogSink(3, NO_FLUSH); // rounded up to 4
+        Pane pane = new Pane();
+        for (char line = 'a'; line <= 'd'; line++)
+            sink.appendText(pane, line + "\n");
+        AtomicBoolean closeButtonShown = new AtomicBoolean();
+
+        sink.appendText(pane, "e\n"); // dropped
+        sink.addListEntry(pane, "client 1"); // handed to the event dispatch thread right away
+        sink.runOnFrame(pane, () -> closeButtonShown.set(true));
+        SwingUtilities.invokeAndWait(() -> {
+        });
+        assertTrue(closeButtonShown.get());
+        assertEquals("", text(pane)); // ahead of the text still in the ring
+        assertEquals(1, pane.getModel().size());
+        assertEquals(4, sink.getPublished());
+        assertEquals(1, sink.getDropped());
+
+        sink.drain();
+        sink.appendText(pane, "f\n"); // the ring has room again
+        sink.drain();
+        assertEquals("a\nb\nc\nd\nf\n", text(pane));
+        assertEquals(5, sink.getPublished());
+        assertEquals(1, sink.getDropped());
+        assertEquals(2, sink.getBatches());
+
+        ByteArrayOutputStream metrics = new ByteArrayOutputStream();
+        new ListMetrics(new PrintStream(metrics, true), sink).execute();
+        assertTrue(metrics.toString().contains("GUI log: 5 events published in 2 batches, 1 lines dropped"));
+    }
+
+    /**
+     * @return the bidding log of the pane, once the batches handed to the event dispatch thread are applied
+     */
+    private static String text(Pane pane) throws Exception {
+        String[] text = new String[1];
+        SwingUtilities.invokeAndWait(() -> text[0] = pane.getTextArea().getText());
+        return text[0];
+    }
+
+    /**
+     * The swing components of an auction frame, without the frame that needs a display
+     */
+    private static final class Pane implements AuctionLogPane {
+
+        private final JTextArea textArea = new JTextArea();
+
+        private final DefaultListModel<String> model = new DefaultListModel<>();
+
+        @Override
+        public JTextArea getTextArea() {
+            return textArea;
+        }
+
+        @Override
+        public DefaultListModel<String> getModel() {
+            return model;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package testing;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class CommandReaderTest {
+
+    @Test
+    public void lineLongerThanTheLineBufferIsReadWhole() throws IOException {
+        String file = "f".repeat(1_000) + ".snapshot";
+        CommandReader reader = reader("save_snapshot " + file + "\n");
+
+        assertTrue(reader.next());
+        assertEquals(AllCommands.save_snapshot, reader.getVerb());
+        assertEquals(file, reader.getWords()[1]);
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void lineSpanningTwoBlocksIsReadWhole() throws IOException {
+        int nrPadding = 5_040; // 65,520 bytes, the next line crosses the end of the first 64 KB block
+        String input = "list_metrics\n".repeat(nrPadding) + "place_bid 12 345 67\nexit\n";
+        CommandReader reader = reader(input);
+        for (int i = 0; i < nrPadding; i++) {
+            assertTrue(reader.next());
+            assertEquals(AllCommands.list_metrics, reader.getVerb());
+        }
+
+        assertTrue(reader.next());
+        assertEquals(AllCommands.place_bid, reader.getVerb());
+        assertArrayEquals(new String[]{"place_bid", "12", "345", "67"}, words(reader));
+        assertEquals(nrPadding + 1, reader.getLineNumber());
+        assertTrue(reader.next());
+        assertEquals(AllCommands.exit, reader.getVerb());
+    }
+
+    @Test
+    public void inputReadAByteAtATimeGivesTheSameWords() throws IOException {
+        byte[] bytes = "place_bid 12 345 67\r\nlist_metrics\n".getBytes(StandardCharsets.US_ASCII);
+        InputStream trickle = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        };
+        CommandReader reader = new CommandReader(trickle);
+
+        assertTrue(reader.next());
+        assertArrayEquals(new String[]{"place_bid", "12", "345", "67"}, words(reader));
+        assertTrue(reader.next());
+        assertEquals(AllCommands.list_metrics, reader.getVerb());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void carriageReturnsAreNotPartOfTheWords() throws IOException {
+        CommandReader reader = reader("place_bid 1 2\r\nlist_metrics\r\n");
+
+        assertTrue(reader.next());
+        assertArrayEquals(new String[]{"place_bid", "1", "2"}, words(reader));
+        assertTrue(reader.next());
+        assertEquals(AllCommands.list_metrics, reader.getVerb());
+        assertEquals(1, reader.getNrWords());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void lastLineNeedsNoLineSeparator() throws IOException {
+        CommandReader reader = reader("list_metrics\nplace_bid 1 2");
+
+        assertTrue(reader.next());
+        assertTrue(reader.next());
+        assertArrayEquals(new String[]{"place_bid", "1", "2"}, words(reader));
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void tabsAndRunsOfSpacesSeparateTheWords() throws IOException {
+        CommandReader reader = reader("  place_bid\t 1   2 \t\n\n \t \nexit");
+
+        assertTrue(reader.next());
+        assertArrayEquals(new String[]{"place_bid", "1", "2"}, words(reader));
+        assertTrue(reader.next()); // the blank lines are skipped, but counted
+        assertEquals(AllCommands.exit, reader.getVerb());
+        assertEquals(4, reader.getLineNumber());
+    }
+
+    @Test
+    public void unknownVerbIsKeptAsTheFirstWord() throws IOException {
+        CommandReader reader = reader("bid_everything 1 2\n");
+
+        assertTrue(reader.next());
+        assertNull(reader.getVerb());
+        assertArrayEquals(new String[]{"bid_everything", "1", "2"}, words(reader));
+    }
+
+    @Test
+    public void wordsPastTheLastOneAreNull() throws IOException {
+        CommandReader reader = reader("start_auction 1 500 true 42 3 5 sealed_bid\nstart_auction 1 500 true 42 3\n" +
+                "place_bid 1 2\n");
+
+        assertTrue(reader.next());
+        assertEquals(8, reader.getNrWords());
+        assertEquals("sealed_bid", reader.getWords()[7]);
+        assertTrue(reader.next());
+        assertEquals(6, reader.getNrWords());
+        assertNull(reader.getWords()[6]);
+        assertNull(reader.getWords()[7]); // the optional type of the auction, left from the line before
+        assertTrue(reader.next());
+        assertEquals(3, reader.getNrWords());
+        assertNull(reader.getWords()[3]); // the optional client of the bid
+    }
+
+    private static CommandReader reader(String input) {
+        return new CommandReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static String[] words(CommandReader reader) {
+        String[] words = new String[reader.getNrWords()];
+        System.arraycopy(reader.getWords(), 0, words, 0, words.length);
+        return words;
+    }
+}